@@ -1,11 +1,18 @@
 package com.zeroping.vibecheckbe.config;
 
+import com.zeroping.vibecheckbe.service.SpotifyClientFactory;
+import com.zeroping.vibecheckbe.util.Hedger;
+import com.zeroping.vibecheckbe.util.RateLimiter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import se.michaelthelin.spotify.IHttpManager;
 import se.michaelthelin.spotify.SpotifyApi;
+import se.michaelthelin.spotify.SpotifyHttpManager;
 
-// Configuration class to set up Spotify API client
+import java.time.Duration;
+
+// Configuration class to set up Spotify API client, its rate limiting and search hedging
 @Configuration
 public class AppConfig {
     // Inject Spotify client ID and secret from application properties
@@ -16,12 +23,46 @@ public class AppConfig {
     @Value("${spotify.client-secret}")
     private String clientSecret;
 
-    // Define a bean for SpotifyApi to be used throughout the application
+    // One HTTP manager, and so one connection pool, for every Spotify client
+    @Bean
+    public IHttpManager spotifyHttpManager() {
+        return new SpotifyHttpManager.Builder().build();
+    }
+
+    // Define a bean for SpotifyApi holding the app credentials (used to obtain app access tokens)
     @Bean
-    public SpotifyApi spotifyApi() {
+    public SpotifyApi spotifyApi(IHttpManager spotifyHttpManager) {
         return new SpotifyApi.Builder()
                 .setClientId(clientId)
                 .setClientSecret(clientSecret)
+                .setHttpManager(spotifyHttpManager)
                 .build();
     }
+
+    // Per-token Spotify clients, so concurrent requests never share a mutable access token
+    @Bean
+    public SpotifyClientFactory spotifyClientFactory(SpotifyApi spotifyApi, IHttpManager spotifyHttpManager) {
+        return new SpotifyClientFactory(spotifyApi, spotifyHttpManager);
+    }
+
+    // Hedging for Spotify searches: a second search is sent once the first is slower than the
+    // observed latency percentile, for at most max-ratio of all searches
+    @Bean(destroyMethod = "shutdown")
+    public Hedger spotifySearchHedger(
+            @Value("${spotify.search.hedging.enabled:false}") boolean enabled,
+            @Value("${spotify.search.hedging.percentile:0.9}") double percentile,
+            @Value("${spotify.search.hedging.max-ratio:0.1}") double maxRatio,
+            @Value("${spotify.search.hedging.window-size:200}") int windowSize,
+            @Value("${spotify.search.hedging.min-samples:20}") int minSamples,
+            @Value("${spotify.search.hedging.min-delay:50ms}") Duration minDelay) {
+        return new Hedger(enabled, percentile, maxRatio, windowSize, minSamples, minDelay);
+    }
+
+    // One rate limiter for every Spotify Web API call made by this process
+    @Bean
+    public RateLimiter spotifyRateLimiter(
+            @Value("${spotify.rate-limit.permits-per-second:5}") double permitsPerSecond,
+            @Value("${spotify.rate-limit.burst:10}") int burst) {
+        return new RateLimiter(permitsPerSecond, burst);
+    }
 }
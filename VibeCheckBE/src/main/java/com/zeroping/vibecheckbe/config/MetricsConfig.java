@@ -0,0 +1,223 @@
+package com.zeroping.vibecheckbe.config;
+
+import com.zeroping.vibecheckbe.service.GeminiPlaylistCache;
+import com.zeroping.vibecheckbe.service.GeminiPlaylistService;
+import com.zeroping.vibecheckbe.service.GeminiUsageStats;
+import com.zeroping.vibecheckbe.service.SpotifyAppTokenProvider;
+import com.zeroping.vibecheckbe.service.SpotifyPlaylistExporter;
+import com.zeroping.vibecheckbe.service.SpotifyService;
+import com.zeroping.vibecheckbe.service.TrackResolutionCache;
+import com.zeroping.vibecheckbe.util.Hedger;
+import com.zeroping.vibecheckbe.util.LruTtlCache;
+import com.zeroping.vibecheckbe.util.RateLimiter;
+import com.zeroping.vibecheckbe.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Configuration class exposing the counters kept by caches and services as Micrometer meters
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder geminiPlaylistCacheMetrics(GeminiPlaylistCache cache) {
+        return registry -> bindCache(registry, "gemini_playlists", cache::stats);
+    }
+
+    @Bean
+    public MeterBinder trackResolutionCacheMetrics(TrackResolutionCache cache) {
+        return registry -> {
+            bindCache(registry, "track_lookups_memory", cache::memoryStats);
+            FunctionCounter.builder("vibecheck.cache.gets", cache, TrackResolutionCache::persistentHitCount)
+                    .tag("cache", "track_lookups_db").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("vibecheck.cache.gets", cache, TrackResolutionCache::persistentMissCount)
+                    .tag("cache", "track_lookups_db").tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder spotifyUserIdCacheMetrics(SpotifyPlaylistExporter exporter) {
+        return registry -> bindCache(registry, "spotify_user_ids", exporter::userIdCacheStats);
+    }
+
+    @Bean
+    public MeterBinder singleFlightMetrics(GeminiPlaylistService geminiPlaylistService, SpotifyService spotifyService) {
+        return registry -> {
+            bindSingleFlight(registry, "gemini", geminiPlaylistService.inFlightRequests());
+            bindSingleFlight(registry, "spotify_search", spotifyService.inFlightSearches());
+        };
+    }
+
+    @Bean
+    public MeterBinder spotifySearchHedgingMetrics(Hedger spotifySearchHedger) {
+        return registry -> {
+            FunctionCounter.builder("vibecheck.spotify.search.hedges", spotifySearchHedger, Hedger::hedgeCount)
+                    .tag("result", "sent").register(registry);
+            FunctionCounter.builder("vibecheck.spotify.search.hedges", spotifySearchHedger, Hedger::hedgeWinCount)
+                    .tag("result", "won").register(registry);
+            FunctionCounter.builder("vibecheck.spotify.search.hedges", spotifySearchHedger, Hedger::throttledCount)
+                    .tag("result", "throttled").register(registry);
+            FunctionCounter.builder("vibecheck.spotify.search.hedges", spotifySearchHedger, Hedger::deferredCount)
+                    .tag("result", "deferred").register(registry);
+            Gauge.builder("vibecheck.spotify.search.hedge.delay", spotifySearchHedger,
+                            h -> h.currentHedgeDelay().map(d -> d.toNanos() / 1e9).orElse(Double.NaN))
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder spotifyRateLimiterMetrics(RateLimiter spotifyRateLimiter) {
+        return registry -> {
+            Gauge.builder("vibecheck.spotify.ratelimit.queue", spotifyRateLimiter, RateLimiter::queueDepth)
+                    .description("Spotify calls waiting for the rate limiter")
+                    .register(registry);
+            FunctionTimer.builder("vibecheck.spotify.ratelimit.wait", spotifyRateLimiter,
+                            RateLimiter::acquiredCount,
+                            l -> l.totalThrottleTime().toNanos(),
+                            TimeUnit.NANOSECONDS)
+                    .description("Time Spotify calls spent waiting for the rate limiter")
+                    .register(registry);
+            FunctionCounter.builder("vibecheck.spotify.ratelimit.pauses", spotifyRateLimiter, RateLimiter::pauseCount)
+                    .description("Pauses caused by 429 responses from Spotify")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder spotifyAppTokenMetrics(SpotifyAppTokenProvider appTokens) {
+        return registry -> {
+            FunctionTimer.builder("vibecheck.spotify.token.refresh", appTokens,
+                            SpotifyAppTokenProvider::refreshCount,
+                            t -> t.totalRefreshTime().toNanos(),
+                            TimeUnit.NANOSECONDS)
+                    .description("Successful refreshes of the Spotify app access token and their latency")
+                    .register(registry);
+            FunctionCounter.builder("vibecheck.spotify.token.refresh.failures", appTokens,
+                            SpotifyAppTokenProvider::refreshFailureCount)
+                    .register(registry);
+            Gauge.builder("vibecheck.spotify.token.ttl", appTokens, t -> t.snapshot()
+                            .map(token -> Duration.between(Instant.now(), token.expiresAt()).toMillis() / 1000.0)
+                            .orElse(Double.NaN))
+                    .description("Time until the current Spotify app access token expires")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder geminiUsageMetrics(GeminiUsageStats stats) {
+        return registry -> {
+            for (GeminiUsageStats.Mode mode : GeminiUsageStats.Mode.values()) {
+                String modeTag = mode.name().toLowerCase(Locale.ROOT);
+                FunctionTimer.builder("vibecheck.gemini.calls", stats,
+                                s -> s.snapshot(mode).calls(),
+                                s -> s.snapshot(mode).totalLatency().toNanos(),
+                                TimeUnit.NANOSECONDS)
+                        .description("Successful Gemini calls and their latency")
+                        .tag("mode", modeTag)
+                        .register(registry);
+                FunctionCounter.builder("vibecheck.gemini.failures", stats, s -> s.snapshot(mode).failures())
+                        .tag("mode", modeTag)
+                        .register(registry);
+                FunctionCounter.builder("vibecheck.gemini.tokens", stats, s -> s.snapshot(mode).promptTokens())
+                        .tag("mode", modeTag).tag("type", "prompt")
+                        .register(registry);
+                FunctionCounter.builder("vibecheck.gemini.tokens", stats, s -> s.snapshot(mode).outputTokens())
+                        .tag("mode", modeTag).tag("type", "output")
+                        .register(registry);
+            }
+        };
+    }
+
+    // Only bound when read replicas are configured (see ReadReplicaDataSourceConfig)
+    @Bean
+    public MeterBinder readReplicaMetrics(ObjectProvider<ReadReplicaRoutingDataSource> routingDataSource) {
+        return registry -> routingDataSource.ifAvailable(routing -> {
+            FunctionCounter.builder("vibecheck.datasource.reads", routing, ReadReplicaRoutingDataSource::replicaReadCount)
+                    .description("Read-only transactions and where they were routed")
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("vibecheck.datasource.reads", routing, ReadReplicaRoutingDataSource::primaryReadCount)
+                    .description("Read-only transactions and where they were routed")
+                    .tag("target", "primary")
+                    .register(registry);
+            FunctionCounter.builder("vibecheck.datasource.replica.fallbacks", routing, ReadReplicaRoutingDataSource::fallbackCount)
+                    .description("Reads sent to the primary because a replica refused the connection")
+                    .register(registry);
+            Gauge.builder("vibecheck.datasource.replicas.healthy", routing, ReadReplicaRoutingDataSource::healthyReplicaCount)
+                    .register(registry);
+        });
+    }
+
+    // Hit/miss counts of the Hibernate second-level cache regions, when it is enabled (see SecondLevelCacheConfig)
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(ObjectProvider<SecondLevelCacheConfig> secondLevelCache,
+                                               EntityManagerFactory entityManagerFactory) {
+        return registry -> secondLevelCache.ifAvailable(config -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : SecondLevelCacheConfig.REGIONS) {
+                Supplier<CacheRegionStatistics> stats = () -> statistics.getDomainDataRegionStatistics(region);
+                String name = "hibernate_" + region;
+                FunctionCounter.builder("vibecheck.cache.gets", stats, s -> s.get().getHitCount())
+                        .tag("cache", name).tag("result", "hit")
+                        .register(registry);
+                FunctionCounter.builder("vibecheck.cache.gets", stats, s -> s.get().getMissCount())
+                        .tag("cache", name).tag("result", "miss")
+                        .register(registry);
+                FunctionCounter.builder("vibecheck.cache.puts", stats, s -> s.get().getPutCount())
+                        .tag("cache", name)
+                        .register(registry);
+                Gauge.builder("vibecheck.cache.hit.ratio", stats, s -> hitRatio(s.get()))
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        });
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, Supplier<LruTtlCache.Stats> stats) {
+        FunctionCounter.builder("vibecheck.cache.gets", stats, s -> s.get().hits())
+                .tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("vibecheck.cache.gets", stats, s -> s.get().misses())
+                .tag("cache", name).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("vibecheck.cache.evictions", stats, s -> s.get().evictions())
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("vibecheck.cache.size", stats, s -> s.get().size())
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics stats) {
+        long gets = stats.getHitCount() + stats.getMissCount();
+        return gets == 0 ? Double.NaN : (double) stats.getHitCount() / gets;
+    }
+
+    private static void bindSingleFlight(MeterRegistry registry, String name, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder("vibecheck.singleflight.calls", singleFlight, SingleFlight::executionCount)
+                .tag("name", name).tag("result", "executed")
+                .register(registry);
+        FunctionCounter.builder("vibecheck.singleflight.calls", singleFlight, SingleFlight::coalescedCount)
+                .tag("name", name).tag("result", "coalesced")
+                .register(registry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.zeroping.vibecheckbe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Page size limits shared by every keyset-paginated endpoint
+@Component
+public class PaginationProperties {
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PaginationProperties(@Value("${pagination.default-page-size:20}") int defaultPageSize,
+                                @Value("${pagination.max-page-size:100}") int maxPageSize) {
+        if (defaultPageSize < 1 || maxPageSize < defaultPageSize) {
+            throw new IllegalArgumentException("pagination.max-page-size must be at least pagination.default-page-size");
+        }
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // The page size to use for a request: the default when none was asked for, never more than the maximum
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        return Math.clamp(requested, 1, maxPageSize);
+    }
+}
@@ -0,0 +1,237 @@
+package com.zeroping.vibecheckbe.config;
+
+import com.zeroping.vibecheckbe.util.LruTtlCache;
+import com.zeroping.vibecheckbe.util.ReadYourWrites;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+
+// DataSource that sends read-only transactions (@Transactional(readOnly = true)) to a healthy read replica,
+// round robin, and everything else to the primary.
+// Replicas failing a health check or a connection attempt are skipped until they pass a check again, and a user
+// whose write transaction just committed reads from the primary for a short window, so replication lag never
+// hides their own changes (the user comes from ReadYourWrites when set, otherwise from the security context).
+// Must be wrapped in a LazyConnectionDataSourceProxy: the read-only flag of a transaction is only known once it
+// has started, after the connection handle was requested.
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final int healthCheckTimeoutSeconds;
+    private final LruTtlCache<String, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                        Duration readYourWritesWindow, Duration healthCheckTimeout) {
+        this(primary, replicas, readYourWritesWindow, healthCheckTimeout, Clock.systemUTC());
+    }
+
+    ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                 Duration readYourWritesWindow, Duration healthCheckTimeout, Clock clock) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        this.recentWriters = new LruTtlCache<>(MAX_TRACKED_WRITERS, readYourWritesWindow, clock);
+
+        List<Replica> replicaList = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicas.get(i));
+            replicaList.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        this.replicas = List.copyOf(replicaList);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterAfterCommit();
+            return PRIMARY;
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.get(user).isPresent()) {
+            primaryReads.incrementAndGet();
+            return PRIMARY;
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            primaryReads.incrementAndGet();
+            return PRIMARY;
+        }
+        replicaReads.incrementAndGet();
+        return replica.key;
+    }
+
+    // A replica that cannot hand out a connection is marked down and the read goes to the primary instead
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            return primary.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            markDown(target, e);
+            fallbacks.incrementAndGet();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return target.getConnection(username, password);
+        } catch (SQLException e) {
+            markDown(target, e);
+            fallbacks.incrementAndGet();
+            return primary.getConnection(username, password);
+        }
+    }
+
+    // Validate a connection of every replica; replicas that pass are used again, the others are skipped
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:10000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Read replica {} is healthy again", replica.key);
+                } else {
+                    log.warn("Read replica {} failed its health check; reads go elsewhere", replica.key);
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int healthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public long replicaReadCount() {
+        return replicaReads.get();
+    }
+
+    public long primaryReadCount() {
+        return primaryReads.get();
+    }
+
+    public long fallbackCount() {
+        return fallbacks.get();
+    }
+
+    // Closes the replica pools; the primary is owned by whoever created it
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markDown(DataSource target, SQLException cause) {
+        for (Replica replica : replicas) {
+            if (replica.dataSource == target && replica.healthy) {
+                replica.healthy = false;
+                log.warn("Read replica {} refused a connection; reads fall back to the primary", replica.key, cause);
+            }
+        }
+    }
+
+    // The user of a committed read-write transaction reads from the primary for the read-your-writes window.
+    // Read-write transactions that only read count too: that is harmless, they just skip the replicas briefly.
+    private void rememberWriterAfterCommit() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    // The user named by ReadYourWrites (background jobs), otherwise the authenticated user of the request
+    private static String currentUser() {
+        Optional<String> owner = ReadYourWrites.owner();
+        if (owner.isPresent()) {
+            return owner.get();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,77 @@
+package com.zeroping.vibecheckbe.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Configuration class for the circuit breaker and bulkhead that protect the Gemini call
+@Configuration
+public class ResilienceConfig {
+    public static final String GEMINI = "gemini";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return CircuitBreakerRegistry.ofDefaults();
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        return BulkheadRegistry.ofDefaults();
+    }
+
+    // Opens when too many Gemini calls fail or are slow, so requests stop waiting out the read timeout
+    @Bean
+    public CircuitBreaker geminiCircuitBreaker(
+            CircuitBreakerRegistry registry,
+            @Value("${gemini.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${gemini.circuit-breaker.slow-call-duration:20s}") Duration slowCallDuration,
+            @Value("${gemini.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${gemini.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${gemini.circuit-breaker.minimum-calls:5}") int minimumCalls,
+            @Value("${gemini.circuit-breaker.wait-in-open-state:30s}") Duration waitInOpenState,
+            @Value("${gemini.circuit-breaker.half-open-calls:2}") int halfOpenCalls) {
+        return registry.circuitBreaker(GEMINI, CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+    }
+
+    // Caps concurrent Gemini calls so a slow Gemini cannot tie up every request thread
+    @Bean
+    public Bulkhead geminiBulkhead(
+            BulkheadRegistry registry,
+            @Value("${gemini.bulkhead.max-concurrent-calls:4}") int maxConcurrentCalls,
+            @Value("${gemini.bulkhead.max-wait:500ms}") Duration maxWait) {
+        return registry.bulkhead(GEMINI, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+    }
+
+    // Publishes breaker state, call outcomes and bulkhead usage as resilience4j_* meters
+    @Bean
+    public MeterBinder resilienceMetrics(CircuitBreakerRegistry circuitBreakerRegistry,
+                                         BulkheadRegistry bulkheadRegistry) {
+        return meterRegistry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.zeroping.vibecheckbe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// Configuration class enabling @Scheduled background tasks (e.g. expiring playlist jobs)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Several scheduler threads instead of Spring's single one, so a task that blocks (the Spotify token refresh
+    // can wait out a whole 429 Retry-After in the rate limiter) does not hold back the others, such as the
+    // read replica health checks
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduled-");
+        return scheduler;
+    }
+}
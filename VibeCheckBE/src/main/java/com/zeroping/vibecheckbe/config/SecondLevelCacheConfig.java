@@ -0,0 +1,70 @@
+package com.zeroping.vibecheckbe.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+// Configuration class for Hibernate's second-level cache (JCache API, Ehcache in memory).
+// Songs, moods, genres and the Playlist.songs / User.genres collections are cached, so loading a playlist
+// or a user no longer re-reads them through the playlist_songs and user_genres joins.
+// Every region is bounded in entries and has a time-to-live; hit/miss counts are exposed by MetricsConfig.
+@Configuration
+@ConditionalOnProperty(name = "jpa.second-level-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+    // Region names used in the @Cache annotations of the entities and collections
+    public static final List<String> REGIONS = List.of("songs", "moods", "genres", "playlist_songs", "user_genres");
+
+    // One cache manager per application context, so test contexts never share regions
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${jpa.second-level-cache.songs.max-entries:20000}") long songEntries,
+            @Value("${jpa.second-level-cache.songs.ttl:24h}") Duration songTtl,
+            @Value("${jpa.second-level-cache.reference-data.max-entries:1000}") long referenceDataEntries,
+            @Value("${jpa.second-level-cache.reference-data.ttl:24h}") Duration referenceDataTtl,
+            @Value("${jpa.second-level-cache.collections.max-entries:10000}") long collectionEntries,
+            @Value("${jpa.second-level-cache.collections.ttl:1h}") Duration collectionTtl) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("urn:vibecheck:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+        createRegion(cacheManager, "songs", songEntries, songTtl);
+        createRegion(cacheManager, "moods", referenceDataEntries, referenceDataTtl);
+        createRegion(cacheManager, "genres", referenceDataEntries, referenceDataTtl);
+        createRegion(cacheManager, "playlist_songs", collectionEntries, collectionTtl);
+        createRegion(cacheManager, "user_genres", collectionEntries, collectionTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Hit and miss counts per region, read by the cache metrics
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maxEntries, Duration ttl) {
+        cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))));
+    }
+}
@@ -2,6 +2,8 @@ package com.zeroping.vibecheckbe.config;
 
 import com.zeroping.vibecheckbe.security.JwtAuthenticationFilter;
 import com.zeroping.vibecheckbe.utils.JwtUtils;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -39,16 +41,23 @@ public class SecurityConfig {
             HttpSecurity http,
             JwtAuthenticationFilter jwtAuthenticationFilter,
             AuthenticationEntryPoint customAuthenticationEntryPoint,
-            AccessDeniedHandler customAccessDeniedHandler
+            AccessDeniedHandler customAccessDeniedHandler,
+            @Value("${management.server.port:-1}") int managementPort
         ) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)// disable CSRF for API testing
                 .exceptionHandling(exception
                         -> exception.authenticationEntryPoint(customAuthenticationEntryPoint)
                         .accessDeniedHandler(customAccessDeniedHandler))
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE async dispatches were already authorized on the initial request
                         .requestMatchers("/users/by-email").permitAll() // allow unauthenticated access to this endpoint
                         .requestMatchers("/moods").permitAll() // allow unauthenticated access to moods (public reference data)
                         .requestMatchers("/genres").permitAll() // allow unauthenticated access to genres (public reference data)
+                        .requestMatchers("/admin/**").permitAll() // guarded by the X-Admin-Token header in AdminController
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/livez", "/readyz").permitAll() // health checks
+                        // metrics scraping only through the internal management port; on the public port it needs a login
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -1,5 +1,6 @@
 package com.zeroping.vibecheckbe.config;
 
+import com.zeroping.vibecheckbe.util.KeysetPage;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,7 +27,7 @@ public class WebConfig {
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowCredentials(true)
                         .allowedHeaders("*")
-                        .exposedHeaders("Authorization");
+                        .exposedHeaders("Authorization", KeysetPage.NEXT_CURSOR_HEADER);
             }
         };
     }
@@ -0,0 +1,64 @@
+package com.zeroping.vibecheckbe.controller;
+
+import com.zeroping.vibecheckbe.exception.admin.AdminAccessDeniedException;
+import com.zeroping.vibecheckbe.service.ReferenceDataRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+// Controller for operational admin tasks.
+// There are no admin users, so these endpoints skip the user JWT and require the shared
+// admin token (admin.api-token) in the X-Admin-Token header instead; a blank token disables them.
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final ReferenceDataRegistry referenceData;
+    private final byte[] adminToken;
+
+    public AdminController(ReferenceDataRegistry referenceData,
+                           @Value("${admin.api-token:}") String adminToken) {
+        this.referenceData = referenceData;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Version of the reference data (moods and genres) currently served from memory
+    @GetMapping("/reference-data")
+    public ResponseEntity<Map<String, Object>> getReferenceDataVersion(
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        checkToken(token);
+        return ResponseEntity.ok(summaryOf(referenceData.snapshot()));
+    }
+
+    // Reload moods and genres from the database, e.g. after editing those tables
+    @PostMapping("/reference-data/reload")
+    public ResponseEntity<Map<String, Object>> reloadReferenceData(
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        checkToken(token);
+        return ResponseEntity.ok(summaryOf(referenceData.reload()));
+    }
+
+    private void checkToken(String token) {
+        if (adminToken.length == 0) {
+            throw new AdminAccessDeniedException("Admin endpoints are disabled.");
+        }
+        // Constant-time comparison, so the token cannot be guessed from response times
+        if (token == null || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException("Invalid admin token.");
+        }
+    }
+
+    private static Map<String, Object> summaryOf(ReferenceDataRegistry.Snapshot snapshot) {
+        return Map.of(
+                "version", snapshot.version(),
+                "loadedAt", snapshot.loadedAt(),
+                "moods", snapshot.moods().size(),
+                "genres", snapshot.genres().size()
+        );
+    }
+}
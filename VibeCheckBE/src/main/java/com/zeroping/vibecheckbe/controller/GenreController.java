@@ -1,9 +1,10 @@
 package com.zeroping.vibecheckbe.controller;
 
 import com.zeroping.vibecheckbe.service.GenreService;
+import com.zeroping.vibecheckbe.service.ReferenceDataResponses;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 import java.util.Map;
 
 // Controller for handling genre-related HTTP requests
@@ -12,16 +13,20 @@ import java.util.Map;
 public class GenreController {
     // Dependency injection of GenreService
     private final GenreService genreService;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public GenreController(GenreService genreService) {
+    public GenreController(GenreService genreService, ReferenceDataResponses referenceDataResponses) {
         this.genreService = genreService;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
-    // Endpoint to retrieve all genres
+    // Endpoint to retrieve all genres (pre-serialized; 304 when the client's ETag is still current)
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllGenres() {
-        List<Map<String, Object>> genres = genreService.getAllGenres();
-        return ResponseEntity.ok(genres);
+    public ResponseEntity<byte[]> getAllGenres(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return referenceDataResponses.genres()
+                .toResponse(ifNoneMatch, acceptEncoding, referenceDataResponses.cacheControl());
     }
 
     // Endpoint to retrieve a genre by its ID
@@ -4,14 +4,16 @@ import com.zeroping.vibecheckbe.dto.CreateMoodEntryDTO;
 import com.zeroping.vibecheckbe.dto.CreateBatchMoodEntriesDTO;
 import com.zeroping.vibecheckbe.dto.MoodEntryResponseDTO;
 import com.zeroping.vibecheckbe.service.MoodService;
+import com.zeroping.vibecheckbe.service.ReferenceDataResponses;
+import com.zeroping.vibecheckbe.util.KeysetPage;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 // Controller for handling mood-related endpoints
@@ -23,19 +25,22 @@ public class MoodController {
 
     // Dependency injection of MoodService
     private final MoodService moodService;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public MoodController(MoodService moodService) {
+    public MoodController(MoodService moodService, ReferenceDataResponses referenceDataResponses) {
         log.debug("MoodController initialized");
         this.moodService = moodService;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
-    // Endpoint to get all moods
+    // Endpoint to get all moods (pre-serialized; 304 when the client's ETag is still current)
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllMoods() {
-        log.debug("getAllMoods: Request received");
-        List<Map<String, Object>> moods = moodService.getAllMoods();
-        log.debug("getAllMoods: Returning {} moods", moods.size());
-        return ResponseEntity.ok(moods);
+    public ResponseEntity<byte[]> getAllMoods(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("getAllMoods: Request received, If-None-Match={}", ifNoneMatch);
+        return referenceDataResponses.moods()
+                .toResponse(ifNoneMatch, acceptEncoding, referenceDataResponses.cacheControl());
     }
 
     // Endpoint to create a single mood entry
@@ -60,11 +65,14 @@ public class MoodController {
         return ResponseEntity.ok(responses);
     }
 
-    // Endpoint to get mood entries for a specific user
+    // Endpoint to get one page of mood entries for a specific user, newest first
     @GetMapping("/entries/user/{userId}")
-    public ResponseEntity<List<MoodEntryResponseDTO>> getUserMoodEntries(@PathVariable UUID userId) {
-        log.debug("getUserMoodEntries: userId={}", userId);
-        List<MoodEntryResponseDTO> entries = moodService.getUserMoodEntries(userId);
-        return ResponseEntity.ok(entries);
+    public ResponseEntity<List<MoodEntryResponseDTO>> getUserMoodEntries(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("getUserMoodEntries: userId={}, limit={}", userId, limit);
+        KeysetPage<MoodEntryResponseDTO> entries = moodService.getUserMoodEntries(userId, cursor, limit);
+        return entries.toResponse();
     }
 }
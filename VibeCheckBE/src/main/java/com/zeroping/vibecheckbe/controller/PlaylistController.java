@@ -1,13 +1,17 @@
 package com.zeroping.vibecheckbe.controller;
 
 import com.zeroping.vibecheckbe.dto.*;
-import com.zeroping.vibecheckbe.service.GeminiPlaylistService;
-import com.zeroping.vibecheckbe.service.PlaylistMetadataService;
+import com.zeroping.vibecheckbe.service.PlaylistGenerationJobService;
+import com.zeroping.vibecheckbe.service.PlaylistGenerationService;
 import com.zeroping.vibecheckbe.service.PlaylistService;
-import com.zeroping.vibecheckbe.service.SpotifyPlaylistService;
+import com.zeroping.vibecheckbe.util.KeysetPage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
@@ -18,16 +22,15 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/playlist")
 public class PlaylistController {
-    private final GeminiPlaylistService geminiPlaylistService;
-    private final SpotifyPlaylistService spotifyPlaylistService;
-    private final PlaylistMetadataService playlistMetadataService;
+    private final PlaylistGenerationService playlistGenerationService;
+    private final PlaylistGenerationJobService playlistGenerationJobService;
     private final PlaylistService playlistService;
 
-    public PlaylistController(GeminiPlaylistService service, SpotifyPlaylistService spotifyPlaylistService,
-                              PlaylistMetadataService playlistMetadataService, PlaylistService playlistService) {
-        this.geminiPlaylistService = service;
-        this.spotifyPlaylistService = spotifyPlaylistService;
-        this.playlistMetadataService = playlistMetadataService;
+    public PlaylistController(PlaylistGenerationService playlistGenerationService,
+                              PlaylistGenerationJobService playlistGenerationJobService,
+                              PlaylistService playlistService) {
+        this.playlistGenerationService = playlistGenerationService;
+        this.playlistGenerationJobService = playlistGenerationJobService;
         this.playlistService = playlistService;
     }
 
@@ -35,25 +38,33 @@ public class PlaylistController {
     @PostMapping("/generate")
     public PlaylistDTO generate(@RequestBody PlaylistRequest req) throws Exception {
         UUID authenticatedUserId = getAuthenticatedUserId();
+        return playlistGenerationService.generate(authenticatedUserId, req.getMood(), req.getGenres());
+    }
 
-        PlaylistAgentResponse playlistAgentResponse = geminiPlaylistService.generatePlaylist(req.getMood(), req.getGenres());
-
-        System.out.println("Gemini returned this playlist:" + playlistAgentResponse);
+    // Start a playlist generation in the background and return its job id right away
+    @PostMapping("/generate/jobs")
+    public ResponseEntity<PlaylistGenerationJobDTO> startGenerationJob(@RequestBody PlaylistRequest req) {
+        UUID authenticatedUserId = getAuthenticatedUserId();
+        PlaylistGenerationJobDTO job = playlistGenerationJobService.submit(
+                authenticatedUserId, req.getMood(), req.getGenres());
 
-        PlaylistSpotifyRequest playlistSpotifyRequest = new PlaylistSpotifyRequest(
-                playlistAgentResponse.getTracks().stream().map(
-                        track -> new TrackSpotifyRequest(track.getTitle(), track.getArtist())
-                ).toList()
-        );
+        return ResponseEntity.accepted()
+                .location(URI.create("/playlist/generate/jobs/" + job.getJobId()))
+                .body(job);
+    }
 
-        PlaylistSpotifyResponse spotifyResponse = spotifyPlaylistService.searchAndSaveSongsFromPlaylist(playlistSpotifyRequest);
+    // Poll the status of a playlist generation job
+    @GetMapping("/generate/jobs/{jobId}")
+    public PlaylistGenerationJobDTO getGenerationJob(@PathVariable UUID jobId) {
+        UUID userId = getAuthenticatedUserId();
+        return playlistGenerationJobService.getJob(jobId, userId);
+    }
 
-        return playlistMetadataService.savePlaylistMetadata(
-                spotifyResponse.getSongs(),
-                playlistAgentResponse.getPlaylist_name(),
-                req.getMood(),
-                authenticatedUserId
-        );
+    // Stream the stage progress of a playlist generation job as server-sent events
+    @GetMapping(value = "/generate/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGenerationJob(@PathVariable UUID jobId) {
+        UUID userId = getAuthenticatedUserId();
+        return playlistGenerationJobService.subscribe(jobId, userId);
     }
 
     // Get all distinct moods of authenticated user, sorted by createdAt ascending
@@ -71,11 +82,15 @@ public class PlaylistController {
         return Map.of("playlistCount", count);
     }
 
-    // Get all the user's playlists
+    // Get one page of the user's playlists, newest first.
+    // The cursor for the next page, if any, is returned in the X-Next-Cursor header.
     @GetMapping("/playlists")
-    public List<PlaylistDTO> getUserPlaylists() {
+    public ResponseEntity<List<PlaylistDTO>> getUserPlaylists(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         UUID userId = getAuthenticatedUserId();
-        return playlistService.getUserPlaylists(userId);
+        KeysetPage<PlaylistDTO> page = playlistService.getUserPlaylists(userId, cursor, limit);
+        return page.toResponse();
     }
 
     // Get the latest playlist for the user
@@ -1,5 +1,6 @@
 package com.zeroping.vibecheckbe.controller;
 
+import com.zeroping.vibecheckbe.dto.BulkSavePlaylistsToSpotifyRequest;
 import com.zeroping.vibecheckbe.dto.SavePlaylistToSpotifyRequest;
 import com.zeroping.vibecheckbe.service.PlaylistService;
 import com.zeroping.vibecheckbe.dto.LastPlaylistResponseDTO;
@@ -9,12 +10,14 @@ import com.zeroping.vibecheckbe.dto.UserPreferencesDTO;
 import com.zeroping.vibecheckbe.dto.UserUpdateDTO;
 import com.zeroping.vibecheckbe.exception.playlist.PlaylistNotFoundException;
 import com.zeroping.vibecheckbe.service.MoodService;
+import com.zeroping.vibecheckbe.service.SpotifyBulkExportService;
 import com.zeroping.vibecheckbe.service.UserService;
+import com.zeroping.vibecheckbe.util.KeysetPage;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,11 +29,14 @@ public class UserController {
     private final UserService userService;
     private final PlaylistService playlistService;
     private final MoodService moodService;
+    private final SpotifyBulkExportService spotifyBulkExportService;
 
-    public UserController(UserService userService, PlaylistService playlistService, MoodService moodService) {
+    public UserController(UserService userService, PlaylistService playlistService, MoodService moodService,
+                          SpotifyBulkExportService spotifyBulkExportService) {
         this.userService = userService;
         this.playlistService = playlistService;
         this.moodService = moodService;
+        this.spotifyBulkExportService = spotifyBulkExportService;
     }
 
     // Get user by ID
@@ -73,9 +79,11 @@ public class UserController {
                 .body(Map.of("success", true, "message", "Preferences updated successfully."));
     }
 
-    // Get user's mood history
+    // Get one page of the user's mood history, newest first
     @GetMapping("/{id}/moods")
-    public ResponseEntity<?> getUserMoodHistory(@PathVariable UUID id) {
+    public ResponseEntity<?> getUserMoodHistory(@PathVariable UUID id,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
         String authenticatedUserId = SecurityContextHolder.getContext().getAuthentication().getName();
         if (!authenticatedUserId.equals(id.toString())) {
             return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN)
@@ -83,12 +91,13 @@ public class UserController {
         }
 
         try {
-            List<MoodHistoryDTO> moodHistory = moodService.getUserMoodHistory(id);
-            if (moodHistory.isEmpty()) {
+            KeysetPage<MoodHistoryDTO> moodHistory = moodService.getUserMoodHistory(id, cursor, limit);
+            // Only the first page being empty means there is no history; a later one is just the end
+            if (moodHistory.items().isEmpty() && (cursor == null || cursor.isBlank())) {
                 return ResponseEntity.status(org.springframework.http.HttpStatus.NOT_FOUND)
                         .body(Map.of("error", "No mood history found for this user"));
             }
-            return ResponseEntity.ok(moodHistory);
+            return moodHistory.toResponse();
         } catch (com.zeroping.vibecheckbe.exception.user.UserNotFoundException e) {
             return ResponseEntity.status(org.springframework.http.HttpStatus.NOT_FOUND)
                     .body(Map.of("error", "User not found"));
@@ -158,4 +167,16 @@ public class UserController {
                     .body(Map.of("success", false, "message", "Failed to save playlist to Spotify: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Save several of the authenticated user's playlists to their Spotify account;
+    // the result of each one is streamed as server-sent events
+    @PostMapping("/playlist/save/bulk")
+    public SseEmitter savePlaylistsToSpotify(
+            @RequestHeader(value = "X-Spotify-Token") String spotifyToken,
+            @RequestBody BulkSavePlaylistsToSpotifyRequest request) {
+        String userIdString = SecurityContextHolder.getContext().getAuthentication().getName();
+        UUID userId = UUID.fromString(userIdString);
+
+        return spotifyBulkExportService.exportAll(userId, request.getPlaylistIds(), spotifyToken);
+    }
+}
@@ -0,0 +1,11 @@
+package com.zeroping.vibecheckbe.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// DTO for saving several playlists to Spotify at once; each keeps its own name on Spotify
+@Data
+public class BulkSavePlaylistsToSpotifyRequest {
+    private List<Long> playlistIds;
+}
@@ -0,0 +1,64 @@
+package com.zeroping.vibecheckbe.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+// DTO for the parts of a Gemini generateContent / streamGenerateContent response that we read
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GeminiGenerateResponse(
+        List<Candidate> candidates,
+        PromptFeedback promptFeedback,
+        UsageMetadata usageMetadata,
+        Error error
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Candidate(Content content, String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Content(List<Part> parts) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Part(String text) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PromptFeedback(String blockReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UsageMetadata(int promptTokenCount, int candidatesTokenCount, int totalTokenCount) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Error(int code, String message, String status) {
+    }
+
+    // Concatenated text of the first candidate (empty if there is none)
+    public String firstCandidateText() {
+        if (candidates == null || candidates.isEmpty()) {
+            return "";
+        }
+        Content content = candidates.getFirst().content();
+        if (content == null || content.parts() == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Part part : content.parts()) {
+            if (part.text() != null) {
+                text.append(part.text());
+            }
+        }
+        return text.toString();
+    }
+
+    public boolean hasCandidates() {
+        return candidates != null && !candidates.isEmpty();
+    }
+
+    public boolean isBlocked() {
+        return promptFeedback != null && promptFeedback.blockReason() != null;
+    }
+}
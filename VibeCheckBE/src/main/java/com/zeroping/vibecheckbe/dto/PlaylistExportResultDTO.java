@@ -0,0 +1,17 @@
+package com.zeroping.vibecheckbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// DTO for the outcome of exporting one playlist during a bulk export
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistExportResultDTO {
+    private Long playlistId;
+    private String status;            // EXPORTED, EMPTY, NOT_FOUND or FAILED
+    private String spotifyPlaylistId; // Set once the playlist was created on Spotify
+    private Integer trackCount;
+    private String error;             // Set when the export failed
+}
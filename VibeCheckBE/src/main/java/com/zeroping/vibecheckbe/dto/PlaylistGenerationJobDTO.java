@@ -0,0 +1,24 @@
+package com.zeroping.vibecheckbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// DTO for the status of an asynchronous playlist generation job
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistGenerationJobDTO {
+    private UUID jobId;
+    private String status;          // QUEUED, RUNNING, SUCCEEDED or FAILED
+    private String stage;           // queued, running, llm_done, tracks_resolved, saved or failed
+    private Integer resolvedTracks; // Number of tracks searched on Spotify so far
+    private Integer totalTracks;    // Number of tracks suggested by the LLM
+    private PlaylistDTO playlist;   // Set once the job has succeeded
+    private String error;           // Set once the job has failed
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -11,4 +11,5 @@ import java.util.List;
 @AllArgsConstructor
 public class PlaylistSpotifyResponse {
     private List<Song> songs;
+    private List<TrackResolution> unresolvedTracks; // Tracks that were not found or whose search failed
 }
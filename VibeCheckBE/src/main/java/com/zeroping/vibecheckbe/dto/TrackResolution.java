@@ -0,0 +1,41 @@
+package com.zeroping.vibecheckbe.dto;
+
+import com.zeroping.vibecheckbe.entity.Song;
+import se.michaelthelin.spotify.model_objects.specification.Track;
+
+// DTO for the outcome of resolving a single requested track against Spotify
+public record TrackResolution(
+        int position,
+        TrackSpotifyRequest request,
+        Status status,
+        Track track,          // Set when the track was found by a Spotify search
+        Song song,            // Set when the track was already known from the track cache
+        String failureReason
+) {
+    public enum Status {
+        RESOLVED,
+        CACHED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    public static TrackResolution resolved(int position, TrackSpotifyRequest request, Track track) {
+        return new TrackResolution(position, request, Status.RESOLVED, track, null, null);
+    }
+
+    public static TrackResolution cached(int position, TrackSpotifyRequest request, Song song) {
+        return new TrackResolution(position, request, Status.CACHED, null, song, null);
+    }
+
+    public static TrackResolution notFound(int position, TrackSpotifyRequest request) {
+        return new TrackResolution(position, request, Status.NOT_FOUND, null, null, "No matching track on Spotify");
+    }
+
+    public static TrackResolution failed(int position, TrackSpotifyRequest request, String failureReason) {
+        return new TrackResolution(position, request, Status.FAILED, null, null, failureReason);
+    }
+
+    public boolean isResolved() {
+        return status == Status.RESOLVED || status == Status.CACHED;
+    }
+}
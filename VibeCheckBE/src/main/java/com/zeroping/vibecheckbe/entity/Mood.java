@@ -2,10 +2,13 @@ package com.zeroping.vibecheckbe.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 // Genre entity representing a music genre in the database
 @Entity
 @Table(name = "\"Moods\"", schema = "public")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "moods")
 @Getter
 @Setter
 @NoArgsConstructor
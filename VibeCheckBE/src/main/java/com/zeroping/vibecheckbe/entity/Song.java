@@ -3,12 +3,15 @@ package com.zeroping.vibecheckbe.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
 // Song entity representing a song in the database
 @Entity
 @Table(name = "\"Songs\"", schema = "public")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "songs")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +31,10 @@ public class Song {
     @Column(name = "artist_name", nullable = false)
     private String artistName;
 
+    // Natural key: the 22-character Spotify track ID (unique; null only for rows not yet migrated)
+    @Column(name = "spotify_track_id", length = 32, unique = true)
+    private String spotifyTrackId;
+
     @ManyToMany(mappedBy = "songs")
     @JsonIgnoreProperties("songs")
     private Set<Playlist> playlists;
@@ -0,0 +1,55 @@
+package com.zeroping.vibecheckbe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// SongLookup entity mapping a normalized (title, artist) key to an already resolved song
+@Entity
+@Table(name = "\"SongLookups\"", schema = "public")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SongLookup implements Persistable<String> {
+
+    @Id
+    @Column(name = "lookup_key", nullable = false, length = 1024)
+    private String lookupKey;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "song_id", nullable = false)
+    private Song song;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    // The key is assigned by us, so tell Spring Data when a row is new; otherwise every
+    // save would be a merge with an extra SELECT
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    public SongLookup(String lookupKey, Song song) {
+        this.lookupKey = lookupKey;
+        this.song = song;
+    }
+
+    @Override
+    public String getId() {
+        return lookupKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -2,6 +2,8 @@ package com.zeroping.vibecheckbe.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -41,5 +43,6 @@ public class User {
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "genre_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user_genres")
     private Set<Genre> genres = new HashSet<>();
 }
@@ -0,0 +1,8 @@
+package com.zeroping.vibecheckbe.exception.admin;
+
+// Custom exception for admin requests without a valid admin token (or when admin access is disabled)
+public class AdminAccessDeniedException extends RuntimeException {
+    public AdminAccessDeniedException(String message) {
+        super(message);
+    }
+}
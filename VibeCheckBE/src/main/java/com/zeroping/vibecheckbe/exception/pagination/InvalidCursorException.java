@@ -0,0 +1,8 @@
+package com.zeroping.vibecheckbe.exception.pagination;
+
+// Custom exception for a page cursor that is not in the format this API issues
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+    }
+}
@@ -0,0 +1,8 @@
+package com.zeroping.vibecheckbe.exception.playlist;
+
+// Custom exception for bulk export requests that cannot be accepted (no ids, or too many)
+public class PlaylistExportRejectedException extends RuntimeException {
+    public PlaylistExportRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.zeroping.vibecheckbe.exception.playlist;
+
+import java.util.UUID;
+
+// Custom exception for when a playlist generation job does not exist (or has expired)
+public class PlaylistJobNotFoundException extends RuntimeException {
+    public PlaylistJobNotFoundException(UUID jobId) {
+        super("Playlist generation job not found: " + jobId);
+    }
+}
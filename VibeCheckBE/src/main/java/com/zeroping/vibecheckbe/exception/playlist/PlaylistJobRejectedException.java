@@ -0,0 +1,8 @@
+package com.zeroping.vibecheckbe.exception.playlist;
+
+// Custom exception for when the playlist generation workers cannot accept more jobs
+public class PlaylistJobRejectedException extends RuntimeException {
+    public PlaylistJobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,33 @@
+package com.zeroping.vibecheckbe.exceptionHandler;
+
+import com.zeroping.vibecheckbe.controller.AdminController;
+import com.zeroping.vibecheckbe.exception.admin.AdminAccessDeniedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Exception handler specifically for AdminController
+@RestControllerAdvice(assignableTypes = AdminController.class)
+public class AdminControllerExceptionHandler {
+    private static final Logger log = LoggerFactory.getLogger(AdminControllerExceptionHandler.class);
+
+    // Handle AdminAccessDeniedException
+    @ExceptionHandler(AdminAccessDeniedException.class)
+    public ProblemDetail handleAdminAccessDenied(AdminAccessDeniedException e) {
+        log.warn("Admin access denied: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, e.getMessage());
+    }
+
+    // Handle all other exceptions
+    @ExceptionHandler(Exception.class)
+    public ProblemDetail handleGeneric(Exception e) {
+        log.error("Unexpected error in admin controller", e);
+        return ProblemDetail.forStatusAndDetail(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                "Unexpected error: " + e.getMessage()
+        );
+    }
+}
@@ -2,6 +2,7 @@ package com.zeroping.vibecheckbe.exceptionHandler;
 
 import com.zeroping.vibecheckbe.controller.MoodController;
 import com.zeroping.vibecheckbe.exception.mood.MoodNotFoundException;
+import com.zeroping.vibecheckbe.exception.pagination.InvalidCursorException;
 import com.zeroping.vibecheckbe.exception.user.UserNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +30,13 @@ public class MoodControllerExceptionHandler {
         return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
     }
 
+    // Handle InvalidCursorException
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursorException(InvalidCursorException e) {
+        log.warn("Invalid page cursor: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
     // Handle generic RuntimeExceptions
     @ExceptionHandler(RuntimeException.class)
     public ProblemDetail handleRuntimeException(RuntimeException e) {
@@ -1,6 +1,9 @@
 package com.zeroping.vibecheckbe.exceptionHandler;
 
 import com.zeroping.vibecheckbe.controller.PlaylistController;
+import com.zeroping.vibecheckbe.exception.pagination.InvalidCursorException;
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistJobNotFoundException;
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistJobRejectedException;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import org.slf4j.Logger;
@@ -17,6 +20,27 @@ import java.io.IOException;
 public class PlaylistControllerExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(PlaylistControllerExceptionHandler.class);
 
+    // Handle unknown or expired generation jobs
+    @ExceptionHandler(PlaylistJobNotFoundException.class)
+    public ProblemDetail handleJobNotFound(PlaylistJobNotFoundException e) {
+        log.warn("Playlist job not found: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    // Handle generation jobs rejected because the worker pool is saturated
+    @ExceptionHandler(PlaylistJobRejectedException.class)
+    public ProblemDetail handleJobRejected(PlaylistJobRejectedException e) {
+        log.warn("Playlist job rejected: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    // Handle page cursors that cannot be decoded
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCursorException e) {
+        log.warn("Invalid page cursor: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
     // Handle illegal state exceptions
     @ExceptionHandler(IllegalStateException.class)
     public ProblemDetail handleIllegalState(IllegalStateException e) {
@@ -1,6 +1,8 @@
 package com.zeroping.vibecheckbe.exceptionHandler;
 
 import com.zeroping.vibecheckbe.controller.UserController;
+import com.zeroping.vibecheckbe.exception.pagination.InvalidCursorException;
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistExportRejectedException;
 import com.zeroping.vibecheckbe.exception.playlist.PlaylistNotFoundException;
 import com.zeroping.vibecheckbe.exception.genre.GenreNotFoundException;
 import com.zeroping.vibecheckbe.exception.user.GenreNotFoundForUserException;
@@ -31,6 +33,18 @@ public class UserControllerExceptionHandler {
         return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
     }
 
+    // Handle PlaylistExportRejectedException
+    @ExceptionHandler(PlaylistExportRejectedException.class)
+    public ProblemDetail handlePlaylistExportRejectedException(PlaylistExportRejectedException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    // Handle InvalidCursorException
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursorException(InvalidCursorException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
     // Handle GenreNotFoundForUserException
     @ExceptionHandler(GenreNotFoundForUserException.class)
     public ProblemDetail handleInvalidGenreException(GenreNotFoundForUserException e) {
@@ -2,14 +2,31 @@ package com.zeroping.vibecheckbe.repository;
 
 import com.zeroping.vibecheckbe.entity.MoodEntry;
 import com.zeroping.vibecheckbe.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 // Repository interface for MoodEntry entity
 @Repository
-public interface MoodEntryRepository extends JpaRepository<MoodEntry, Long> {
-    List<MoodEntry> findByUserOrderByCreatedAtDesc(User user);
+public interface MoodEntryRepository extends JpaRepository<MoodEntry, Long>, MoodEntryRepositoryCustom {
+    // First keyset page of a user's entries, newest first, with their mood and user loaded in the same query
+    // (backed by idx_mood_entries_user_created_id)
+    @EntityGraph(attributePaths = {"mood", "user"})
+    @Query("SELECT e FROM MoodEntry e WHERE e.user = :user ORDER BY e.createdAt DESC, e.id DESC")
+    List<MoodEntry> findPageByUser(@Param("user") User user, Limit limit);
+
+    // Next keyset page of a user's entries: the ones sorted after (createdAt, id)
+    @EntityGraph(attributePaths = {"mood", "user"})
+    @Query("SELECT e FROM MoodEntry e WHERE e.user = :user "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<MoodEntry> findPageByUserAfter(@Param("user") User user, @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id, Limit limit);
 }
 
@@ -0,0 +1,13 @@
+package com.zeroping.vibecheckbe.repository;
+
+import com.zeroping.vibecheckbe.entity.MoodEntry;
+
+import java.util.List;
+
+// Custom MoodEntry operations that need plain SQL
+public interface MoodEntryRepositoryCustom {
+    // Inserts the entries as one JDBC batch of a single prepared statement (instead of one insert per entity,
+    // which IDENTITY ids force on Hibernate) and sets the generated ids on them.
+    // User and mood must already be set and persisted.
+    List<MoodEntry> insertAll(List<MoodEntry> entries);
+}
@@ -0,0 +1,75 @@
+package com.zeroping.vibecheckbe.repository;
+
+import com.zeroping.vibecheckbe.entity.MoodEntry;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+// Plain SQL implementation of MoodEntryRepositoryCustom (picked up by Spring Data through the Impl suffix)
+class MoodEntryRepositoryImpl implements MoodEntryRepositoryCustom {
+    // Rows sent per JDBC batch, so a huge request does not build one huge batch in memory
+    static final int MAX_ROWS_PER_BATCH = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO public.\"MoodEntries\" "
+            + "(user_id, mood_id, intensity, notes, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MoodEntryRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<MoodEntry> insertAll(List<MoodEntry> entries) {
+        for (int from = 0; from < entries.size(); from += MAX_ROWS_PER_BATCH) {
+            insertChunk(entries.subList(from, Math.min(from + MAX_ROWS_PER_BATCH, entries.size())));
+        }
+        return entries;
+    }
+
+    private void insertChunk(List<MoodEntry> chunk) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        MoodEntry entry = chunk.get(i);
+                        ps.setObject(1, entry.getUser().getId());
+                        ps.setLong(2, entry.getMood().getId());
+                        ps.setInt(3, entry.getIntensity() != null ? entry.getIntensity() : 50);
+                        if (entry.getNotes() != null) {
+                            ps.setString(4, entry.getNotes());
+                        } else {
+                            ps.setNull(4, Types.VARCHAR);
+                        }
+                        ps.setTimestamp(5, Timestamp.valueOf(entry.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                },
+                keys);
+
+        // Generated keys come back in batch order, one row per entry
+        List<Map<String, Object>> keyRows = keys.getKeyList();
+        if (keyRows.size() != chunk.size()) {
+            throw new IllegalStateException(
+                    "Expected " + chunk.size() + " generated mood entry ids but got " + keyRows.size());
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            // Only "id" was requested; its key name differs in case between databases
+            Number id = (Number) keyRows.get(i).values().iterator().next();
+            chunk.get(i).setId(id.longValue());
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.zeroping.vibecheckbe.repository;
 
 import com.zeroping.vibecheckbe.entity.Playlist;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,11 +18,26 @@ import java.util.UUID;
 // Repository interface for managing Playlist entities
 @Repository
 public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
-    // Allows retrieving the playlists of a user sorted by creation date descending
-    List<Playlist> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    // First keyset page of a user's playlist ids, newest first (backed by idx_playlists_user_created_id)
+    @Query("SELECT p.id FROM Playlist p WHERE p.userId = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPageIdsByUserId(@Param("userId") UUID userId, Limit limit);
 
-    // Returns the latest playlist for a user, if it exists
-    Optional<Playlist> findFirstByUserIdOrderByCreatedAtDesc(UUID userId);
+    // Next keyset page of a user's playlist ids: the ones sorted after (createdAt, id)
+    @Query("SELECT p.id FROM Playlist p WHERE p.userId = :userId "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPageIdsByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") Instant createdAt,
+                                        @Param("id") Long id, Limit limit);
+
+    // Loads the playlists of one page together with their songs
+    @EntityGraph(attributePaths = "songs")
+    List<Playlist> findWithSongsByIdIn(Collection<Long> ids);
+
+    // Returns the latest playlist for a user, if it exists (songs included).
+    // The latest id is picked in a subquery, since a row limit cannot be combined with a collection fetch.
+    @Query("SELECT p FROM Playlist p LEFT JOIN FETCH p.songs WHERE p.id = "
+            + "(SELECT p2.id FROM Playlist p2 WHERE p2.userId = :userId ORDER BY p2.createdAt DESC LIMIT 1)")
+    Optional<Playlist> findFirstByUserIdOrderByCreatedAtDesc(@Param("userId") UUID userId);
 
     // Count the number of playlists for a specific user
     long countByUserId(UUID userId);
@@ -31,12 +49,38 @@ public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
     @Query("SELECT p.createdAt FROM Playlist p WHERE p.userId = :userId ORDER BY p.createdAt DESC LIMIT 1")
     Optional<Instant> findLatestTimestamp(UUID userId);
 
-    // Find playlists by userId and mood name
+    // Find playlists by userId and mood name (songs included)
+    @EntityGraph(attributePaths = "songs")
     List<Playlist> findByUserIdAndMood(UUID userId, String mood);
 
-    // Returns the latest playlist for a user with a specific mood, if it exists
-    Optional<Playlist> findFirstByUserIdAndMoodOrderByCreatedAtDesc(UUID userId, String mood);
+    // Find the playlists of a user for several moods at once (songs included)
+    @EntityGraph(attributePaths = "songs")
+    List<Playlist> findByUserIdAndMoodIn(UUID userId, Collection<String> moods);
+
+    // Returns the latest playlist for a user with a specific mood, if it exists (songs included)
+    @Query("SELECT p FROM Playlist p LEFT JOIN FETCH p.songs WHERE p.id = "
+            + "(SELECT p2.id FROM Playlist p2 WHERE p2.userId = :userId AND p2.mood = :mood "
+            + "ORDER BY p2.createdAt DESC LIMIT 1)")
+    Optional<Playlist> findFirstByUserIdAndMoodOrderByCreatedAtDesc(@Param("userId") UUID userId,
+                                                                    @Param("mood") String mood);
     
+    // Id of the user's most recent playlist with the given mood that has songs
+    @Query("SELECT p.id FROM Playlist p WHERE p.userId = :userId AND LOWER(p.mood) = LOWER(:mood) "
+            + "AND p.songs IS NOT EMPTY ORDER BY p.createdAt DESC LIMIT 1")
+    Optional<Long> findLatestIdWithSongsByUserIdAndMood(@Param("userId") UUID userId, @Param("mood") String mood);
+
+    // Loads a playlist together with its songs
+    @EntityGraph(attributePaths = "songs")
+    Optional<Playlist> findWithSongsById(Long id);
+
+    // Loads a playlist of a user together with its songs, for use outside a transaction
+    @EntityGraph(attributePaths = "songs")
+    Optional<Playlist> findWithSongsByIdAndUserId(Long id, UUID userId);
+
+    // Loads the given playlists of a user together with their songs in one query
+    @EntityGraph(attributePaths = "songs")
+    List<Playlist> findWithSongsByIdInAndUserId(Collection<Long> ids, UUID userId);
+
     // Validates that a specific playlist belongs to a specific user
     Optional<Playlist> findByIdAndUserId(Long id, UUID userId);
 }
\ No newline at end of file
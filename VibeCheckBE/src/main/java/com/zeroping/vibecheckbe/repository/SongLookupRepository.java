@@ -0,0 +1,18 @@
+package com.zeroping.vibecheckbe.repository;
+
+import com.zeroping.vibecheckbe.entity.SongLookup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+// Repository interface for the persistent (title, artist) -> song lookup table
+@Repository
+public interface SongLookupRepository extends JpaRepository<SongLookup, String> {
+    // Loads the lookups and their songs in a single query
+    @Query("SELECT l FROM SongLookup l JOIN FETCH l.song WHERE l.lookupKey IN :keys")
+    List<SongLookup> findAllWithSongByLookupKeyIn(@Param("keys") Collection<String> keys);
+}
@@ -4,11 +4,12 @@ import com.zeroping.vibecheckbe.entity.Song;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 // Repository interface for managing Song entities
 @Repository
-public interface SongRepository extends JpaRepository<Song, Long> {
-    // Returns the first song found with the given URL (handles duplicates)
-    Optional<Song> findFirstByUrl(String url);
+public interface SongRepository extends JpaRepository<Song, Long>, SongRepositoryCustom {
+    // Returns the stored songs with one of the given Spotify track IDs (at most one per ID)
+    List<Song> findAllBySpotifyTrackIdIn(Collection<String> spotifyTrackIds);
 }
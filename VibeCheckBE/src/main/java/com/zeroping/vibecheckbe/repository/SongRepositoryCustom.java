@@ -0,0 +1,13 @@
+package com.zeroping.vibecheckbe.repository;
+
+import com.zeroping.vibecheckbe.entity.Song;
+
+import java.util.Collection;
+import java.util.List;
+
+// Custom Song operations that need plain SQL
+public interface SongRepositoryCustom {
+    // Inserts the songs whose Spotify track ID is not stored yet in a single multi-row statement
+    // and returns the rows that were actually inserted, with their generated ids
+    List<Song> insertMissingSongs(Collection<Song> songs);
+}
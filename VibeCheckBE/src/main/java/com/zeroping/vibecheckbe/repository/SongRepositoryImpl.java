@@ -0,0 +1,54 @@
+package com.zeroping.vibecheckbe.repository;
+
+import com.zeroping.vibecheckbe.entity.Song;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Plain SQL implementation of SongRepositoryCustom (picked up by Spring Data through the Impl suffix).
+// The SQL runs as a native query of the current JPA session, so the returned songs are managed entities.
+class SongRepositoryImpl implements SongRepositoryCustom {
+    // Keeps every statement well below the PostgreSQL limit of 65535 bind parameters
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final EntityManager entityManager;
+
+    SongRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Song> insertMissingSongs(Collection<Song> songs) {
+        List<Song> rows = List.copyOf(songs);
+        List<Song> inserted = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Song> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            inserted.addAll(insertChunk(chunk));
+        }
+        return inserted;
+    }
+
+    private List<Song> insertChunk(List<Song> chunk) {
+        // Rows whose track ID is already stored (or inserted concurrently) are skipped by the unique index
+        String sql = "INSERT INTO public.\"Songs\" (name, url, artist_name, spotify_track_id) VALUES "
+                + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?)"))
+                + " ON CONFLICT (spotify_track_id) DO NOTHING"
+                + " RETURNING id, name, url, artist_name, spotify_track_id";
+
+        Query query = entityManager.createNativeQuery(sql, Song.class);
+        for (int i = 0; i < chunk.size(); i++) {
+            Song song = chunk.get(i);
+            query.setParameter(i * 4 + 1, song.getName());
+            query.setParameter(i * 4 + 2, song.getUrl());
+            query.setParameter(i * 4 + 3, song.getArtistName());
+            query.setParameter(i * 4 + 4, song.getSpotifyTrackId());
+        }
+        @SuppressWarnings("unchecked")
+        List<Song> inserted = query.getResultList();
+        return inserted;
+    }
+}
@@ -1,6 +1,7 @@
 package com.zeroping.vibecheckbe.repository;
 
 import com.zeroping.vibecheckbe.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,5 +11,11 @@ import java.util.UUID;
 // Repository interface for managing User entities
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+    // Find a user by email, with their genres loaded in the same query
+    @EntityGraph(attributePaths = "genres")
     Optional<User> findByEmail(String email);
+
+    // Find a user by id, with their genres loaded in the same query
+    @EntityGraph(attributePaths = "genres")
+    Optional<User> findWithGenresById(UUID id);
 }
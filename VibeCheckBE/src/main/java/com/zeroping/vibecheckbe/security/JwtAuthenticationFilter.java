@@ -48,8 +48,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         boolean isPublicMoodEndpoint = path.startsWith("/moods") && !path.startsWith("/moods/entries");
         boolean isPublicGenreEndpoint = path.startsWith("/genres");
         boolean isPublicUserEndpoint = path.startsWith("/users/by-email");
+        // Admin endpoints are checked against the admin token by AdminController instead
+        boolean isAdminEndpoint = path.startsWith("/admin/");
         
-        if (isPublicUserEndpoint || isPublicMoodEndpoint || isPublicGenreEndpoint) {
+        if (isPublicUserEndpoint || isPublicMoodEndpoint || isPublicGenreEndpoint || isAdminEndpoint) {
             filterChain.doFilter(request, response);
             return;
         }
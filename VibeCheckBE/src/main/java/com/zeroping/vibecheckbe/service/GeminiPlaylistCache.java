@@ -0,0 +1,121 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.TrackAgentResponse;
+import com.zeroping.vibecheckbe.util.LruTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cache of generated Gemini playlists keyed by normalized mood and genre set.
+// Keeps up to N variants per key so repeated requests do not all get the same playlist.
+@Service
+public class GeminiPlaylistCache {
+    private final boolean enabled;
+    private final int variantsPerKey;
+    private final LruTtlCache<Key, List<PlaylistAgentResponse>> cache;
+    // Counted here rather than by the LRU cache: an entry whose pool is still filling up is a miss
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public GeminiPlaylistCache(@Value("${gemini.cache.enabled:true}") boolean enabled,
+                               @Value("${gemini.cache.max-entries:500}") int maxEntries,
+                               @Value("${gemini.cache.ttl:6h}") Duration ttl,
+                               @Value("${gemini.cache.variants:3}") int variantsPerKey) {
+        if (variantsPerKey < 1) {
+            throw new IllegalArgumentException("gemini.cache.variants must be at least 1");
+        }
+        this.enabled = enabled;
+        this.variantsPerKey = variantsPerKey;
+        this.cache = new LruTtlCache<>(maxEntries, ttl);
+    }
+
+    // Build the cache key: trimmed lower-case mood plus the sorted, de-duplicated genre names
+    public static Key keyOf(String mood, List<String> genres) {
+        String normalizedMood = mood == null ? "" : mood.trim().toLowerCase(Locale.ROOT);
+        List<String> normalizedGenres = genres == null ? List.of() : genres.stream()
+                .filter(Objects::nonNull)
+                .map(genre -> genre.trim().toLowerCase(Locale.ROOT))
+                .filter(genre -> !genre.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        return new Key(normalizedMood, normalizedGenres);
+    }
+
+    // Return one of the cached variants, but only once all N variants have been collected;
+    // until then callers go to Gemini so that the variant pool fills up
+    public Optional<PlaylistAgentResponse> get(Key key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<List<PlaylistAgentResponse>> variants = cache.peek(key);
+        if (variants.isEmpty() || variants.get().size() < variantsPerKey) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        List<PlaylistAgentResponse> pool = variants.get();
+        return Optional.of(copyOf(pool.get(ThreadLocalRandom.current().nextInt(pool.size()))));
+    }
+
+    // Return any cached variant regardless of how full the pool is (used as a fallback)
+    public Optional<PlaylistAgentResponse> getAnyVariant(Key key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return cache.peek(key)
+                .filter(pool -> !pool.isEmpty())
+                .map(pool -> copyOf(pool.get(ThreadLocalRandom.current().nextInt(pool.size()))));
+    }
+
+    // Add a freshly generated playlist to the variant pool of the key
+    public void put(Key key, PlaylistAgentResponse playlist) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (cache) {
+            List<PlaylistAgentResponse> pool = new ArrayList<>(cache.peek(key).orElse(List.of()));
+            if (pool.size() >= variantsPerKey) {
+                pool.removeFirst(); // replace the oldest variant
+            }
+            pool.add(copyOf(playlist));
+            cache.put(key, List.copyOf(pool));
+        }
+    }
+
+    // Hits and misses of get(), with the evictions and size of the underlying LRU cache
+    public LruTtlCache.Stats stats() {
+        LruTtlCache.Stats lruStats = cache.stats();
+        return new LruTtlCache.Stats(hits.get(), misses.get(), lruStats.evictions(), lruStats.size());
+    }
+
+    // Deep copy, since the DTOs are mutable and are handed out to several requests
+    private static PlaylistAgentResponse copyOf(PlaylistAgentResponse playlist) {
+        PlaylistAgentResponse copy = new PlaylistAgentResponse();
+        copy.setPlaylist_name(playlist.getPlaylist_name());
+        List<TrackAgentResponse> tracks = new ArrayList<>();
+        if (playlist.getTracks() != null) {
+            for (TrackAgentResponse track : playlist.getTracks()) {
+                TrackAgentResponse trackCopy = new TrackAgentResponse();
+                trackCopy.setTitle(track.getTitle());
+                trackCopy.setArtist(track.getArtist());
+                tracks.add(trackCopy);
+            }
+        }
+        copy.setTracks(tracks);
+        return copy;
+    }
+
+    // Normalized cache key
+    public record Key(String mood, List<String> genres) {
+    }
+}
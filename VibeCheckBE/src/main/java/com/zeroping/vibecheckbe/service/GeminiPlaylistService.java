@@ -1,10 +1,14 @@
 package com.zeroping.vibecheckbe.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.zeroping.vibecheckbe.dto.GeminiGenerateResponse;
 import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
 import com.zeroping.vibecheckbe.dto.TrackAgentResponse;
+import com.zeroping.vibecheckbe.util.IncrementalPlaylistParser;
+import com.zeroping.vibecheckbe.util.SingleFlight;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import okhttp3.MediaType;
@@ -12,18 +16,30 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 
 import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 // Service to interact with Gemini API for playlist generation
 @Service
 public class GeminiPlaylistService {
+    private static final Logger log = LoggerFactory.getLogger(GeminiPlaylistService.class);
 
     @Value("${gemini.api.key}")
     private String apiKey;
@@ -34,6 +50,10 @@ public class GeminiPlaylistService {
     private static final String GEMINI_URL_TEMPLATE =
             "https://generativelanguage.googleapis.com/v1beta/models/gemini-flash-latest:generateContent?key=%s";
 
+    // Streaming variant; alt=sse makes Gemini send one "data:" line per partial response
+    private static final String GEMINI_STREAM_URL_TEMPLATE =
+            "https://generativelanguage.googleapis.com/v1beta/models/gemini-flash-latest:streamGenerateContent?alt=sse&key=%s";
+
     // Configure OkHttpClient to prefer IPv4 and handle DNS resolution better
     private final OkHttpClient client = new OkHttpClient.Builder()
             .dns(hostname -> {
@@ -56,89 +76,295 @@ public class GeminiPlaylistService {
     
     private final ObjectMapper mapper = new ObjectMapper();
 
+    // Gemini response schema for PlaylistAgentResponse (OpenAPI subset); propertyOrdering keeps
+    // playlist_name ahead of the tracks, which the incremental parser relies on when streaming
+    private static final String PLAYLIST_RESPONSE_SCHEMA = """
+            {
+              "type": "OBJECT",
+              "properties": {
+                "playlist_name": { "type": "STRING" },
+                "tracks": {
+                  "type": "ARRAY",
+                  "items": {
+                    "type": "OBJECT",
+                    "properties": {
+                      "title": { "type": "STRING" },
+                      "artist": { "type": "STRING" }
+                    },
+                    "required": ["title", "artist"],
+                    "propertyOrdering": ["title", "artist"]
+                  }
+                }
+              },
+              "required": ["playlist_name", "tracks"],
+              "propertyOrdering": ["playlist_name", "tracks"]
+            }
+            """;
+
+    private final GeminiPlaylistCache playlistCache;
+    private final GeminiUsageStats usageStats;
+    private final PlaylistFallbackService fallbackService;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    // Use Gemini's JSON response mode with a response schema instead of a JSON template in the prompt
+    private final boolean structuredOutput;
+
+    // Identical requests that arrive while a Gemini call is running share that call
+    private final SingleFlight<GeminiPlaylistCache.Key, PlaylistAgentResponse> inFlightRequests = new SingleFlight<>();
+
+    public GeminiPlaylistService(GeminiPlaylistCache playlistCache,
+                                 GeminiUsageStats usageStats,
+                                 PlaylistFallbackService fallbackService,
+                                 CircuitBreaker geminiCircuitBreaker,
+                                 Bulkhead geminiBulkhead,
+                                 @Value("${gemini.structured-output.enabled:false}") boolean structuredOutput) {
+        this.playlistCache = playlistCache;
+        this.usageStats = usageStats;
+        this.fallbackService = fallbackService;
+        this.circuitBreaker = geminiCircuitBreaker;
+        this.bulkhead = geminiBulkhead;
+        this.structuredOutput = structuredOutput;
+    }
+
+    // In-flight request coalescing, exposed for metrics
+    public SingleFlight<GeminiPlaylistCache.Key, PlaylistAgentResponse> inFlightRequests() {
+        return inFlightRequests;
+    }
+
     @PostConstruct
     public void validateKey() {
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException("Missing gemini.api.key in properties or environment!");
         }
-        System.out.println("Playlist bypass status: useDefaultPlaylist = " + useDefaultPlaylist);
+        log.info("Playlist bypass status: useDefaultPlaylist = {}", useDefaultPlaylist);
     }
 
-    public PlaylistAgentResponse generatePlaylist(String mood, List<String> genres) throws Exception {
+    public PlaylistAgentResponse generatePlaylist(UUID userId, String mood, List<String> genres) throws Exception {
         // Return default playlist if flag is enabled
-        System.out.println("generatePlaylist called - useDefaultPlaylist = " + useDefaultPlaylist);
         if (useDefaultPlaylist) {
-            System.out.println("BYPASSING Gemini API - Using default playlist for testing");
-            return getDefaultPlaylist();
+            log.debug("Bypassing Gemini API - using default playlist for testing");
+            return fallbackService.defaultPlaylist();
         }
-        System.out.println("Using Gemini API - NOT bypassing");
 
-        String geminiUrl = String.format(GEMINI_URL_TEMPLATE, apiKey);
+        // Serve repeated mood + genre combinations from the cache
+        GeminiPlaylistCache.Key cacheKey = GeminiPlaylistCache.keyOf(mood, genres);
+        Optional<PlaylistAgentResponse> cached = playlistCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-        String prompt = """
-            You are a music recommendation assistant.
-            Generate a JSON playlist based on the user preferences.
-            Return the JSON as a plain string.
+        // The result may be shared by several callers, so it must be treated as read-only
+        try {
+            return inFlightRequests.execute(cacheKey, () -> guarded(() -> {
+                PlaylistAgentResponse playlist = requestPlaylist(mood, genres);
+                playlistCache.put(cacheKey, playlist);
+                return playlist;
+            }));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Gemini call rejected ({}), serving a fallback playlist", e.getMessage());
+            return fallbackService.fallbackFor(cacheKey, userId);
+        }
+    }
 
-            Input:
-            { mood: "%s", genres: %s }
+    // Run a Gemini call inside the bulkhead and the circuit breaker. Rejected calls fail fast with
+    // BulkheadFullException or CallNotPermittedException instead of waiting on a slow Gemini.
+    private PlaylistAgentResponse guarded(Callable<PlaylistAgentResponse> call) throws Exception {
+        return bulkhead.executeCallable(() -> circuitBreaker.executeCallable(call));
+    }
 
-            Return ONLY valid JSON in this structure:
-            {
-              "playlist_name": "string",
-              "tracks": [
-                { "title": "string", "artist": "string" }
-              ]
+    // Call the Gemini generateContent endpoint and parse the playlist out of the answer
+    private PlaylistAgentResponse requestPlaylist(String mood, List<String> genres) throws Exception {
+        GeminiUsageStats.Mode mode = outputMode();
+        Request request = buildRequest(GEMINI_URL_TEMPLATE, mood, genres);
+        long startedAt = System.nanoTime();
+
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (body == null) {
+                throw new IllegalStateException("Empty response body from Gemini API");
             }
-            """.formatted(mood, mapper.writeValueAsString(genres));
 
-        String jsonBody = """
-            {
-              "contents": [{
-                "parts": [{
-                  "text": %s
-                }]
-              }]
+            // Decode the envelope straight from the stream into typed records, no JsonNode tree in between
+            GeminiGenerateResponse envelope = mapper.readValue(body.byteStream(), GeminiGenerateResponse.class);
+            checkForErrors(envelope);
+
+            if (!envelope.hasCandidates()) {
+                throw new RuntimeException("Gemini did not return a candidate. Check logs for safety blocks or errors.");
             }
-            """.formatted(mapper.writeValueAsString(prompt));
 
-        Request request = new Request.Builder()
-                .url(geminiUrl)
-                .post(RequestBody.create(jsonBody, MediaType.parse("application/json")))
-                .build();
+            PlaylistAgentResponse playlist = validatePlaylist(envelope.firstCandidateText());
+            usageStats.recordSuccess(mode, Duration.ofNanos(System.nanoTime() - startedAt), envelope.usageMetadata());
+            return playlist;
+        } catch (Exception e) {
+            usageStats.recordFailure(mode);
+            throw e;
+        }
+    }
+
+    // Generate a playlist through the streaming endpoint, handing over each track as soon as it is complete
+    public PlaylistAgentResponse streamPlaylist(UUID userId, String mood, List<String> genres,
+                                                Consumer<TrackAgentResponse> onTrack) throws Exception {
+        if (useDefaultPlaylist) {
+            PlaylistAgentResponse defaultPlaylist = fallbackService.defaultPlaylist();
+            defaultPlaylist.getTracks().forEach(onTrack);
+            return defaultPlaylist;
+        }
+
+        GeminiPlaylistCache.Key cacheKey = GeminiPlaylistCache.keyOf(mood, genres);
+        Optional<PlaylistAgentResponse> cached = playlistCache.get(cacheKey);
+        if (cached.isPresent()) {
+            cached.get().getTracks().forEach(onTrack);
+            return cached.get();
+        }
+
+        AtomicBoolean streamedHere = new AtomicBoolean();
+        PlaylistAgentResponse playlist;
+        try {
+            playlist = inFlightRequests.execute(cacheKey, () -> guarded(() -> {
+                streamedHere.set(true);
+                PlaylistAgentResponse streamed = requestPlaylistStream(mood, genres, onTrack);
+                playlistCache.put(cacheKey, streamed);
+                return streamed;
+            }));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            // Rejected before the stream started, so no track has been handed over yet
+            log.warn("Gemini call rejected ({}), serving a fallback playlist", e.getMessage());
+            PlaylistAgentResponse fallback = fallbackService.fallbackFor(cacheKey, userId);
+            fallback.getTracks().forEach(onTrack);
+            return fallback;
+        }
+
+        // Callers that joined another in-flight call only see the tracks once it has finished
+        if (!streamedHere.get()) {
+            playlist.getTracks().forEach(onTrack);
+        }
+        return playlist;
+    }
+
+    // Call the streamGenerateContent endpoint and parse the tracks while they arrive
+    private PlaylistAgentResponse requestPlaylistStream(String mood, List<String> genres,
+                                                       Consumer<TrackAgentResponse> onTrack) throws Exception {
+        GeminiUsageStats.Mode mode = outputMode();
+        Request request = buildRequest(GEMINI_STREAM_URL_TEMPLATE, mood, genres);
+        IncrementalPlaylistParser parser = new IncrementalPlaylistParser(onTrack);
+        GeminiGenerateResponse.UsageMetadata usage = null;
+        long startedAt = System.nanoTime();
 
         try (Response response = client.newCall(request).execute()) {
-            if (response.body() == null) {
+            ResponseBody body = response.body();
+            if (body == null) {
                 throw new IllegalStateException("Empty response body from Gemini API");
             }
-            String responseBody = response.body().string();
-
-            JsonNode rootNode = mapper.readTree(responseBody);
 
-            if (rootNode.has("error")) {
-                String msg = rootNode.get("error").get("message").asText();
-                throw new RuntimeException("Gemini API Error: " + msg);
+            if (!response.isSuccessful()) {
+                // Errors are returned as a regular JSON document instead of an event stream
+                GeminiGenerateResponse.Error error = mapper.readValue(body.string(), GeminiGenerateResponse.class).error();
+                throw new RuntimeException("Gemini API Error: " + (error != null ? error.message() : response.message()));
             }
 
-            if (rootNode.has("promptFeedback") && rootNode.get("promptFeedback").has("blockReason")) {
-                throw new RuntimeException("Blocked by Safety Filter");
+            BufferedSource source = body.source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (!line.startsWith("data:")) {
+                    continue; // blank separators between events
+                }
+
+                GeminiGenerateResponse chunk = mapper.readValue(line.substring("data:".length()), GeminiGenerateResponse.class);
+                checkForErrors(chunk);
+                parser.feed(chunk.firstCandidateText());
+
+                // Every chunk carries the running totals; the last one is the final count
+                if (chunk.usageMetadata() != null) {
+                    usage = chunk.usageMetadata();
+                }
             }
 
-            if (rootNode.has("candidates")) {
+            PlaylistAgentResponse playlist = parser.finish();
+            usageStats.recordSuccess(mode, Duration.ofNanos(System.nanoTime() - startedAt), usage);
+            return playlist;
+        } catch (Exception e) {
+            usageStats.recordFailure(mode);
+            throw e;
+        }
+    }
 
-                String aiText = mapper.readTree(responseBody)
-                        .get("candidates").get(0)
-                        .get("content").get("parts").get(0)
-                        .get("text").asText();
+    private static void checkForErrors(GeminiGenerateResponse response) {
+        if (response.error() != null) {
+            throw new RuntimeException("Gemini API Error: " + response.error().message());
+        }
+        if (response.isBlocked()) {
+            throw new RuntimeException("Blocked by Safety Filter");
+        }
+    }
 
-                return validatePlaylist(aiText);
-            } else {
-                throw new RuntimeException("Gemini did not return a candidate. Check logs for safety blocks or errors.");
-            }
+    private GeminiUsageStats.Mode outputMode() {
+        return structuredOutput ? GeminiUsageStats.Mode.STRUCTURED_OUTPUT : GeminiUsageStats.Mode.PROMPT_TEMPLATE;
+    }
+
+    // Build the Gemini request for the given endpoint template
+    private Request buildRequest(String urlTemplate, String mood, List<String> genres) throws IOException {
+        String geminiUrl = String.format(urlTemplate, apiKey);
+
+        String jsonBody;
+        if (structuredOutput) {
+            // The response schema replaces the JSON template, so the prompt only carries the preferences
+            String prompt = """
+                You are a music recommendation assistant.
+                Create a playlist for the user preferences.
+                Input: { mood: "%s", genres: %s }
+                """.formatted(mood, mapper.writeValueAsString(genres));
+
+            jsonBody = """
+                {
+                  "contents": [{
+                    "parts": [{
+                      "text": %s
+                    }]
+                  }],
+                  "generationConfig": {
+                    "responseMimeType": "application/json",
+                    "responseSchema": %s
+                  }
+                }
+                """.formatted(mapper.writeValueAsString(prompt), PLAYLIST_RESPONSE_SCHEMA);
+        } else {
+            String prompt = """
+                You are a music recommendation assistant.
+                Generate a JSON playlist based on the user preferences.
+                Return the JSON as a plain string.
+
+                Input:
+                { mood: "%s", genres: %s }
+
+                Return ONLY valid JSON in this structure:
+                {
+                  "playlist_name": "string",
+                  "tracks": [
+                    { "title": "string", "artist": "string" }
+                  ]
+                }
+                """.formatted(mood, mapper.writeValueAsString(genres));
+
+            jsonBody = """
+                {
+                  "contents": [{
+                    "parts": [{
+                      "text": %s
+                    }]
+                  }]
+                }
+                """.formatted(mapper.writeValueAsString(prompt));
         }
+
+        return new Request.Builder()
+                .url(geminiUrl)
+                .post(RequestBody.create(jsonBody, MediaType.parse("application/json")))
+                .build();
     }
 
-    private PlaylistAgentResponse validatePlaylist(String json) throws IOException {
+    // Decode the model text into the DTO; in structured-output mode the schema already guarantees the shape
+    PlaylistAgentResponse validatePlaylist(String json) throws IOException {
         PlaylistAgentResponse playlist = mapper.readValue(json, PlaylistAgentResponse.class);
 
         if (playlist.getPlaylist_name() == null || playlist.getTracks() == null) {
@@ -153,29 +379,4 @@ public class GeminiPlaylistService {
 
         return playlist;
     }
-
-    // Default playlist for testing purposes
-    private PlaylistAgentResponse getDefaultPlaylist() {
-        PlaylistAgentResponse defaultPlaylist = new PlaylistAgentResponse();
-        defaultPlaylist.setPlaylist_name("555");
-        
-        // Default playlist tracks from the "555" playlist
-        List<TrackAgentResponse> defaultTracks = new ArrayList<>(Arrays.asList(
-            createTrack("Higher Love", "Kygo, Whitney Houston"),
-            createTrack("Happy - From \"Despicable Me 2\"", "Pharrell Williams"),
-            createTrack("One Kiss (with Dua Lipa)", "Calvin Harris, Dua Lipa"),
-            createTrack("Uptown Funk (feat. Bruno Mars)", "Mark Ronson, Bruno Mars"),
-            createTrack("Good as Hell", "Lizzo")
-        ));
-        
-        defaultPlaylist.setTracks(defaultTracks);
-        return defaultPlaylist;
-    }
-
-    private TrackAgentResponse createTrack(String title, String artist) {
-        TrackAgentResponse track = new TrackAgentResponse();
-        track.setTitle(title);
-        track.setArtist(artist);
-        return track;
-    }
 }
@@ -0,0 +1,68 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.GeminiGenerateResponse;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token and latency counters for Gemini calls, kept per output mode so the
+// prompt-template mode and the structured-output mode can be compared
+@Service
+public class GeminiUsageStats {
+
+    public enum Mode {
+        PROMPT_TEMPLATE,
+        STRUCTURED_OUTPUT
+    }
+
+    private final Map<Mode, Counters> counters = new EnumMap<>(Mode.class);
+
+    public GeminiUsageStats() {
+        for (Mode mode : Mode.values()) {
+            counters.put(mode, new Counters());
+        }
+    }
+
+    // Record a successful call; usage may be null when Gemini did not report it
+    public void recordSuccess(Mode mode, Duration latency, GeminiGenerateResponse.UsageMetadata usage) {
+        Counters c = counters.get(mode);
+        c.calls.incrementAndGet();
+        c.latencyNanos.addAndGet(latency.toNanos());
+        if (usage != null) {
+            c.promptTokens.addAndGet(usage.promptTokenCount());
+            c.outputTokens.addAndGet(usage.candidatesTokenCount());
+        }
+    }
+
+    public void recordFailure(Mode mode) {
+        counters.get(mode).failures.incrementAndGet();
+    }
+
+    public Snapshot snapshot(Mode mode) {
+        Counters c = counters.get(mode);
+        return new Snapshot(c.calls.get(), c.failures.get(), c.promptTokens.get(), c.outputTokens.get(),
+                Duration.ofNanos(c.latencyNanos.get()));
+    }
+
+    // Point-in-time view of the counters of one mode
+    public record Snapshot(long calls, long failures, long promptTokens, long outputTokens, Duration totalLatency) {
+        public Duration averageLatency() {
+            return calls == 0 ? Duration.ZERO : totalLatency.dividedBy(calls);
+        }
+
+        public double averagePromptTokens() {
+            return calls == 0 ? 0.0 : (double) promptTokens / calls;
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong promptTokens = new AtomicLong();
+        private final AtomicLong outputTokens = new AtomicLong();
+        private final AtomicLong latencyNanos = new AtomicLong();
+    }
+}
@@ -1,46 +1,40 @@
 package com.zeroping.vibecheckbe.service;
 
-import com.zeroping.vibecheckbe.entity.Genre;
 import com.zeroping.vibecheckbe.exception.genre.GenreNotFoundException;
-import com.zeroping.vibecheckbe.repository.GenreRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
-// Service class for managing genres
+// Service class for managing genres (served from the in-memory reference data)
 @Service
 public class GenreService {
-    private final GenreRepository genreRepository;
+    private final ReferenceDataRegistry referenceData;
 
-    public GenreService(GenreRepository genreRepository) {
-        this.genreRepository = genreRepository;
+    public GenreService(ReferenceDataRegistry referenceData) {
+        this.referenceData = referenceData;
     }
 
     // Retrieve all genres
-    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllGenres() {
-        List<Genre> genres = genreRepository.findAll();
-        return genres.stream()
+        return referenceData.genres().stream()
                 .map(g -> {
                     Map<String, Object> genreMap = new HashMap<>();
-                    genreMap.put("id", g.getId());
-                    genreMap.put("name", g.getName());
+                    genreMap.put("id", g.id());
+                    genreMap.put("name", g.name());
                     return genreMap;
                 })
                 .collect(Collectors.toList());
     }
 
     // Retrieve a genre by its ID
-    @Transactional(readOnly = true)
     public Map<String, Object> getGenreById(Long id) {
-        Genre genre = genreRepository.findById(id)
+        ReferenceDataRegistry.GenreData genre = referenceData.genre(id)
                 .orElseThrow(() -> new GenreNotFoundException(id));
 
         return Map.of(
-                "id", genre.getId(),
-                "name", genre.getName()
+                "id", genre.id(),
+                "name", genre.name()
         );
     }
 }
@@ -1,5 +1,6 @@
 package com.zeroping.vibecheckbe.service;
 
+import com.zeroping.vibecheckbe.config.PaginationProperties;
 import com.zeroping.vibecheckbe.dto.BatchMoodEntryDTO;
 import com.zeroping.vibecheckbe.dto.CreateBatchMoodEntriesDTO;
 import com.zeroping.vibecheckbe.dto.CreateMoodEntryDTO;
@@ -14,9 +15,12 @@ import com.zeroping.vibecheckbe.exception.mood.MoodNotFoundException;
 import com.zeroping.vibecheckbe.repository.MoodRepository;
 import com.zeroping.vibecheckbe.repository.MoodEntryRepository;
 import com.zeroping.vibecheckbe.repository.UserRepository;
+import com.zeroping.vibecheckbe.util.KeysetCursor;
+import com.zeroping.vibecheckbe.util.KeysetPage;
 import com.zeroping.vibecheckbe.util.MoodEmojiMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,24 +37,27 @@ public class MoodService {
     private final MoodEntryRepository moodEntryRepository;
     private final UserRepository userRepository;
     private final PlaylistService playlistService;
+    private final PaginationProperties pagination;
+    private final ReferenceDataRegistry referenceData;
 
     public MoodService(MoodRepository moodRepository, 
                        MoodEntryRepository moodEntryRepository,
                        UserRepository userRepository,
-                       PlaylistService playlistService) {
+                       PlaylistService playlistService,
+                       PaginationProperties pagination,
+                       ReferenceDataRegistry referenceData) {
         this.moodRepository = moodRepository;
         this.moodEntryRepository = moodEntryRepository;
         this.userRepository = userRepository;
         this.playlistService = playlistService;
+        this.pagination = pagination;
+        this.referenceData = referenceData;
     }
 
-    // Retrieve all moods with their details
-    @Transactional(readOnly = true)
+    // Retrieve all moods with their details (served from the in-memory reference data)
     public List<Map<String, Object>> getAllMoods() {
-        log.debug("getAllMoods: Fetching moods from repository");
-        
-        List<Mood> moods = moodRepository.findAll();
-        log.debug("getAllMoods: Found {} moods in database", moods.size());
+        List<ReferenceDataRegistry.MoodData> moods = referenceData.moods();
+        log.debug("getAllMoods: Found {} moods in reference data", moods.size());
         
         if (moods.isEmpty()) {
             return new ArrayList<>();
@@ -59,11 +66,11 @@ public class MoodService {
         return moods.stream()
                 .map(m -> {
                     Map<String, Object> moodMap = new HashMap<>();
-                    moodMap.put("id", m.getId());
-                    moodMap.put("name", m.getName() != null ? m.getName() : "");
-                    moodMap.put("tempo", m.getTempo() != null ? m.getTempo() : "");
-                    moodMap.put("danceable", m.getDanceable() != null ? m.getDanceable() : "");
-                    String moodName = m.getName() != null ? m.getName() : "";
+                    moodMap.put("id", m.id());
+                    moodMap.put("name", m.name() != null ? m.name() : "");
+                    moodMap.put("tempo", m.tempo() != null ? m.tempo() : "");
+                    moodMap.put("danceable", m.danceable() != null ? m.danceable() : "");
+                    String moodName = m.name() != null ? m.name() : "";
                     moodMap.put("emoji", MoodEmojiMapper.getEmoji(moodName));
                     moodMap.put("colorCode", MoodEmojiMapper.getColorCode(moodName));
                     return moodMap;
@@ -90,73 +97,102 @@ public class MoodService {
         return toResponseDTO(saved);
     }
 
-    // Create multiple mood entries for a user in a batch
+    // Create multiple mood entries for a user in a batch.
+    // All moods are resolved with one query and checked before anything is written,
+    // then the entries are inserted as a single JDBC batch.
     @Transactional
     public List<MoodEntryResponseDTO> createMultipleMoodEntries(CreateBatchMoodEntriesDTO dto) {
         User user = userRepository.findById(dto.userId())
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + dto.userId()));
 
-        List<MoodEntryResponseDTO> savedEntries = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
+        Set<Long> moodIds = dto.moodEntries().stream()
+                .map(BatchMoodEntryDTO::moodId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Mood> moodsById = moodRepository.findAllById(moodIds)
+                .stream()
+                .collect(Collectors.toMap(Mood::getId, mood -> mood));
+        moodIds.stream()
+                .filter(id -> !moodsById.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new MoodNotFoundException(id);
+                });
 
+        LocalDateTime now = LocalDateTime.now();
+        List<MoodEntry> entries = new ArrayList<>(dto.moodEntries().size());
         for (BatchMoodEntryDTO moodData : dto.moodEntries()) {
-            Mood mood = moodRepository.findById(moodData.moodId())
-                    .orElseThrow(() -> new MoodNotFoundException(moodData.moodId()));
-
             MoodEntry entry = new MoodEntry();
             entry.setUser(user);
-            entry.setMood(mood);
+            entry.setMood(moodsById.get(moodData.moodId()));
             entry.setIntensity(moodData.intensity());
             // Use individual notes if provided, otherwise use general notes
             entry.setNotes(moodData.notes() != null ? moodData.notes() : dto.generalNotes());
             entry.setCreatedAt(now); // Same timestamp for all entries in batch
-
-            MoodEntry saved = moodEntryRepository.save(entry);
-            savedEntries.add(toResponseDTO(saved));
+            entries.add(entry);
         }
 
-        return savedEntries;
+        return moodEntryRepository.insertAll(entries)
+                .stream()
+                .map(this::toResponseDTO)
+                .toList();
     }
 
-    // Retrieve all mood entries for a specific user
+    // Retrieve one page of mood entries for a specific user, newest first
     @Transactional(readOnly = true)
-    public List<MoodEntryResponseDTO> getUserMoodEntries(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
-
-        List<MoodEntry> entries = moodEntryRepository.findByUserOrderByCreatedAtDesc(user);
-        return entries.stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<MoodEntryResponseDTO> getUserMoodEntries(UUID userId, String cursor, Integer limit) {
+        int pageSize = pagination.resolvePageSize(limit);
+        List<MoodEntry> entries = findEntryPage(userId, cursor, pageSize);
+        return KeysetPage.of(entries, pageSize, MoodService::cursorOf, this::toResponseDTO);
     }
 
-    // Retrieve mood history with associated playlists for a specific user
+    // Retrieve one page of mood history with associated playlists for a specific user, newest first.
+    // The entries and the playlists of all their moods are loaded with one query each, then joined here;
+    // entries with the same mood share one playlist list.
     @Transactional(readOnly = true)
-    public List<MoodHistoryDTO> getUserMoodHistory(UUID userId) {
+    public KeysetPage<MoodHistoryDTO> getUserMoodHistory(UUID userId, String cursor, Integer limit) {
+        int pageSize = pagination.resolvePageSize(limit);
+        List<MoodEntry> entries = findEntryPage(userId, cursor, pageSize);
+
+        Set<String> moodNames = entries.stream()
+                .limit(pageSize) // the look-ahead row is not part of the page
+                .map(entry -> entry.getMood().getName())
+                .collect(Collectors.toSet());
+        Map<String, List<PlaylistDTO>> playlistsByMood = playlistService.getPlaylistsByMoods(userId, moodNames);
+
+        return KeysetPage.of(entries, pageSize, MoodService::cursorOf, entry -> {
+            String moodName = entry.getMood().getName();
+            List<PlaylistDTO> playlists = playlistsByMood.get(moodName);
+            
+            MoodHistoryDTO dto = new MoodHistoryDTO();
+            dto.setId(entry.getId());
+            dto.setUserId(entry.getUser().getId());
+            dto.setMoodId(entry.getMood().getId());
+            dto.setMoodName(moodName);
+            dto.setMoodEmoji(MoodEmojiMapper.getEmoji(moodName));
+            dto.setIntensity(entry.getIntensity() != null ? entry.getIntensity() : 50);
+            dto.setNotes(entry.getNotes());
+            dto.setCreatedAt(entry.getCreatedAt());
+            dto.setPlaylists(playlists);
+            
+            return dto;
+        });
+    }
+
+    // Load pageSize + 1 entries of the user (the extra one only tells that there is a next page)
+    private List<MoodEntry> findEntryPage(UUID userId, String cursor, int pageSize) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
 
-        List<MoodEntry> entries = moodEntryRepository.findByUserOrderByCreatedAtDesc(user);
-        
-        return entries.stream()
-                .map(entry -> {
-                    String moodName = entry.getMood().getName();
-                    List<PlaylistDTO> playlists = playlistService.getPlaylistsByMood(userId, moodName);
-                    
-                    MoodHistoryDTO dto = new MoodHistoryDTO();
-                    dto.setId(entry.getId());
-                    dto.setUserId(entry.getUser().getId());
-                    dto.setMoodId(entry.getMood().getId());
-                    dto.setMoodName(moodName);
-                    dto.setMoodEmoji(MoodEmojiMapper.getEmoji(moodName));
-                    dto.setIntensity(entry.getIntensity() != null ? entry.getIntensity() : 50);
-                    dto.setNotes(entry.getNotes());
-                    dto.setCreatedAt(entry.getCreatedAt());
-                    dto.setPlaylists(playlists);
-                    
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        Limit rows = Limit.of(pageSize + 1);
+        if (cursor == null || cursor.isBlank()) {
+            return moodEntryRepository.findPageByUser(user, rows);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return moodEntryRepository.findPageByUserAfter(user, after.createdAtAsLocalDateTime(), after.id(), rows);
+    }
+
+    private static KeysetCursor cursorOf(MoodEntry entry) {
+        return KeysetCursor.of(entry.getCreatedAt(), entry.getId());
     }
 
     // Convert MoodEntry entity to MoodEntryResponseDTO
@@ -0,0 +1,103 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.TrackAgentResponse;
+import com.zeroping.vibecheckbe.entity.Playlist;
+import com.zeroping.vibecheckbe.repository.PlaylistRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Service that provides a playlist draft when Gemini cannot be called:
+// a cached Gemini playlist for the mood and genres, else the requesting user's latest stored playlist
+// for the mood, else the built-in default playlist
+@Service
+public class PlaylistFallbackService {
+    private static final Logger log = LoggerFactory.getLogger(PlaylistFallbackService.class);
+
+    private final GeminiPlaylistCache playlistCache;
+    private final PlaylistRepository playlistRepository;
+    private final PlaylistGenerationMetrics metrics;
+
+    public PlaylistFallbackService(GeminiPlaylistCache playlistCache,
+                                   PlaylistRepository playlistRepository,
+                                   PlaylistGenerationMetrics metrics) {
+        this.playlistCache = playlistCache;
+        this.playlistRepository = playlistRepository;
+        this.metrics = metrics;
+    }
+
+    // Stored playlists of other users are never used: their names and track lists are the users' own data
+    public PlaylistAgentResponse fallbackFor(GeminiPlaylistCache.Key key, UUID userId) {
+        Optional<PlaylistAgentResponse> cached = playlistCache.getAnyVariant(key);
+        if (cached.isPresent()) {
+            metrics.countGeminiFallback("cache");
+            return cached.get();
+        }
+
+        Optional<PlaylistAgentResponse> recent = recentPlaylistFor(userId, key.mood());
+        if (recent.isPresent()) {
+            metrics.countGeminiFallback("history");
+            return recent.get();
+        }
+
+        metrics.countGeminiFallback("default");
+        return defaultPlaylist();
+    }
+
+    // Default playlist, also used when the Gemini bypass is switched on for testing
+    public PlaylistAgentResponse defaultPlaylist() {
+        PlaylistAgentResponse defaultPlaylist = new PlaylistAgentResponse();
+        defaultPlaylist.setPlaylist_name("555");
+
+        // Default playlist tracks from the "555" playlist
+        List<TrackAgentResponse> defaultTracks = new ArrayList<>(Arrays.asList(
+            createTrack("Higher Love", "Kygo, Whitney Houston"),
+            createTrack("Happy - From \"Despicable Me 2\"", "Pharrell Williams"),
+            createTrack("One Kiss (with Dua Lipa)", "Calvin Harris, Dua Lipa"),
+            createTrack("Uptown Funk (feat. Bruno Mars)", "Mark Ronson, Bruno Mars"),
+            createTrack("Good as Hell", "Lizzo")
+        ));
+
+        defaultPlaylist.setTracks(defaultTracks);
+        return defaultPlaylist;
+    }
+
+    // Stored playlists only record the mood, so the genres cannot be matched here
+    private Optional<PlaylistAgentResponse> recentPlaylistFor(UUID userId, String mood) {
+        if (userId == null || mood == null || mood.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return playlistRepository.findLatestIdWithSongsByUserIdAndMood(userId, mood)
+                    .flatMap(playlistRepository::findWithSongsById)
+                    .map(PlaylistFallbackService::toAgentResponse);
+        } catch (DataAccessException e) {
+            log.warn("Could not load a stored playlist for mood '{}': {}", mood, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static PlaylistAgentResponse toAgentResponse(Playlist playlist) {
+        PlaylistAgentResponse response = new PlaylistAgentResponse();
+        response.setPlaylist_name(playlist.getName());
+        response.setTracks(playlist.getSongs().stream()
+                .map(song -> createTrack(song.getName(), song.getArtistName()))
+                .toList());
+        return response;
+    }
+
+    private static TrackAgentResponse createTrack(String title, String artist) {
+        TrackAgentResponse track = new TrackAgentResponse();
+        track.setTitle(title);
+        track.setArtist(artist);
+        return track;
+    }
+}
@@ -0,0 +1,102 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistDTO;
+import com.zeroping.vibecheckbe.dto.PlaylistGenerationJobDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// In-memory state of a single asynchronous playlist generation job
+class PlaylistGenerationJob {
+    enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID userId;
+    private final Instant createdAt = Instant.now();
+    private final List<SseEmitter> emitters = new ArrayList<>();
+
+    private Status status = Status.QUEUED;
+    private String stage = "queued";
+    private Integer resolvedTracks;
+    private Integer totalTracks;
+    private PlaylistDTO playlist;
+    private String error;
+    private Instant updatedAt = createdAt;
+
+    PlaylistGenerationJob(UUID userId) {
+        this.userId = userId;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    UUID getUserId() {
+        return userId;
+    }
+
+    List<SseEmitter> getEmitters() {
+        return emitters;
+    }
+
+    synchronized boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    synchronized Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    synchronized void markRunning() {
+        status = Status.RUNNING;
+        touch("running");
+    }
+
+    synchronized void markDraftReady(int trackCount) {
+        totalTracks = trackCount;
+        // When the LLM output is streamed, searches may already have finished by now
+        resolvedTracks = resolvedTracks != null ? resolvedTracks : 0;
+        touch("llm_done");
+    }
+
+    synchronized void markTrackResolved(int resolved, int total) {
+        // Progress callbacks can arrive out of order from the search threads
+        resolvedTracks = Math.max(resolvedTracks != null ? resolvedTracks : 0, resolved);
+        totalTracks = total;
+        touch("tracks_resolved");
+    }
+
+    synchronized void markSaved(PlaylistDTO savedPlaylist) {
+        playlist = savedPlaylist;
+        status = Status.SUCCEEDED;
+        touch("saved");
+    }
+
+    synchronized void markFailed(String message) {
+        error = message;
+        status = Status.FAILED;
+        touch("failed");
+    }
+
+    synchronized PlaylistGenerationJobDTO snapshot() {
+        return new PlaylistGenerationJobDTO(
+                id,
+                status.name(),
+                stage,
+                resolvedTracks,
+                totalTracks,
+                playlist,
+                error,
+                createdAt,
+                updatedAt
+        );
+    }
+
+    private void touch(String newStage) {
+        stage = newStage;
+        updatedAt = Instant.now();
+    }
+}
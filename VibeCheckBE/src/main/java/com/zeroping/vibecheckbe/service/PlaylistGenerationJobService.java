@@ -0,0 +1,199 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.PlaylistDTO;
+import com.zeroping.vibecheckbe.dto.PlaylistGenerationJobDTO;
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistJobNotFoundException;
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistJobRejectedException;
+import com.zeroping.vibecheckbe.util.ReadYourWrites;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Service that runs playlist generations in the background and streams their progress
+@Service
+public class PlaylistGenerationJobService {
+    private static final Logger log = LoggerFactory.getLogger(PlaylistGenerationJobService.class);
+
+    private final PlaylistGenerationService playlistGenerationService;
+    private final ThreadPoolExecutor workers;
+    private final Duration jobTtl;
+    private final Duration sseTimeout;
+    private final Map<UUID, PlaylistGenerationJob> jobs = new ConcurrentHashMap<>();
+
+    public PlaylistGenerationJobService(PlaylistGenerationService playlistGenerationService,
+                                        @Value("${playlist.jobs.worker-threads:4}") int workerThreads,
+                                        @Value("${playlist.jobs.queue-capacity:50}") int queueCapacity,
+                                        @Value("${playlist.jobs.ttl:15m}") Duration jobTtl,
+                                        @Value("${playlist.jobs.sse-timeout:2m}") Duration sseTimeout) {
+        this.playlistGenerationService = playlistGenerationService;
+        this.jobTtl = jobTtl;
+        this.sseTimeout = sseTimeout;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                workerThreads,
+                workerThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "playlist-job-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    // Queue a new generation job; throws if the worker pool and its queue are full
+    public PlaylistGenerationJobDTO submit(UUID userId, String mood, List<String> genres) {
+        PlaylistGenerationJob job = new PlaylistGenerationJob(userId);
+        jobs.put(job.getId(), job);
+
+        try {
+            // Worker threads have no security context: name the owner so their writes open a read-your-writes window
+            workers.execute(() -> ReadYourWrites.runAs(userId, () -> run(job, mood, genres)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new PlaylistJobRejectedException("Too many playlist generations in progress, please retry shortly");
+        }
+
+        return job.snapshot();
+    }
+
+    // Get the current status of a job owned by the given user
+    public PlaylistGenerationJobDTO getJob(UUID jobId, UUID userId) {
+        return findOwnedJob(jobId, userId).snapshot();
+    }
+
+    // Open an SSE stream that receives every stage change of the job
+    public SseEmitter subscribe(UUID jobId, UUID userId) {
+        PlaylistGenerationJob job = findOwnedJob(jobId, userId);
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+
+        synchronized (job) {
+            PlaylistGenerationJobDTO snapshot = job.snapshot();
+            if (!send(emitter, snapshot)) {
+                return emitter;
+            }
+            if (job.isFinished()) {
+                emitter.complete();
+                return emitter;
+            }
+            job.getEmitters().add(emitter);
+        }
+
+        Runnable unsubscribe = () -> {
+            synchronized (job) {
+                job.getEmitters().remove(emitter);
+            }
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    // Drop finished jobs once their TTL has passed
+    @Scheduled(fixedDelayString = "${playlist.jobs.cleanup-interval:60000}")
+    public void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(jobTtl);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isFinished() && job.getUpdatedAt().isBefore(cutoff));
+        int evicted = before - jobs.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired playlist generation jobs", evicted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(PlaylistGenerationJob job, String mood, List<String> genres) {
+        update(job, job::markRunning);
+
+        try {
+            playlistGenerationService.generate(job.getUserId(), mood, genres, new PlaylistGenerationListener() {
+                @Override
+                public void onDraftReady(PlaylistAgentResponse draft) {
+                    int trackCount = draft.getTracks() != null ? draft.getTracks().size() : 0;
+                    update(job, () -> job.markDraftReady(trackCount));
+                }
+
+                @Override
+                public void onTrackResolved(int resolvedCount, int totalCount) {
+                    update(job, () -> job.markTrackResolved(resolvedCount, totalCount));
+                }
+
+                @Override
+                public void onSaved(PlaylistDTO playlist) {
+                    update(job, () -> job.markSaved(playlist));
+                }
+            });
+        } catch (Exception e) {
+            log.error("Playlist generation job {} failed", job.getId(), e);
+            update(job, () -> job.markFailed(e.getMessage()));
+        }
+    }
+
+    // Apply a state change and push the new snapshot to every subscriber
+    private void update(PlaylistGenerationJob job, Runnable change) {
+        synchronized (job) {
+            change.run();
+            PlaylistGenerationJobDTO snapshot = job.snapshot();
+            boolean finished = job.isFinished();
+
+            Iterator<SseEmitter> iterator = job.getEmitters().iterator();
+            while (iterator.hasNext()) {
+                SseEmitter emitter = iterator.next();
+                if (!send(emitter, snapshot)) {
+                    iterator.remove();
+                } else if (finished) {
+                    emitter.complete();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, PlaylistGenerationJobDTO snapshot) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(snapshot.getStage())
+                    .data(snapshot));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private PlaylistGenerationJob findOwnedJob(UUID jobId, UUID userId) {
+        PlaylistGenerationJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new PlaylistJobNotFoundException(jobId);
+        }
+        return job;
+    }
+}
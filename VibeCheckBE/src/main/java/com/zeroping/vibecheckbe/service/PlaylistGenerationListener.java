@@ -0,0 +1,18 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.PlaylistDTO;
+
+// Callback for following the stages of a playlist generation
+public interface PlaylistGenerationListener {
+    PlaylistGenerationListener NONE = new PlaylistGenerationListener() { };
+
+    // Called once the LLM has returned the playlist draft
+    default void onDraftReady(PlaylistAgentResponse draft) { }
+
+    // Called every time a track search finishes (may be called from several threads)
+    default void onTrackResolved(int resolvedCount, int totalCount) { }
+
+    // Called once the playlist has been stored
+    default void onSaved(PlaylistDTO playlist) { }
+}
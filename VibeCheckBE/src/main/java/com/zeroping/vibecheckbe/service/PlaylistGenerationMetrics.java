@@ -0,0 +1,104 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.TrackResolution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+// Micrometer timers and counters for the playlist generation pipeline.
+// All timers publish histogram buckets so percentiles can be computed in Prometheus.
+@Service
+public class PlaylistGenerationMetrics {
+
+    // Stages of a generate request, in pipeline order
+    public enum Stage {
+        GEMINI,          // LLM call (in streaming mode Spotify searches already run during this stage)
+        SPOTIFY_SEARCH,  // waiting for the Spotify searches that are still running
+        SONG_UPSERT,     // storing the found songs
+        METADATA_SAVE;   // storing the playlist and its song links
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry registry;
+
+    public PlaylistGenerationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Time one pipeline stage, tagging the outcome
+    public <T> T timeStage(Stage stage, Callable<T> work) throws Exception {
+        return time("vibecheck.playlist.stage", "Duration of one stage of playlist generation", work,
+                "stage", stage.tag);
+    }
+
+    // Time a whole generate request
+    public <T> T timeGeneration(boolean streaming, Callable<T> work) throws Exception {
+        return time("vibecheck.playlist.generation", "End-to-end duration of playlist generation", work,
+                "mode", streaming ? "streaming" : "blocking");
+    }
+
+    // Time spent waiting for a free Spotify search slot
+    public void recordSearchWait(Duration wait) {
+        Timer.builder("vibecheck.spotify.search.wait")
+                .description("Time a track waited for a Spotify search slot")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(wait);
+    }
+
+    // Duration of one Spotify search, tagged with its result
+    public void recordSearch(Duration duration, TrackResolution.Status status) {
+        Timer.builder("vibecheck.spotify.search")
+                .description("Duration of a single Spotify track search")
+                .tag("outcome", tagOf(status))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(duration);
+    }
+
+    // Count how every requested track was resolved (including track cache hits)
+    public void countResolution(TrackResolution.Status status) {
+        Counter.builder("vibecheck.spotify.tracks")
+                .description("Requested tracks by resolution status")
+                .tag("status", tagOf(status))
+                .register(registry)
+                .increment();
+    }
+
+    // Count playlists served without calling Gemini, by where they came from
+    public void countGeminiFallback(String source) {
+        Counter.builder("vibecheck.gemini.fallbacks")
+                .description("Playlist drafts served from a fallback because Gemini could not be called")
+                .tag("source", source)
+                .register(registry)
+                .increment();
+    }
+
+    private <T> T time(String name, String description, Callable<T> work, String tagKey, String tagValue)
+            throws Exception {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = work.call();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .description(description)
+                    .tag(tagKey, tagValue)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    private static String tagOf(TrackResolution.Status status) {
+        return status.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,118 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.PlaylistDTO;
+import com.zeroping.vibecheckbe.dto.PlaylistSpotifyResponse;
+import com.zeroping.vibecheckbe.dto.TrackResolution;
+import com.zeroping.vibecheckbe.dto.TrackSpotifyRequest;
+import com.zeroping.vibecheckbe.service.PlaylistGenerationMetrics.Stage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Service that runs the full Gemini -> Spotify -> database playlist generation pipeline
+@Service
+public class PlaylistGenerationService {
+    private static final Logger log = LoggerFactory.getLogger(PlaylistGenerationService.class);
+
+    private final GeminiPlaylistService geminiPlaylistService;
+    private final SpotifyPlaylistService spotifyPlaylistService;
+    private final PlaylistMetadataService playlistMetadataService;
+    private final SpotifyTrackResolver trackResolver;
+    private final PlaylistGenerationMetrics metrics;
+
+    // When enabled, Spotify searches start while Gemini is still streaming the playlist
+    private final boolean streamingEnabled;
+
+    public PlaylistGenerationService(GeminiPlaylistService geminiPlaylistService,
+                                     SpotifyPlaylistService spotifyPlaylistService,
+                                     PlaylistMetadataService playlistMetadataService,
+                                     SpotifyTrackResolver trackResolver,
+                                     PlaylistGenerationMetrics metrics,
+                                     @Value("${gemini.streaming.enabled:false}") boolean streamingEnabled) {
+        this.geminiPlaylistService = geminiPlaylistService;
+        this.spotifyPlaylistService = spotifyPlaylistService;
+        this.playlistMetadataService = playlistMetadataService;
+        this.trackResolver = trackResolver;
+        this.metrics = metrics;
+        this.streamingEnabled = streamingEnabled;
+    }
+
+    // Generate and store a playlist for the given user
+    public PlaylistDTO generate(UUID userId, String mood, List<String> genres) throws Exception {
+        return generate(userId, mood, genres, PlaylistGenerationListener.NONE);
+    }
+
+    // Generate and store a playlist for the given user, reporting progress to the listener
+    public PlaylistDTO generate(UUID userId, String mood, List<String> genres,
+                                PlaylistGenerationListener listener) throws Exception {
+        return metrics.timeGeneration(streamingEnabled, () -> streamingEnabled
+                ? generateStreaming(userId, mood, genres, listener)
+                : generateBlocking(userId, mood, genres, listener));
+    }
+
+    // Blocking variant: Gemini first, then all Spotify searches, then the database writes
+    private PlaylistDTO generateBlocking(UUID userId, String mood, List<String> genres,
+                                         PlaylistGenerationListener listener) throws Exception {
+        PlaylistAgentResponse playlistAgentResponse = metrics.timeStage(Stage.GEMINI,
+                () -> geminiPlaylistService.generatePlaylist(userId, mood, genres));
+        log.debug("Gemini returned this playlist: {}", playlistAgentResponse);
+        listener.onDraftReady(playlistAgentResponse);
+
+        List<TrackSpotifyRequest> tracks = playlistAgentResponse.getTracks().stream()
+                .map(track -> new TrackSpotifyRequest(track.getTitle(), track.getArtist()))
+                .toList();
+
+        AtomicInteger resolvedCount = new AtomicInteger();
+        List<TrackResolution> resolutions = metrics.timeStage(Stage.SPOTIFY_SEARCH, () -> trackResolver.resolveAll(
+                tracks,
+                resolution -> listener.onTrackResolved(resolvedCount.incrementAndGet(), tracks.size())
+        ));
+
+        return save(userId, mood, playlistAgentResponse, resolutions, listener);
+    }
+
+    // Streaming variant: every track is sent to Spotify as soon as Gemini has finished writing it
+    private PlaylistDTO generateStreaming(UUID userId, String mood, List<String> genres,
+                                          PlaylistGenerationListener listener) throws Exception {
+        AtomicInteger submittedCount = new AtomicInteger();
+        AtomicInteger resolvedCount = new AtomicInteger();
+        SpotifyTrackResolver.Batch batch = trackResolver.newBatch(
+                resolution -> listener.onTrackResolved(resolvedCount.incrementAndGet(), submittedCount.get())
+        );
+
+        PlaylistAgentResponse playlistAgentResponse = metrics.timeStage(Stage.GEMINI,
+                () -> geminiPlaylistService.streamPlaylist(userId, mood, genres, track -> {
+                    submittedCount.incrementAndGet();
+                    batch.submit(new TrackSpotifyRequest(track.getTitle(), track.getArtist()));
+                }));
+        log.debug("Gemini streamed this playlist: {}", playlistAgentResponse);
+        listener.onDraftReady(playlistAgentResponse);
+
+        // Only the searches still running after Gemini finished count towards this stage
+        List<TrackResolution> resolutions = metrics.timeStage(Stage.SPOTIFY_SEARCH, batch::awaitAll);
+
+        return save(userId, mood, playlistAgentResponse, resolutions, listener);
+    }
+
+    // Store the songs and then the playlist
+    private PlaylistDTO save(UUID userId, String mood, PlaylistAgentResponse playlistAgentResponse,
+                             List<TrackResolution> resolutions, PlaylistGenerationListener listener) throws Exception {
+        PlaylistSpotifyResponse spotifyResponse = metrics.timeStage(Stage.SONG_UPSERT,
+                () -> spotifyPlaylistService.saveResolvedSongs(resolutions));
+
+        PlaylistDTO playlist = metrics.timeStage(Stage.METADATA_SAVE, () -> playlistMetadataService.savePlaylistMetadata(
+                spotifyResponse.getSongs(),
+                playlistAgentResponse.getPlaylist_name(),
+                mood,
+                userId
+        ));
+        listener.onSaved(playlist);
+        return playlist;
+    }
+}
@@ -5,6 +5,7 @@ import com.zeroping.vibecheckbe.dto.SongDTO;
 import com.zeroping.vibecheckbe.entity.Playlist;
 import com.zeroping.vibecheckbe.entity.Song;
 import com.zeroping.vibecheckbe.repository.PlaylistRepository;
+import com.zeroping.vibecheckbe.repository.SongRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
@@ -17,9 +18,12 @@ import java.util.stream.Collectors;
 @Service
 public class PlaylistMetadataService {
     private final PlaylistRepository playlistRepository;
+    private final SongRepository songRepository;
 
-    public PlaylistMetadataService(PlaylistRepository playlistRepository) {
+    public PlaylistMetadataService(PlaylistRepository playlistRepository,
+                                   SongRepository songRepository) {
         this.playlistRepository = playlistRepository;
+        this.songRepository = songRepository;
     }
 
     /**
@@ -43,7 +47,11 @@ public class PlaylistMetadataService {
         playlistEntity.setName(playlistName);
         playlistEntity.setUserId(userId);
         playlistEntity.setMood(mood);
-        playlistEntity.setSongs(new HashSet<>(songs));
+        // Link by reference: the songs may be detached copies (e.g. from the track cache
+        // or from another thread), and cascading a persist onto them would fail
+        playlistEntity.setSongs(songs.stream()
+                .map(song -> songRepository.getReferenceById(song.getId()))
+                .collect(Collectors.toCollection(HashSet::new)));
 
         playlistEntity = playlistRepository.save(playlistEntity);
 
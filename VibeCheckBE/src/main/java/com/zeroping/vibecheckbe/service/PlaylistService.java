@@ -1,21 +1,31 @@
 package com.zeroping.vibecheckbe.service;
 
+import com.zeroping.vibecheckbe.config.PaginationProperties;
 import com.zeroping.vibecheckbe.dto.PlaylistDTO;
 import com.zeroping.vibecheckbe.dto.SavePlaylistToSpotifyRequest;
 import com.zeroping.vibecheckbe.dto.SongDTO;
 import com.zeroping.vibecheckbe.entity.Playlist;
 import com.zeroping.vibecheckbe.entity.Song;
 import com.zeroping.vibecheckbe.repository.PlaylistRepository;
+import com.zeroping.vibecheckbe.util.KeysetCursor;
+import com.zeroping.vibecheckbe.util.KeysetPage;
 import com.zeroping.vibecheckbe.util.SpotifyUriUtil;
-import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 // Service for managing playlists
@@ -23,62 +33,67 @@ import java.util.stream.Collectors;
 @Transactional
 public class PlaylistService {
     private final PlaylistRepository playlistRepository;
-    private final SpotifyService spotifyService;
+    private final SpotifyPlaylistExporter spotifyExporter;
+    private final PaginationProperties pagination;
 
     public PlaylistService(
             PlaylistRepository playlistRepository,
-            SpotifyService spotifyService
+            SpotifyPlaylistExporter spotifyExporter,
+            PaginationProperties pagination
     ) {
         this.playlistRepository = playlistRepository;
-        this.spotifyService = spotifyService;
+        this.spotifyExporter = spotifyExporter;
+        this.pagination = pagination;
     }
 
-    // Export playlist to Spotify
+    // Export playlist to Spotify.
+    // Runs without a transaction so no connection is held during the Spotify calls; the playlist and its songs
+    // are loaded up front by a short read-only repository query.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String savePlaylistToSpotify(UUID userId, SavePlaylistToSpotifyRequest request, String accessToken) {
         // 1. Find the playlist in our DB to get the song list
         Playlist playlist = playlistRepository
-                .findByIdAndUserId(request.getPlaylistId(), userId)
+                .findWithSongsByIdAndUserId(request.getPlaylistId(), userId)
                 .orElseThrow(() ->
                         new IllegalArgumentException("Playlist not found or does not belong to user"));
 
         // 2. Extract Spotify URIs
-        List<String> trackUris = playlist.getSongs()
-                .stream()
-                .map(Song::getUrl)                     // 1. Get the HTTP link (https://open...)
-                .map(SpotifyUriUtil::urlToUri)         // 2. CONVERT IT to URI (spotify:track:...)
-                .filter(uri -> uri != null && !uri.isBlank()) // 3. Remove failures
-                .toList();
+        List<String> trackUris = trackUrisOf(playlist);
 
         if (trackUris.isEmpty()) {
             throw new IllegalStateException("Playlist has no Spotify tracks to export");
         }
 
-        // 3. Get the user's Spotify ID using the token passed from Flutter
-        String spotifyUserId = spotifyService.getCurrentUserId(accessToken);
-
-        // 4. Create the empty playlist on Spotify
-        String spotifyPlaylistId = spotifyService.createPlaylist(
+        // 3. Create the playlist on Spotify with the token passed from Flutter and add the songs in chunks
+        SpotifyPlaylistExporter.Result result = spotifyExporter.export(
                 accessToken,
-                spotifyUserId,
                 request.getSpotifyPlaylistName(),
-                "Generated by AI via VibeCheck"
-        );
-
-        // 5. Add the songs to that new playlist
-        spotifyService.addTracksToPlaylist(
-                accessToken,
-                spotifyPlaylistId,
+                "Generated by AI via VibeCheck",
                 trackUris
         );
 
         // Return the Spotify playlist ID so frontend can embed the player
-        return spotifyPlaylistId;
+        return result.spotifyPlaylistId();
 
         // Note: We are NOT saving anything back to the database.
         // This avoids the "column exported_to_spotify does not exist" error.
     }
 
+    // Playlist ready to be exported: its name and the Spotify URIs of its songs
+    public record ExportablePlaylist(Long id, String name, List<String> trackUris) {
+    }
+
+    // Load the given playlists of the user, songs included, in one query; ids of other users are left out
+    @Transactional(readOnly = true)
+    public List<ExportablePlaylist> findExportablePlaylists(UUID userId, Collection<Long> playlistIds) {
+        return playlistRepository.findWithSongsByIdInAndUserId(playlistIds, userId)
+                .stream()
+                .map(playlist -> new ExportablePlaylist(playlist.getId(), playlist.getName(), trackUrisOf(playlist)))
+                .toList();
+    }
+
     // Get distinct moods for a user's playlists (up to 3 most recent)
+    @Transactional(readOnly = true)
     public List<String> getUserMoods(UUID userId) {
         Pageable topThree = PageRequest.of(0, 3);
         return playlistRepository
@@ -86,19 +101,42 @@ public class PlaylistService {
     }
 
     // Get total number of playlists for a user
+    @Transactional(readOnly = true)
     public long getNumberOfPlaylists(UUID userId) {
         return playlistRepository.countByUserId(userId);
     }
 
-    // Get all playlists for a user, ordered by creation date descending
-    public List<PlaylistDTO> getUserPlaylists(UUID userId) {
-        return playlistRepository.findByUserIdOrderByCreatedAtDesc(userId)
+    // Get one page of a user's playlists, ordered by creation date descending.
+    // The ids of the page are found first, then those playlists are loaded with their songs.
+    @Transactional(readOnly = true)
+    public KeysetPage<PlaylistDTO> getUserPlaylists(UUID userId, String cursor, Integer limit) {
+        int pageSize = pagination.resolvePageSize(limit);
+        Limit rows = Limit.of(pageSize + 1); // one extra row tells whether there is a next page
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = playlistRepository.findPageIdsByUserId(userId, rows);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            ids = playlistRepository.findPageIdsByUserIdAfter(userId, after.createdAt(), after.id(), rows);
+        }
+        if (ids.isEmpty()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+
+        Map<Long, Playlist> playlistsById = playlistRepository.findWithSongsByIdIn(ids)
                 .stream()
-                .map(this::mapToDTO)
+                .collect(Collectors.toMap(Playlist::getId, Function.identity()));
+        List<Playlist> playlists = ids.stream()
+                .map(playlistsById::get)
+                .filter(Objects::nonNull)
                 .toList();
+        return KeysetPage.of(playlists, pageSize,
+                playlist -> new KeysetCursor(playlist.getCreatedAt(), playlist.getId()),
+                this::mapToDTO);
     }
 
     // Get the most recent playlist for a user
+    @Transactional(readOnly = true)
     public PlaylistDTO getLastPlaylist(UUID userId) {
         return playlistRepository.findFirstByUserIdOrderByCreatedAtDesc(userId)
                 .map(this::mapToDTO)
@@ -106,11 +144,13 @@ public class PlaylistService {
     }
 
     // Get the timestamp of the most recent playlist for a user
+    @Transactional(readOnly = true)
     public Instant getLastPlaylistTimestamp(UUID userId) {
         return playlistRepository.findLatestTimestamp(userId).orElse(null);
     }
 
     // Get playlists for a user filtered by mood
+    @Transactional(readOnly = true)
     public List<PlaylistDTO> getPlaylistsByMood(UUID userId, String mood) {
         return playlistRepository.findByUserIdAndMood(userId, mood)
                 .stream()
@@ -118,6 +158,22 @@ public class PlaylistService {
                 .toList();
     }
 
+    // Get a user's playlists for several moods in one query, grouped by mood.
+    // Moods without playlists map to an empty list.
+    @Transactional(readOnly = true)
+    public Map<String, List<PlaylistDTO>> getPlaylistsByMoods(UUID userId, Collection<String> moods) {
+        if (moods.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<PlaylistDTO>> playlistsByMood = playlistRepository.findByUserIdAndMoodIn(userId, moods)
+                .stream()
+                .collect(Collectors.groupingBy(Playlist::getMood,
+                        Collectors.mapping(this::mapToDTO, Collectors.toUnmodifiableList())));
+        Map<String, List<PlaylistDTO>> result = new HashMap<>(playlistsByMood);
+        moods.forEach(mood -> result.putIfAbsent(mood, List.of()));
+        return result;
+    }
+
     // Helper method to map Playlist entity to PlaylistDTO
     private PlaylistDTO mapToDTO(Playlist playlist) {
         PlaylistDTO dto = new PlaylistDTO();
@@ -147,4 +203,24 @@ public class PlaylistService {
                 song.getArtistName()
         );
     }
-}
\ No newline at end of file
+
+    // Spotify URIs of the playlist's songs, leaving out songs without a usable URI
+    private static List<String> trackUrisOf(Playlist playlist) {
+        if (playlist.getSongs() == null) {
+            return List.of();
+        }
+        return playlist.getSongs()
+                .stream()
+                .map(PlaylistService::trackUriOf)      // spotify:track:<id>
+                .filter(uri -> uri != null && !uri.isBlank()) // Remove failures
+                .toList();
+    }
+
+    // Build the track URI from the stored track ID; rows not migrated yet still go through the URL
+    private static String trackUriOf(Song song) {
+        if (song.getSpotifyTrackId() != null) {
+            return SpotifyUriUtil.trackIdToUri(song.getSpotifyTrackId());
+        }
+        return SpotifyUriUtil.urlToUri(song.getUrl());
+    }
+}
@@ -0,0 +1,159 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.entity.Genre;
+import com.zeroping.vibecheckbe.entity.Mood;
+import com.zeroping.vibecheckbe.repository.GenreRepository;
+import com.zeroping.vibecheckbe.repository.MoodRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// In-memory copy of the reference data (moods and genres), which almost never changes.
+// It is loaded once at startup into an immutable, versioned snapshot indexed by id and by case-insensitive name;
+// readers just dereference the current snapshot. A reload (see AdminController) builds a new snapshot
+// and swaps it in atomically, so readers never see a half-loaded state.
+@Service
+public class ReferenceDataRegistry {
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    private final MoodRepository moodRepository;
+    private final GenreRepository genreRepository;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    // Makes sure only one reload reads the tables at a time
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public ReferenceDataRegistry(MoodRepository moodRepository, GenreRepository genreRepository) {
+        this.moodRepository = moodRepository;
+        this.genreRepository = genreRepository;
+    }
+
+    // Immutable mood row
+    public record MoodData(Long id, String name, String tempo, String danceable) {
+        // Detached entity for this mood, safe to reference from new or updated entities
+        public Mood toEntity() {
+            return new Mood(id, name, tempo, danceable);
+        }
+    }
+
+    // Immutable genre row
+    public record GenreData(Long id, String name) {
+        // Detached entity for this genre, safe to reference from new or updated entities
+        public Genre toEntity() {
+            return new Genre(id, name);
+        }
+    }
+
+    // One consistent version of all reference data
+    public record Snapshot(long version, Instant loadedAt,
+                          List<MoodData> moods, Map<Long, MoodData> moodsById, Map<String, MoodData> moodsByName,
+                          List<GenreData> genres, Map<Long, GenreData> genresById, Map<String, GenreData> genresByName) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (current.get() == null) {
+            reload();
+        }
+    }
+
+    // Read the tables again and publish them as the next version.
+    // Deliberately not read-only: read-only transactions may be served by a lagging read replica, and a reload
+    // right after an admin edited the tables must see the edit (nothing would reload the snapshot again later).
+    @Transactional
+    public Snapshot reload() {
+        reloadLock.lock();
+        try {
+            Snapshot previous = current.get();
+            long version = previous == null ? 1 : previous.version() + 1;
+
+            List<MoodData> moods = moodRepository.findAll().stream()
+                    .map(m -> new MoodData(m.getId(), m.getName(), m.getTempo(), m.getDanceable()))
+                    .sorted(Comparator.comparing(MoodData::id))
+                    .toList();
+            List<GenreData> genres = genreRepository.findAll().stream()
+                    .map(g -> new GenreData(g.getId(), g.getName()))
+                    .sorted(Comparator.comparing(GenreData::id))
+                    .toList();
+
+            Snapshot snapshot = new Snapshot(version, Instant.now(),
+                    moods, indexBy(moods, MoodData::id), indexByName(moods, MoodData::name),
+                    genres, indexBy(genres, GenreData::id), indexByName(genres, GenreData::name));
+            current.set(snapshot);
+            log.info("Loaded reference data version {}: {} moods, {} genres", version, moods.size(), genres.size());
+            return snapshot;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Current snapshot; loaded on first use if startup loading has not happened (e.g. in slice tests)
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : loadIfMissing();
+    }
+
+    public List<MoodData> moods() {
+        return snapshot().moods();
+    }
+
+    public Optional<MoodData> mood(Long id) {
+        return Optional.ofNullable(snapshot().moodsById().get(id));
+    }
+
+    public Optional<MoodData> moodByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot().moodsByName().get(normalize(name)));
+    }
+
+    public List<GenreData> genres() {
+        return snapshot().genres();
+    }
+
+    public Optional<GenreData> genre(Long id) {
+        return Optional.ofNullable(snapshot().genresById().get(id));
+    }
+
+    public Optional<GenreData> genreByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot().genresByName().get(normalize(name)));
+    }
+
+    private Snapshot loadIfMissing() {
+        reloadLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            return snapshot != null ? snapshot : reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static <T> Map<Long, T> indexBy(List<T> rows, Function<T, Long> id) {
+        return rows.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity()));
+    }
+
+    // Names are unique in the tables, but only case-sensitively; the first row (lowest id) wins
+    private static <T> Map<String, T> indexByName(List<T> rows, Function<T, String> name) {
+        return rows.stream()
+                .filter(row -> name.apply(row) != null)
+                .collect(Collectors.toUnmodifiableMap(row -> normalize(name.apply(row)), Function.identity(),
+                        (first, second) -> first));
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
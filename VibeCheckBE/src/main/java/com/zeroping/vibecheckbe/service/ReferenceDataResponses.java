@@ -0,0 +1,76 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeroping.vibecheckbe.util.PreSerializedResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Pre-serialized bodies of GET /moods and GET /genres.
+// They are rendered (JSON + gzip + ETag) once per reference data version, instead of rebuilding
+// and re-serializing the lists on every call; a reload of the registry triggers a new rendering.
+@Service
+public class ReferenceDataResponses {
+    private final ReferenceDataRegistry referenceData;
+    private final MoodService moodService;
+    private final GenreService genreService;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+
+    private final AtomicReference<Rendered> rendered = new AtomicReference<>();
+
+    public ReferenceDataResponses(ReferenceDataRegistry referenceData,
+                                  MoodService moodService,
+                                  GenreService genreService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${reference-data.http.max-age:5m}") Duration maxAge) {
+        this.referenceData = referenceData;
+        this.moodService = moodService;
+        this.genreService = genreService;
+        this.objectMapper = objectMapper;
+        // Public data: shared caches may keep it too, but must revalidate (cheaply, via the ETag) once stale
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+    }
+
+    // Both bodies of one reference data version
+    private record Rendered(long version, PreSerializedResponse moods, PreSerializedResponse genres) {
+    }
+
+    public PreSerializedResponse moods() {
+        return current().moods();
+    }
+
+    public PreSerializedResponse genres() {
+        return current().genres();
+    }
+
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    private Rendered current() {
+        long version = referenceData.snapshot().version();
+        Rendered cached = rendered.get();
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        // The lists are read after the version, so they are never older than it; concurrent renderings are identical
+        Rendered fresh = new Rendered(version,
+                PreSerializedResponse.of(toJson(moodService.getAllMoods())),
+                PreSerializedResponse.of(toJson(genreService.getAllGenres())));
+        rendered.set(fresh);
+        return fresh;
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize reference data", e);
+        }
+    }
+}
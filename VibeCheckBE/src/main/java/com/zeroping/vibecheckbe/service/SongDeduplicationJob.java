@@ -0,0 +1,234 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.entity.Playlist;
+import com.zeroping.vibecheckbe.entity.Song;
+import com.zeroping.vibecheckbe.util.SpotifyUriUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One-off data migration for the spotify_track_id natural key: backfills the column for old rows
+// and merges songs that share a track ID into the oldest one, re-pointing playlist_songs and SongLookups.
+// Works in batches of rows (one transaction each), so it can run while the app is serving traffic.
+@Service
+public class SongDeduplicationJob {
+    private static final Logger log = LoggerFactory.getLogger(SongDeduplicationJob.class);
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TrackResolutionCache trackCache;
+    private final int batchSize;
+    private final boolean runOnStartup;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SongDeduplicationJob(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                EntityManagerFactory entityManagerFactory,
+                                TrackResolutionCache trackCache,
+                                @Value("${songs.dedup.batch-size:500}") int batchSize,
+                                @Value("${songs.dedup.run-on-startup:false}") boolean runOnStartup) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("songs.dedup.batch-size must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.trackCache = trackCache;
+        this.batchSize = batchSize;
+        this.runOnStartup = runOnStartup;
+    }
+
+    // Totals of a migration run
+    public record Result(int scanned, int backfilled, int merged, int unparseable) {
+        Result plus(Result other) {
+            return new Result(scanned + other.scanned, backfilled + other.backfilled,
+                    merged + other.merged, unparseable + other.unparseable);
+        }
+    }
+
+    // Start the migration in the background once the app is up, when enabled
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartupIfEnabled() {
+        if (runOnStartup) {
+            Thread.ofVirtual().name("song-dedup").start(this::run);
+        }
+    }
+
+    // Process every song without a track ID; safe to run again, it only touches rows still missing the ID
+    public Result run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Song deduplication is already running");
+            return new Result(0, 0, 0, 0);
+        }
+        try {
+            Result total = new Result(0, 0, 0, 0);
+            long lastId = 0;
+            while (true) {
+                long afterId = lastId;
+                List<SongRow> rows = jdbcTemplate.query(
+                        "SELECT id, url FROM public.\"Songs\" WHERE spotify_track_id IS NULL AND id > ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new SongRow(rs.getLong("id"), rs.getString("url")),
+                        afterId, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                Result batch = processBatchWithRetry(rows);
+                if (batch.backfilled() > 0 || batch.merged() > 0) {
+                    evictCachedSongs();
+                }
+                total = total.plus(batch);
+                lastId = rows.getLast().id();
+                log.info("Song deduplication: {} rows scanned so far, {} merged", total.scanned(), total.merged());
+            }
+            log.info("Song deduplication finished: {}", total);
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // A track ID claimed by a concurrent insert that has not committed yet is only seen by the unique index:
+    // the claim waits for that insert and then fails the batch. Run again, the batch merges into the new row.
+    private Result processBatchWithRetry(List<SongRow> rows) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> processBatch(rows));
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Song deduplication batch raced with a concurrent insert, retrying");
+            }
+        }
+    }
+
+    private Result processBatch(List<SongRow> rows) {
+        // Group the batch by track ID; rows whose URL cannot be parsed are left alone
+        Map<String, List<Long>> idsByTrackId = new HashMap<>();
+        int unparseable = 0;
+        for (SongRow row : rows) {
+            String trackId = SpotifyUriUtil.trackIdOf(row.url());
+            if (trackId == null) {
+                unparseable++;
+                continue;
+            }
+            idsByTrackId.computeIfAbsent(trackId, k -> new ArrayList<>()).add(row.id());
+        }
+        if (idsByTrackId.isEmpty()) {
+            return new Result(rows.size(), 0, 0, unparseable);
+        }
+
+        // Songs that already own the track ID (new rows, or survivors of an earlier batch) win
+        List<String> trackIds = List.copyOf(idsByTrackId.keySet());
+        Map<String, Long> survivors = findOwners(trackIds);
+
+        // Otherwise the oldest row of the batch claims the ID (rows are read in id order). The claim is skipped
+        // when another request stored the track in the meantime; that row then wins like any other owner.
+        List<String> unclaimed = trackIds.stream()
+                .filter(trackId -> !survivors.containsKey(trackId))
+                .toList();
+        int[] claimed = jdbcTemplate.batchUpdate(
+                "UPDATE public.\"Songs\" SET spotify_track_id = ? WHERE id = ? AND NOT EXISTS "
+                        + "(SELECT 1 FROM public.\"Songs\" s WHERE s.spotify_track_id = ?)",
+                unclaimed.stream()
+                        .map(trackId -> new Object[]{trackId, idsByTrackId.get(trackId).getFirst(), trackId})
+                        .toList());
+        int backfilled = 0;
+        List<String> lostRace = new ArrayList<>();
+        for (int i = 0; i < unclaimed.size(); i++) {
+            String trackId = unclaimed.get(i);
+            if (claimed[i] > 0) {
+                survivors.put(trackId, idsByTrackId.get(trackId).getFirst());
+                backfilled++;
+            } else {
+                lostRace.add(trackId);
+            }
+        }
+        if (!lostRace.isEmpty()) {
+            survivors.putAll(findOwners(lostRace));
+        }
+
+        List<Object[]> merges = new ArrayList<>();
+        idsByTrackId.forEach((trackId, ids) -> {
+            Long survivor = survivors.get(trackId);
+            if (survivor == null) {
+                // The concurrent owner is gone again; the next run picks these rows up
+                return;
+            }
+            for (Long id : ids) {
+                if (!id.equals(survivor)) {
+                    merges.add(new Object[]{survivor, id});
+                }
+            }
+        });
+        if (!merges.isEmpty()) {
+            mergeInto(merges);
+        }
+        return new Result(rows.size(), backfilled, merges.size(), unparseable);
+    }
+
+    // The id of the song owning each of the given track IDs, for those that have one
+    private Map<String, Long> findOwners(List<String> trackIds) {
+        Map<String, Long> owners = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, spotify_track_id FROM public.\"Songs\" WHERE spotify_track_id IN ("
+                        + String.join(", ", Collections.nCopies(trackIds.size(), "?")) + ")",
+                rs -> {
+                    owners.put(rs.getString("spotify_track_id"), rs.getLong("id"));
+                },
+                trackIds.toArray());
+        return owners;
+    }
+
+    // Each element is {survivorId, loserId}
+    private void mergeInto(List<Object[]> merges) {
+        List<Object[]> repointArgs = merges.stream()
+                .map(m -> new Object[]{m[0], m[1], m[0]})
+                .toList();
+        List<Object[]> loserArgs = merges.stream()
+                .map(m -> new Object[]{m[1]})
+                .toList();
+
+        // Move playlist links to the survivor unless the playlist already links to it
+        jdbcTemplate.batchUpdate(
+                "UPDATE public.playlist_songs ps SET song_id = ? WHERE ps.song_id = ? AND NOT EXISTS "
+                        + "(SELECT 1 FROM public.playlist_songs x WHERE x.playlist_id = ps.playlist_id AND x.song_id = ?)",
+                repointArgs);
+        // Whatever is left would have been a duplicate link
+        jdbcTemplate.batchUpdate("DELETE FROM public.playlist_songs WHERE song_id = ?", loserArgs);
+        jdbcTemplate.batchUpdate("UPDATE public.\"SongLookups\" SET song_id = ? WHERE song_id = ?", merges);
+        jdbcTemplate.batchUpdate("DELETE FROM public.\"Songs\" WHERE id = ?", loserArgs);
+    }
+
+    // The batches change Songs and playlist_songs with plain SQL, behind the back of the second-level cache
+    // and of the in-memory track lookups, whose song snapshots may name a merged (deleted) row.
+    // The persistent lookups were re-pointed to the survivors, so the memory level refills from them.
+    private void evictCachedSongs() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Song.class);
+        cache.evictCollectionData(Playlist.class.getName() + ".songs");
+        trackCache.clearMemory();
+    }
+
+    private record SongRow(long id, String url) {
+    }
+}
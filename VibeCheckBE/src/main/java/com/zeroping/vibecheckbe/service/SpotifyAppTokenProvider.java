@@ -0,0 +1,131 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.util.RateLimiter;
+import org.apache.hc.core5.http.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
+import se.michaelthelin.spotify.model_objects.credentials.ClientCredentials;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Holds the APP-LEVEL Spotify access token (Client Credentials Flow) used for searching.
+// The token is an immutable snapshot swapped atomically; a scheduled task replaces it well before it expires,
+// so requests just read it. Only when there is no usable token at all (e.g. right after startup
+// or after refreshes kept failing) does a request fetch one itself.
+@Service
+public class SpotifyAppTokenProvider {
+    private static final Logger log = LoggerFactory.getLogger(SpotifyAppTokenProvider.class);
+    // A token this close to expiring is not handed out any more
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(60);
+
+    private final SpotifyClientFactory spotifyClients;
+    private final RateLimiter rateLimiter;
+    private final Duration refreshBefore;
+
+    private final AtomicReference<AppToken> current = new AtomicReference<>();
+    // Makes sure only one thread talks to the token endpoint at a time
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshNanos = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public SpotifyAppTokenProvider(SpotifyClientFactory spotifyClients,
+                                   RateLimiter spotifyRateLimiter,
+                                   @Value("${spotify.app-token.refresh-before:5m}") Duration refreshBefore) {
+        this.spotifyClients = spotifyClients;
+        this.rateLimiter = spotifyRateLimiter;
+        this.refreshBefore = refreshBefore;
+    }
+
+    // Immutable token snapshot
+    public record AppToken(String value, Instant expiresAt) {
+        boolean isUsableAt(Instant now) {
+            return now.isBefore(expiresAt.minus(EXPIRY_MARGIN));
+        }
+    }
+
+    // Current app token; blocks only while there is no usable token to hand out
+    public String currentToken() {
+        AppToken token = current.get();
+        if (token != null && token.isUsableAt(Instant.now())) {
+            return token.value();
+        }
+        return refresh(true).value();
+    }
+
+    // Replace the token in the background once it is within refresh-before of expiring
+    @Scheduled(fixedDelayString = "${spotify.app-token.check-interval:30000}",
+            initialDelayString = "${spotify.app-token.initial-delay:0}")
+    public void refreshIfDue() {
+        AppToken token = current.get();
+        if (token != null && Instant.now().isBefore(token.expiresAt().minus(refreshBefore))) {
+            return;
+        }
+        try {
+            refresh(false);
+        } catch (RuntimeException e) {
+            // Requests keep using the current token until it really expires; the next run tries again
+            log.warn("Failed to refresh the Spotify app access token", e);
+        }
+    }
+
+    public Optional<AppToken> snapshot() {
+        return Optional.ofNullable(current.get());
+    }
+
+    // Number of successful token refreshes
+    public long refreshCount() {
+        return refreshes.get();
+    }
+
+    // Total time spent in successful token refreshes
+    public Duration totalRefreshTime() {
+        return Duration.ofNanos(refreshNanos.get());
+    }
+
+    public long refreshFailureCount() {
+        return failures.get();
+    }
+
+    private AppToken refresh(boolean onlyIfUnusable) {
+        refreshLock.lock();
+        try {
+            // Another thread may have refreshed while we waited for the lock
+            AppToken token = current.get();
+            if (onlyIfUnusable && token != null && token.isUsableAt(Instant.now())) {
+                return token;
+            }
+
+            long startedAt = System.nanoTime();
+            try {
+                rateLimiter.acquire();
+                ClientCredentials creds = spotifyClients.credentialsClient().clientCredentials().build().execute();
+                AppToken fresh = new AppToken(creds.getAccessToken(), Instant.now().plusSeconds(creds.getExpiresIn()));
+                current.set(fresh);
+                refreshes.incrementAndGet();
+                refreshNanos.addAndGet(System.nanoTime() - startedAt);
+                return fresh;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.incrementAndGet();
+                throw new RuntimeException("Interrupted while obtaining Spotify access token.", e);
+            } catch (IOException | SpotifyWebApiException | ParseException e) {
+                failures.incrementAndGet();
+                throw new RuntimeException("Failed to obtain Spotify access token.", e);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistExportResultDTO;
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistExportRejectedException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Exports several playlists of a user to Spotify in one request.
+// The playlists are loaded with their songs in one query, then exported concurrently
+// (all Spotify calls still share the process-wide rate limiter), and every result is
+// streamed back as a server-sent event as soon as that playlist is done.
+@Service
+public class SpotifyBulkExportService {
+    private static final Logger log = LoggerFactory.getLogger(SpotifyBulkExportService.class);
+    private static final String DESCRIPTION = "Generated by AI via VibeCheck";
+
+    private final PlaylistService playlistService;
+    private final SpotifyPlaylistExporter exporter;
+    private final int maxPlaylists;
+    private final Duration sseTimeout;
+    // Bounds the number of playlists being exported at the same time, across all requests
+    private final Semaphore exportSlots;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SpotifyBulkExportService(PlaylistService playlistService,
+                                    SpotifyPlaylistExporter exporter,
+                                    @Value("${spotify.export.bulk.max-playlists:50}") int maxPlaylists,
+                                    @Value("${spotify.export.bulk.concurrency:4}") int concurrency,
+                                    @Value("${spotify.export.bulk.sse-timeout:5m}") Duration sseTimeout) {
+        this.playlistService = playlistService;
+        this.exporter = exporter;
+        this.maxPlaylists = maxPlaylists;
+        this.sseTimeout = sseTimeout;
+        this.exportSlots = new Semaphore(concurrency, true);
+    }
+
+    // Start exporting the playlists and return the stream their results are sent to.
+    // Sends one "playlist" event per requested id (in completion order), then a "done" event with the totals.
+    public SseEmitter exportAll(UUID userId, List<Long> playlistIds, String accessToken) {
+        if (playlistIds == null || playlistIds.isEmpty()) {
+            throw new PlaylistExportRejectedException("At least one playlist ID is required.");
+        }
+        Set<Long> ids = new LinkedHashSet<>(playlistIds);
+        if (ids.size() > maxPlaylists) {
+            throw new PlaylistExportRejectedException("At most " + maxPlaylists + " playlists can be exported at once.");
+        }
+
+        Map<Long, PlaylistService.ExportablePlaylist> playlists = playlistService.findExportablePlaylists(userId, ids)
+                .stream()
+                .collect(Collectors.toMap(PlaylistService.ExportablePlaylist::id, Function.identity()));
+
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        workers.execute(() -> run(emitter, ids, playlists, accessToken));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(SseEmitter emitter, Set<Long> ids,
+                     Map<Long, PlaylistService.ExportablePlaylist> playlists, String accessToken) {
+        AtomicInteger exported = new AtomicInteger();
+        try {
+            // Look the user up once, so the concurrent exports all hit the cached user ID
+            if (!playlists.isEmpty()) {
+                exporter.userIdOf(accessToken);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk export could not look up the Spotify user", e);
+            for (Long id : ids) {
+                send(emitter, "playlist", failed(id, e));
+            }
+            finish(emitter, ids.size(), 0);
+            return;
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                PlaylistExportResultDTO result = exportOne(id, playlists.get(id), accessToken);
+                if ("EXPORTED".equals(result.getStatus())) {
+                    exported.incrementAndGet();
+                }
+                send(emitter, "playlist", result);
+            }, workers));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        finish(emitter, ids.size(), exported.get());
+    }
+
+    private PlaylistExportResultDTO exportOne(Long id, PlaylistService.ExportablePlaylist playlist, String accessToken) {
+        if (playlist == null) {
+            return new PlaylistExportResultDTO(id, "NOT_FOUND", null, null, "Playlist not found or does not belong to user");
+        }
+        if (playlist.trackUris().isEmpty()) {
+            return new PlaylistExportResultDTO(id, "EMPTY", null, 0, "Playlist has no Spotify tracks to export");
+        }
+
+        try {
+            exportSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(id, e);
+        }
+        try {
+            SpotifyPlaylistExporter.Result result = exporter.export(
+                    accessToken, playlist.name(), DESCRIPTION, playlist.trackUris());
+            return new PlaylistExportResultDTO(id, "EXPORTED", result.spotifyPlaylistId(), result.trackCount(), null);
+        } catch (RuntimeException e) {
+            log.warn("Bulk export of playlist {} failed", id, e);
+            return failed(id, e);
+        } finally {
+            exportSlots.release();
+        }
+    }
+
+    private static PlaylistExportResultDTO failed(Long id, Exception e) {
+        return new PlaylistExportResultDTO(id, "FAILED", null, null, e.getMessage());
+    }
+
+    private void finish(SseEmitter emitter, int requested, int exported) {
+        if (send(emitter, "done", Map.of("requested", requested, "exported", exported, "notExported", requested - exported))) {
+            emitter.complete();
+        }
+    }
+
+    // Results arrive from several threads, but an emitter must not be written concurrently
+    private boolean send(SseEmitter emitter, String name, Object data) {
+        synchronized (emitter) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the exports that are already running still finish on Spotify
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.zeroping.vibecheckbe.service;
+
+import se.michaelthelin.spotify.IHttpManager;
+import se.michaelthelin.spotify.SpotifyApi;
+
+// Hands out SpotifyApi clients bound to one access token.
+// The clients are cheap throw-away objects that all share one HTTP manager (and so one connection pool),
+// so concurrent requests never have to switch the token on a shared client.
+public class SpotifyClientFactory {
+    private final SpotifyApi credentialsClient;
+    private final IHttpManager httpManager;
+
+    public SpotifyClientFactory(SpotifyApi credentialsClient, IHttpManager httpManager) {
+        this.credentialsClient = credentialsClient;
+        this.httpManager = httpManager;
+    }
+
+    // Client holding the app's client ID and secret, for the Client Credentials Flow only
+    public SpotifyApi credentialsClient() {
+        return credentialsClient;
+    }
+
+    // Client that sends the given (app or user) access token with each request
+    public SpotifyApi forToken(String accessToken) {
+        return new SpotifyApi.Builder()
+                .setHttpManager(httpManager)
+                .setAccessToken(accessToken)
+                .build();
+    }
+}
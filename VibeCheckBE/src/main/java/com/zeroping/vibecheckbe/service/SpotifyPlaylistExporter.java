@@ -0,0 +1,110 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.util.LruTtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+// Creates a playlist on the user's Spotify account and fills it with tracks.
+// Spotify accepts at most 100 tracks per "add items" call, so the tracks are sent in chunks,
+// one after the other to keep their order, over the shared (kept-alive) Spotify connection pool.
+// The Spotify user ID is cached per access token, so repeated exports skip the profile lookup.
+@Service
+public class SpotifyPlaylistExporter {
+    private static final Logger log = LoggerFactory.getLogger(SpotifyPlaylistExporter.class);
+
+    // Spotify's limit for POST /playlists/{id}/tracks
+    public static final int MAX_TRACKS_PER_REQUEST = 100;
+
+    private final SpotifyService spotifyService;
+    private final MeterRegistry registry;
+    // SHA-256 of the access token -> Spotify user ID; the raw token is never kept
+    private final LruTtlCache<String, String> userIdsByTokenHash;
+
+    public SpotifyPlaylistExporter(SpotifyService spotifyService,
+                                   MeterRegistry registry,
+                                   @Value("${spotify.export.user-id-cache.max-entries:1000}") int maxEntries,
+                                   @Value("${spotify.export.user-id-cache.ttl:1h}") Duration ttl) {
+        this.spotifyService = spotifyService;
+        this.registry = registry;
+        this.userIdsByTokenHash = new LruTtlCache<>(maxEntries, ttl);
+    }
+
+    // Outcome of an export, with the time each "add items" chunk took
+    public record Result(String spotifyPlaylistId, int trackCount, List<Duration> chunkTimings) {
+    }
+
+    public Result export(String accessToken, String playlistName, String description, List<String> trackUris) {
+        String spotifyUserId = userIdOf(accessToken);
+        String spotifyPlaylistId = spotifyService.createPlaylist(accessToken, spotifyUserId, playlistName, description);
+
+        List<List<String>> chunks = chunksOf(trackUris, MAX_TRACKS_PER_REQUEST);
+        List<Duration> chunkTimings = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            long startedAt = System.nanoTime();
+            String outcome = "error";
+            try {
+                spotifyService.addTracksToPlaylist(accessToken, spotifyPlaylistId, chunks.get(i));
+                outcome = "success";
+            } finally {
+                Duration took = Duration.ofNanos(System.nanoTime() - startedAt);
+                chunkTimer(outcome).record(took);
+                chunkTimings.add(took);
+            }
+            log.debug("Added chunk {}/{} ({} tracks) to Spotify playlist {} in {} ms",
+                    i + 1, chunks.size(), chunks.get(i).size(), spotifyPlaylistId, chunkTimings.getLast().toMillis());
+        }
+        return new Result(spotifyPlaylistId, trackUris.size(), List.copyOf(chunkTimings));
+    }
+
+    // Spotify user ID behind the access token, looked up once per token
+    public String userIdOf(String accessToken) {
+        String tokenHash = sha256(accessToken);
+        return userIdsByTokenHash.get(tokenHash).orElseGet(() -> {
+            String userId = spotifyService.getCurrentUserId(accessToken);
+            userIdsByTokenHash.put(tokenHash, userId);
+            return userId;
+        });
+    }
+
+    public LruTtlCache.Stats userIdCacheStats() {
+        return userIdsByTokenHash.stats();
+    }
+
+    // Split the list into consecutive chunks of at most chunkSize elements, keeping the order
+    static <T> List<List<T>> chunksOf(List<T> items, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>((items.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private Timer chunkTimer(String outcome) {
+        return Timer.builder("vibecheck.spotify.export.chunk")
+                .description("Duration of one 'add items' call while exporting a playlist to Spotify")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
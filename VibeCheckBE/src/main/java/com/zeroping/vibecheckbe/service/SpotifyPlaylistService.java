@@ -2,74 +2,160 @@ package com.zeroping.vibecheckbe.service;
 
 import com.zeroping.vibecheckbe.dto.PlaylistSpotifyRequest;
 import com.zeroping.vibecheckbe.dto.PlaylistSpotifyResponse;
+import com.zeroping.vibecheckbe.dto.TrackResolution;
 import com.zeroping.vibecheckbe.dto.TrackSpotifyRequest;
 import com.zeroping.vibecheckbe.entity.Song;
 import com.zeroping.vibecheckbe.repository.SongRepository;
+import com.zeroping.vibecheckbe.util.SpotifyUriUtil;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import se.michaelthelin.spotify.model_objects.specification.Track;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Consumer;
 
 // Service for handling Spotify playlist operations
 @Service
 public class SpotifyPlaylistService {
+    private static final Logger log = LoggerFactory.getLogger(SpotifyPlaylistService.class);
+
     private final SongRepository songRepository;
-    private final SpotifyService spotifyService;
+    private final SpotifyTrackResolver trackResolver;
+    private final TrackResolutionCache trackCache;
 
     public SpotifyPlaylistService(SongRepository songRepository,
-                                  SpotifyService spotifyService) {
+                                  SpotifyTrackResolver trackResolver,
+                                  TrackResolutionCache trackCache) {
         this.songRepository = songRepository;
-        this.spotifyService = spotifyService;
+        this.trackResolver = trackResolver;
+        this.trackCache = trackCache;
     }
 
     // Search songs from Spotify and save them to the database
     @Transactional
     public PlaylistSpotifyResponse searchAndSaveSongsFromPlaylist(PlaylistSpotifyRequest request) {
-        List<Song> savedSongs = new ArrayList<>();
+        return searchAndSaveSongsFromPlaylist(request, resolution -> { });
+    }
 
-        // Search for the songs
-        for (TrackSpotifyRequest trackSpotifyRequest : request.getTracks()) {
+    // Same as above, reporting each track as soon as its Spotify search completes
+    @Transactional
+    public PlaylistSpotifyResponse searchAndSaveSongsFromPlaylist(PlaylistSpotifyRequest request,
+                                                                  Consumer<TrackResolution> onResolved) {
+        // Search for all songs in parallel; results come back in the requested order
+        List<TrackResolution> resolutions = trackResolver.resolveAll(request.getTracks(), onResolved);
+        return saveResolvedSongs(resolutions);
+    }
+
+    // Save the songs of already resolved tracks, keeping their order
+    @Transactional
+    public PlaylistSpotifyResponse saveResolvedSongs(List<TrackResolution> resolutions) {
+        List<TrackResolution> unresolvedTracks = new ArrayList<>();
 
-            // Call Spotify service
-            Optional<Track> spotifyTrackOpt = spotifyService.searchSong(
-                    trackSpotifyRequest.getTitle(),
-                    trackSpotifyRequest.getArtist()
-            );
+        // One candidate per distinct Spotify track ID, in playlist order
+        Map<String, Song> candidatesByTrackId = new LinkedHashMap<>();
+        for (TrackResolution resolution : resolutions) {
+            if (!resolution.isResolved()) {
+                // If search fails or finds nothing, skip this track but report it
+                unresolvedTracks.add(resolution);
+            } else if (resolution.status() == TrackResolution.Status.RESOLVED) {
+                Song candidate = toSong(resolution.track());
+                if (candidate != null) {
+                    candidatesByTrackId.putIfAbsent(candidate.getSpotifyTrackId(), candidate);
+                }
+            }
+        }
 
-            if (spotifyTrackOpt.isPresent()) {
-                Track spotifyTrack = spotifyTrackOpt.get();
+        Map<String, Song> songsByTrackId = upsertSongs(candidatesByTrackId.values());
 
-                if(spotifyTrack.getExternalUrls() == null) {
-                    continue;
+        List<Song> savedSongs = new ArrayList<>();
+        Map<TrackSpotifyRequest, Song> newlyResolved = new LinkedHashMap<>();
+        for (TrackResolution resolution : resolutions) {
+            if (resolution.status() == TrackResolution.Status.CACHED) {
+                // Already saved when it was first resolved
+                savedSongs.add(resolution.song());
+            } else if (resolution.status() == TrackResolution.Status.RESOLVED) {
+                Song song = songsByTrackId.get(trackIdOf(resolution.track()));
+                if (song != null) {
+                    savedSongs.add(song);
+                    newlyResolved.put(resolution.request(), song);
                 }
-                // Check if this song is already in db with the url
-                String spotifyURL = spotifyTrack.getExternalUrls().get("spotify");
+            }
+        }
+        trackCache.rememberAll(newlyResolved);
+
+        if (!unresolvedTracks.isEmpty()) {
+            log.info("Resolved {} of {} tracks on Spotify", savedSongs.size(), resolutions.size());
+        }
+        return new PlaylistSpotifyResponse(savedSongs, unresolvedTracks);
+    }
 
-                // Use findFirstByUrl to handle potential duplicates in the database
-                Optional<Song> existingSongOpt = songRepository.findFirstByUrl(spotifyURL);
+    // Bulk upsert: one IN query for the track IDs we already have, one multi-row insert for the rest.
+    // Returns the stored song for every candidate track ID.
+    private Map<String, Song> upsertSongs(Collection<Song> candidates) {
+        Map<String, Song> songsByTrackId = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return songsByTrackId;
+        }
 
-                Song songEntity;
-                if (existingSongOpt.isPresent()) {
-                    // It's already in db, just use that one
-                    songEntity = existingSongOpt.get();
-                } else {
-                    // New song, create and add it to db
-                    songEntity = new Song();
+        List<String> trackIds = candidates.stream().map(Song::getSpotifyTrackId).toList();
+        songRepository.findAllBySpotifyTrackIdIn(trackIds)
+                .forEach(song -> songsByTrackId.put(song.getSpotifyTrackId(), song));
 
-                    songEntity.setArtistName(spotifyTrack.getArtists()[0].getName());
-                    songEntity.setName(spotifyTrack.getName());
-                    songEntity.setUrl(spotifyTrack.getExternalUrls().get("spotify"));
+        List<Song> missing = candidates.stream()
+                .filter(song -> !songsByTrackId.containsKey(song.getSpotifyTrackId()))
+                .toList();
+        if (missing.isEmpty()) {
+            return songsByTrackId;
+        }
+        songRepository.insertMissingSongs(missing)
+                .forEach(song -> songsByTrackId.put(song.getSpotifyTrackId(), song));
 
-                    songEntity = songRepository.save(songEntity);
-                }
+        // Rows skipped by the insert were written concurrently by another request; read them back
+        List<String> raced = missing.stream()
+                .map(Song::getSpotifyTrackId)
+                .filter(trackId -> !songsByTrackId.containsKey(trackId))
+                .toList();
+        if (!raced.isEmpty()) {
+            songRepository.findAllBySpotifyTrackIdIn(raced)
+                    .forEach(song -> songsByTrackId.put(song.getSpotifyTrackId(), song));
+        }
+        return songsByTrackId;
+    }
 
-                savedSongs.add(songEntity);
-            }
-            // If search fails (Optional is empty), skip this track.
+    private static String spotifyUrlOf(Track spotifyTrack) {
+        if (spotifyTrack.getExternalUrls() == null) {
+            return null;
+        }
+        return spotifyTrack.getExternalUrls().get("spotify");
+    }
+
+    // The search result carries the ID; fall back to parsing the URL just in case
+    private static String trackIdOf(Track spotifyTrack) {
+        if (spotifyTrack.getId() != null) {
+            return spotifyTrack.getId();
+        }
+        return SpotifyUriUtil.trackIdOf(spotifyUrlOf(spotifyTrack));
+    }
+
+    // Build an unsaved Song for a search result, or null when it has no Spotify link
+    private static Song toSong(Track spotifyTrack) {
+        String url = spotifyUrlOf(spotifyTrack);
+        String trackId = trackIdOf(spotifyTrack);
+        if (url == null || trackId == null) {
+            return null;
         }
-        return new PlaylistSpotifyResponse(savedSongs);
+        Song song = new Song();
+        song.setArtistName(spotifyTrack.getArtists()[0].getName());
+        song.setName(spotifyTrack.getName());
+        song.setUrl(url);
+        song.setSpotifyTrackId(trackId);
+        return song;
     }
 }
@@ -1,46 +1,78 @@
 package com.zeroping.vibecheckbe.service;
 
+import com.zeroping.vibecheckbe.util.Hedger;
+import com.zeroping.vibecheckbe.util.RateLimiter;
+import com.zeroping.vibecheckbe.util.SingleFlight;
+import com.zeroping.vibecheckbe.util.TrackKeys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.apache.hc.core5.http.ParseException;
 import se.michaelthelin.spotify.SpotifyApi;
 import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
+import se.michaelthelin.spotify.exceptions.detailed.TooManyRequestsException;
 import se.michaelthelin.spotify.model_objects.specification.ArtistSimplified;
 import se.michaelthelin.spotify.model_objects.specification.Paging;
 import se.michaelthelin.spotify.model_objects.specification.Track;
 import se.michaelthelin.spotify.model_objects.specification.User;
 
 import java.io.IOException;
-import java.time.Instant;
+import java.io.InterruptedIOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 // Service to interact with Spotify API for searching songs and managing playlists
 @Service
 public class SpotifyService {
-    private final SpotifyApi spotifyApi;
-
-    // Access token + its absolute expiration moment (to refresh before it expires)
-    // This is the APP-LEVEL token used for general searching (Client Credentials Flow)
-    private String appAccessToken;
-    private Instant appTokenExpiresAt;
+    // Each call gets a client bound to its own token, so app and user calls can run in parallel
+    private final SpotifyClientFactory spotifyClients;
+
+    // APP-LEVEL token used for general searching (Client Credentials Flow), refreshed in the background
+    private final SpotifyAppTokenProvider appTokens;
+
+    // Concurrent searches for the same title/artist share one Spotify call
+    private final SingleFlight<String, Optional<Track>> inFlightSearches = new SingleFlight<>();
+
+    // Sends a second identical search when the first one is slower than usual
+    private final Hedger searchHedger;
+
+    // Process-wide limiter every Spotify Web API call goes through
+    private final RateLimiter rateLimiter;
+    private final int maxRateLimitRetries;
+
+    public SpotifyService(SpotifyClientFactory spotifyClients,
+                          SpotifyAppTokenProvider appTokens,
+                          Hedger spotifySearchHedger,
+                          RateLimiter spotifyRateLimiter,
+                          @Value("${spotify.rate-limit.max-retries:3}") int maxRateLimitRetries) {
+        this.spotifyClients = spotifyClients;  // Injected bean from AppConfig (already has clientId & clientSecret)
+        this.appTokens = appTokens;
+        this.searchHedger = spotifySearchHedger;
+        this.rateLimiter = spotifyRateLimiter;
+        this.maxRateLimitRetries = maxRateLimitRetries;
+    }
 
-    public SpotifyService(SpotifyApi spotifyApi) {
-        this.spotifyApi = spotifyApi;  // Injected bean from AppConfig (already has clientId & clientSecret)
+    // In-flight search coalescing, exposed for metrics
+    public SingleFlight<String, Optional<Track>> inFlightSearches() {
+        return inFlightSearches;
     }
 
     public Optional<Track> searchSong(String title, String artist) {
-        ensureAppAccessToken(); // Make sure we have a valid app-level token
-        spotifyApi.setAccessToken(appAccessToken);
+        return inFlightSearches.execute(TrackKeys.of(title, artist), () -> doSearchSong(title, artist));
+    }
+
+    private Optional<Track> doSearchSong(String title, String artist) {
+        SpotifyApi spotifyApi = spotifyClients.forToken(appTokens.currentToken()); // Client bound to a valid app-level token
 
         // Build the query in Spotify's recommended format
         String q = "track: " + title + " artist: " + artist;
 
         try {
             // Ask for first 10 results
-            Paging<Track> page = spotifyApi.searchTracks(q)
+            Paging<Track> page = callSpotifyHedged(() -> spotifyApi.searchTracks(q)
                     .limit(10)
                     .build()
-                    .execute();
+                    .execute());
 
             Track[] items = page.getItems();
             if (items == null || items.length == 0) {
@@ -68,33 +100,18 @@ public class SpotifyService {
             // If looped through all 10 and found no good match, the first one as a fallback
             return Optional.of(items[0]);
 
-        } catch (IOException | SpotifyWebApiException | ParseException e) {
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
             throw new RuntimeException("Error calling Spotify Search API!", e);
         }
     }
 
-    // Ensure we have a valid app-level access token (Client Credentials Flow)
-    private void ensureAppAccessToken() {
-        boolean needsRefresh = appAccessToken == null
-                || appTokenExpiresAt == null
-                || Instant.now().isAfter(appTokenExpiresAt.minusSeconds(60));
-
-        if (needsRefresh) {
-            try {
-                var creds = spotifyApi.clientCredentials().build().execute();
-                this.appAccessToken = creds.getAccessToken();
-                this.appTokenExpiresAt = Instant.now().plusSeconds(creds.getExpiresIn());
-            } catch (IOException | SpotifyWebApiException | ParseException e) {
-                throw new RuntimeException("Failed to obtain Spotify access token.", e);
-            }
-        }
-    }
-
     // Get the Spotify user ID of the current user
     public String getCurrentUserId(String userAccessToken) {
-        spotifyApi.setAccessToken(userAccessToken);
+        SpotifyApi spotifyApi = spotifyClients.forToken(userAccessToken);
         try {
-            User user = spotifyApi.getCurrentUsersProfile().build().execute();
+            User user = callSpotify(() -> spotifyApi.getCurrentUsersProfile().build().execute());
             return user.getId();
         } catch (IOException | SpotifyWebApiException | ParseException e) {
             throw new RuntimeException("Failed to get Spotify user ID", e);
@@ -103,13 +120,13 @@ public class SpotifyService {
 
     // Create a new playlist for the user
     public String createPlaylist(String userAccessToken, String spotifyUserId, String playlistName, String description) {
-        spotifyApi.setAccessToken(userAccessToken);
+        SpotifyApi spotifyApi = spotifyClients.forToken(userAccessToken);
         try {
-            var playlist = spotifyApi.createPlaylist(spotifyUserId, playlistName)
+            var playlist = callSpotify(() -> spotifyApi.createPlaylist(spotifyUserId, playlistName)
                     .description(description != null ? description : "Generated by AI")
                     .public_(false) // Default to private
                     .build()
-                    .execute();
+                    .execute());
             return playlist.getId();
         } catch (IOException | SpotifyWebApiException | ParseException e) {
             throw new RuntimeException("Failed to create Spotify playlist", e);
@@ -118,17 +135,65 @@ public class SpotifyService {
 
     // Add tracks to an existing playlist
     public void addTracksToPlaylist(String userAccessToken, String spotifyPlaylistId, List<String> trackUris) {
-        spotifyApi.setAccessToken(userAccessToken);
+        SpotifyApi spotifyApi = spotifyClients.forToken(userAccessToken);
         try {
             // Convert List<String> to String[]
             String[] urisArray = trackUris.toArray(new String[0]);
 
-            spotifyApi.addItemsToPlaylist(spotifyPlaylistId, urisArray)
+            callSpotify(() -> spotifyApi.addItemsToPlaylist(spotifyPlaylistId, urisArray)
                     .build()
-                    .execute();
+                    .execute());
 
         } catch (IOException | SpotifyWebApiException | ParseException e) {
             throw new RuntimeException("Failed to add tracks to Spotify playlist", e);
         }
     }
-}
\ No newline at end of file
+
+    // Run one Spotify Web API call through the shared rate limiter.
+    // A 429 pauses the limiter for everyone for the Retry-After time, then the call is queued again.
+    private <T> T callSpotify(SpotifyCall<T> call) throws IOException, SpotifyWebApiException, ParseException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the Spotify rate limiter");
+            }
+            try {
+                return call.execute();
+            } catch (TooManyRequestsException e) {
+                // Retry-After is in seconds; Spotify omits it now and then
+                rateLimiter.pauseFor(Duration.ofSeconds(Math.max(1, e.getRetryAfter())));
+                if (attempt >= maxRateLimitRetries) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Run a call through the rate limiter and hedge it when it is slow.
+    // The permit is taken before the hedged part, so the hedger times only the HTTP call and never mistakes
+    // a wait in the limiter queue for a slow Spotify. A hedge is only sent while nobody is queued in the
+    // limiter and a permit is free right away; it never waits for one.
+    private <T> T callSpotifyHedged(SpotifyCall<T> call) throws IOException, SpotifyWebApiException, ParseException {
+        return callSpotify(() -> {
+            try {
+                return searchHedger.execute(call::execute,
+                        () -> rateLimiter.queueDepth() == 0 && rateLimiter.tryAcquire());
+            } catch (IOException | SpotifyWebApiException | ParseException | RuntimeException e) {
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a Spotify search");
+            } catch (Exception e) {
+                throw new RuntimeException("Error calling Spotify Search API!", e);
+            }
+        });
+    }
+
+    // A Spotify Web API request, with the checked exceptions the client library throws
+    @FunctionalInterface
+    private interface SpotifyCall<T> {
+        T execute() throws IOException, SpotifyWebApiException, ParseException;
+    }
+}
@@ -0,0 +1,142 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.TrackResolution;
+import com.zeroping.vibecheckbe.dto.TrackSpotifyRequest;
+import com.zeroping.vibecheckbe.entity.Song;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import se.michaelthelin.spotify.model_objects.specification.Track;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+// Service that resolves requested tracks against Spotify in parallel on virtual threads
+@Service
+public class SpotifyTrackResolver {
+    private static final Logger log = LoggerFactory.getLogger(SpotifyTrackResolver.class);
+
+    private final SpotifyService spotifyService;
+    private final TrackResolutionCache trackCache;
+    private final PlaylistGenerationMetrics metrics;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Shared across all requests so the total number of in-flight Spotify searches stays bounded
+    private final Semaphore searchPermits;
+
+    public SpotifyTrackResolver(SpotifyService spotifyService,
+                                TrackResolutionCache trackCache,
+                                PlaylistGenerationMetrics metrics,
+                                @Value("${spotify.search.max-concurrency:8}") int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("spotify.search.max-concurrency must be at least 1");
+        }
+        this.spotifyService = spotifyService;
+        this.trackCache = trackCache;
+        this.metrics = metrics;
+        this.searchPermits = new Semaphore(maxConcurrency, true);
+    }
+
+    // Resolve all tracks concurrently; the result keeps the order of the requested tracks
+    public List<TrackResolution> resolveAll(List<TrackSpotifyRequest> tracks) {
+        return resolveAll(tracks, resolution -> { });
+    }
+
+    // Same as resolveAll, but notifies the callback (from the worker thread) as each track completes
+    public List<TrackResolution> resolveAll(List<TrackSpotifyRequest> tracks, Consumer<TrackResolution> onResolved) {
+        // Warm the in-memory cache with one query so the searches below can skip known tracks
+        trackCache.prefetch(tracks);
+        Batch batch = newBatch(onResolved);
+        tracks.forEach(batch::submit);
+        return batch.awaitAll();
+    }
+
+    // Start a batch that accepts tracks one at a time, e.g. while the LLM is still streaming them
+    public Batch newBatch(Consumer<TrackResolution> onResolved) {
+        return new Batch(onResolved);
+    }
+
+    // A group of searches whose results are collected in submission order
+    public class Batch {
+        private final Consumer<TrackResolution> onResolved;
+        private final List<CompletableFuture<TrackResolution>> futures = new ArrayList<>();
+
+        private Batch(Consumer<TrackResolution> onResolved) {
+            this.onResolved = onResolved;
+        }
+
+        // Start searching for a track right away
+        public synchronized void submit(TrackSpotifyRequest track) {
+            int position = futures.size();
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> resolve(position, track), executor)
+                    .thenApply(resolution -> {
+                        metrics.countResolution(resolution.status());
+                        onResolved.accept(resolution);
+                        return resolution;
+                    }));
+        }
+
+        // Wait for every submitted search and return the results in submission order
+        public List<TrackResolution> awaitAll() {
+            List<CompletableFuture<TrackResolution>> submitted;
+            synchronized (this) {
+                submitted = List.copyOf(futures);
+            }
+
+            List<TrackResolution> resolutions = new ArrayList<>(submitted.size());
+            for (CompletableFuture<TrackResolution> future : submitted) {
+                resolutions.add(future.join());
+            }
+            return resolutions;
+        }
+    }
+
+    // Resolve a single track; failures are captured in the result instead of being thrown
+    private TrackResolution resolve(int position, TrackSpotifyRequest track) {
+        // Tracks we have resolved before do not need a search slot at all
+        Optional<Song> known = trackCache.lookup(track);
+        if (known.isPresent()) {
+            return TrackResolution.cached(position, track, known.get());
+        }
+
+        long waitStartedAt = System.nanoTime();
+        try {
+            searchPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return TrackResolution.failed(position, track, "Interrupted while waiting for a search slot");
+        }
+
+        long searchStartedAt = System.nanoTime();
+        metrics.recordSearchWait(Duration.ofNanos(searchStartedAt - waitStartedAt));
+        TrackResolution resolution;
+        try {
+            Optional<Track> spotifyTrack = spotifyService.searchSong(track.getTitle(), track.getArtist());
+            resolution = spotifyTrack
+                    .map(t -> TrackResolution.resolved(position, track, t))
+                    .orElseGet(() -> TrackResolution.notFound(position, track));
+        } catch (RuntimeException e) {
+            log.warn("Spotify search failed for '{}' by '{}': {}", track.getTitle(), track.getArtist(), e.getMessage());
+            resolution = TrackResolution.failed(position, track, e.getMessage());
+        } finally {
+            searchPermits.release();
+        }
+        metrics.recordSearch(Duration.ofNanos(System.nanoTime() - searchStartedAt), resolution.status());
+        return resolution;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
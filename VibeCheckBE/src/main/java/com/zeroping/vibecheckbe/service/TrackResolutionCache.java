@@ -0,0 +1,153 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.TrackSpotifyRequest;
+import com.zeroping.vibecheckbe.entity.Song;
+import com.zeroping.vibecheckbe.entity.SongLookup;
+import com.zeroping.vibecheckbe.repository.SongLookupRepository;
+import com.zeroping.vibecheckbe.util.LruTtlCache;
+import com.zeroping.vibecheckbe.util.TrackKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Two-level cache of (title, artist) -> song lookups, so tracks we have seen before skip the Spotify search.
+// Level 1 is an in-memory LRU of detached song snapshots, level 2 is the persistent SongLookups table.
+@Service
+public class TrackResolutionCache {
+    private static final Logger log = LoggerFactory.getLogger(TrackResolutionCache.class);
+
+    private final SongLookupRepository songLookupRepository;
+    private final boolean enabled;
+    private final LruTtlCache<String, Song> memory;
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong persistentMisses = new AtomicLong();
+
+    public TrackResolutionCache(SongLookupRepository songLookupRepository,
+                                @Value("${spotify.track-cache.enabled:true}") boolean enabled,
+                                @Value("${spotify.track-cache.max-entries:10000}") int maxEntries,
+                                @Value("${spotify.track-cache.ttl:24h}") Duration ttl) {
+        this.songLookupRepository = songLookupRepository;
+        this.enabled = enabled;
+        this.memory = new LruTtlCache<>(maxEntries, ttl);
+    }
+
+    // Look the track up in memory first, then in the database
+    public Optional<Song> lookup(TrackSpotifyRequest track) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = TrackKeys.of(track.getTitle(), track.getArtist());
+        Optional<Song> cached = memory.get(key);
+        if (cached.isPresent()) {
+            return cached.map(TrackResolutionCache::snapshotOf);
+        }
+
+        try {
+            Optional<Song> stored = songLookupRepository.findAllWithSongByLookupKeyIn(List.of(key)).stream()
+                    .findFirst()
+                    .map(lookup -> snapshotOf(lookup.getSong()));
+            if (stored.isPresent()) {
+                persistentHits.incrementAndGet();
+                memory.put(key, stored.get());
+                return stored.map(TrackResolutionCache::snapshotOf);
+            }
+            persistentMisses.incrementAndGet();
+        } catch (DataAccessException e) {
+            // The lookup table is only an optimization; fall back to searching Spotify
+            log.warn("Track lookup failed for key '{}': {}", key, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    // Load the stored lookups of every track not already in memory with a single query
+    public void prefetch(Collection<TrackSpotifyRequest> tracks) {
+        if (!enabled || tracks.isEmpty()) {
+            return;
+        }
+        List<String> missingKeys = tracks.stream()
+                .map(track -> TrackKeys.of(track.getTitle(), track.getArtist()))
+                .distinct()
+                .filter(key -> memory.peek(key).isEmpty())
+                .toList();
+        if (missingKeys.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (SongLookup lookup : songLookupRepository.findAllWithSongByLookupKeyIn(missingKeys)) {
+                memory.put(lookup.getLookupKey(), snapshotOf(lookup.getSong()));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Prefetching {} track lookups failed: {}", missingKeys.size(), e.getMessage());
+        }
+    }
+
+    // Record the song a track resolved to in both levels; the song must already be saved
+    public void remember(TrackSpotifyRequest track, Song song) {
+        rememberAll(Map.of(track, song));
+    }
+
+    // Record several resolved tracks at once: one query for the keys already stored, one batch for the rest
+    public void rememberAll(Map<TrackSpotifyRequest, Song> songsByTrack) {
+        if (!enabled || songsByTrack.isEmpty()) {
+            return;
+        }
+        Map<String, Song> songsByKey = new LinkedHashMap<>();
+        songsByTrack.forEach((track, song) -> {
+            if (song.getId() != null) {
+                songsByKey.putIfAbsent(TrackKeys.of(track.getTitle(), track.getArtist()), song);
+            }
+        });
+        songsByKey.forEach((key, song) -> memory.put(key, snapshotOf(song)));
+
+        try {
+            Set<String> storedKeys = songLookupRepository.findAllById(songsByKey.keySet()).stream()
+                    .map(SongLookup::getLookupKey)
+                    .collect(Collectors.toSet());
+            List<SongLookup> newLookups = songsByKey.entrySet().stream()
+                    .filter(entry -> !storedKeys.contains(entry.getKey()))
+                    .map(entry -> new SongLookup(entry.getKey(), entry.getValue()))
+                    .toList();
+            if (!newLookups.isEmpty()) {
+                songLookupRepository.saveAll(newLookups);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not store {} track lookups: {}", songsByKey.size(), e.getMessage());
+        }
+    }
+
+    // Drop the in-memory level (the persistent level is left untouched)
+    public void clearMemory() {
+        memory.clear();
+    }
+
+    public LruTtlCache.Stats memoryStats() {
+        return memory.stats();
+    }
+
+    public long persistentHitCount() {
+        return persistentHits.get();
+    }
+
+    public long persistentMissCount() {
+        return persistentMisses.get();
+    }
+
+    // Detached copy without the lazy playlists collection, safe to share between threads and sessions
+    private static Song snapshotOf(Song song) {
+        return new Song(song.getId(), song.getName(), song.getUrl(), song.getArtistName(),
+                song.getSpotifyTrackId(), null);
+    }
+}
@@ -12,7 +12,6 @@ import com.zeroping.vibecheckbe.exception.genre.GenreNotFoundException;
 import com.zeroping.vibecheckbe.exception.user.UserNotFoundException;
 import com.zeroping.vibecheckbe.repository.PlaylistRepository;
 import com.zeroping.vibecheckbe.repository.UserRepository;
-import com.zeroping.vibecheckbe.repository.GenreRepository;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,20 +25,20 @@ import java.util.stream.Stream;
 @Service
 public class UserService {
     private final UserRepository userRepository;
-    private final GenreRepository genreRepository;
+    private final ReferenceDataRegistry referenceData;
     private final PlaylistRepository playlistRepository;
 
-    public UserService(UserRepository userRepository, GenreRepository genreRepository, 
+    public UserService(UserRepository userRepository, ReferenceDataRegistry referenceData,
                        PlaylistRepository playlistRepository) {
         this.userRepository = userRepository;
-        this.genreRepository = genreRepository;
+        this.referenceData = referenceData;
         this.playlistRepository = playlistRepository;
     }
 
     // Get user by ID
     @Transactional(readOnly = true)
     public UserDTO getUserById(UUID id) {
-        User user = userRepository.findById(id)
+        User user = userRepository.findWithGenresById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + id));
 
         return toUserDTO(user);
@@ -78,10 +77,11 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
-    // Resolve Genre by ID, or return null if ID is null
+    // Resolve Genre by ID from the reference data, or return null if ID is null
     private Genre resolveGenreOrNull(Long genreId) {
         if (genreId == null) return null;
-        return genreRepository.findById(genreId)
+        return referenceData.genre(genreId)
+                .map(ReferenceDataRegistry.GenreData::toEntity)
                 .orElseThrow(() -> new GenreNotFoundException("Genre not found: " + genreId));
     }
 
@@ -183,7 +183,8 @@ public class UserService {
             if (!updateDTO.getGenres().isEmpty()) {
                 // Convert genre names to Genre entities
                 Set<Genre> newGenres = updateDTO.getGenres().stream()
-                        .map(name -> genreRepository.findByNameIgnoreCase(name)
+                        .map(name -> referenceData.genreByName(name)
+                                .map(ReferenceDataRegistry.GenreData::toEntity)
                                 .orElseThrow(() -> new GenreNotFoundException("Genre not found: " + name)))
                         .limit(3)
                         .collect(Collectors.toCollection(LinkedHashSet::new));
@@ -0,0 +1,243 @@
+package com.zeroping.vibecheckbe.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+// Hedged requests: if a call has not answered within the observed latency percentile,
+// an identical second call is started and whichever succeeds first wins.
+// Hedges are paid for with tokens that every call adds a fraction of, so at most
+// maxHedgeRatio of the calls are ever duplicated.
+public class Hedger {
+    private static final double MAX_TOKENS = 10.0;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final double maxHedgeRatio;
+    private final int minSamples;
+    private final long minDelayNanos;
+    private final ExecutorService executor;
+
+    // Ring buffer of the latencies of recent primary calls
+    private final long[] latencies;
+    private int nextSlot;
+    private int samples;
+    private double tokens;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+
+    public Hedger(boolean enabled, double percentile, double maxHedgeRatio,
+                  int windowSize, int minSamples, Duration minDelay) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Hedge percentile must be between 0 and 1");
+        }
+        if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+            throw new IllegalArgumentException("Hedge ratio must be between 0 and 1");
+        }
+        if (windowSize < 1 || minSamples < 1 || minSamples > windowSize) {
+            throw new IllegalArgumentException("Hedge window must hold at least minSamples latencies");
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.minSamples = minSamples;
+        this.minDelayNanos = minDelay.toNanos();
+        this.latencies = new long[windowSize];
+        this.executor = enabled ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    // A hedger that simply runs every call once on the calling thread
+    public static Hedger disabled() {
+        return new Hedger(false, 0.9, 0.0, 1, 1, Duration.ZERO);
+    }
+
+    public <T> T execute(Callable<T> call) throws Exception {
+        return execute(call, () -> true);
+    }
+
+    // Like execute(call), but a slow call is only hedged if mayHedge agrees at that moment.
+    // The caller uses it to keep hedges from competing with its own backlog (e.g. a rate limiter queue).
+    public <T> T execute(Callable<T> call, BooleanSupplier mayHedge) throws Exception {
+        calls.incrementAndGet();
+        if (!enabled) {
+            return call.call();
+        }
+
+        addToken();
+        Optional<Duration> hedgeDelay = currentHedgeDelay();
+        long startedAt = System.nanoTime();
+        if (hedgeDelay.isEmpty()) {
+            // Not enough samples yet to know what "slow" means
+            T result = call.call();
+            recordLatency(System.nanoTime() - startedAt);
+            return result;
+        }
+
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> callUnchecked(call), executor);
+        primary.whenComplete((result, error) -> {
+            if (error == null) {
+                recordLatency(System.nanoTime() - startedAt);
+            }
+        });
+
+        try {
+            return primary.get(hedgeDelay.get().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException slow) {
+            if (!tryTakeToken()) {
+                throttled.incrementAndGet();
+                return await(primary);
+            }
+            if (!mayHedge.getAsBoolean()) {
+                returnToken();
+                deferred.incrementAndGet();
+                return await(primary);
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+
+        hedges.incrementAndGet();
+        CompletableFuture<T> hedge = CompletableFuture.supplyAsync(() -> callUnchecked(call), executor);
+        return await(firstSuccessOf(primary, hedge));
+    }
+
+    // Current hedge delay (the latency percentile of recent calls), empty while there are too few samples
+    public synchronized Optional<Duration> currentHedgeDelay() {
+        if (samples < minSamples) {
+            return Optional.empty();
+        }
+        long[] window = Arrays.copyOf(latencies, samples);
+        Arrays.sort(window);
+        int index = Math.min(samples - 1, (int) Math.ceil(percentile * samples) - 1);
+        return Optional.of(Duration.ofNanos(Math.max(minDelayNanos, window[Math.max(0, index)])));
+    }
+
+    public long callCount() {
+        return calls.get();
+    }
+
+    // Number of second calls that were started
+    public long hedgeCount() {
+        return hedges.get();
+    }
+
+    // Number of hedges that answered before the original call
+    public long hedgeWinCount() {
+        return hedgeWins.get();
+    }
+
+    // Number of slow calls that were not hedged because the hedge budget was used up
+    public long throttledCount() {
+        return throttled.get();
+    }
+
+    // Number of slow calls that were not hedged because the caller held the hedge back
+    public long deferredCount() {
+        return deferred.get();
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> CompletableFuture<T> firstSuccessOf(CompletableFuture<T> primary, CompletableFuture<T> hedge) {
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicBoolean settled = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, error) -> settle(first, settled, failures, result, error, false));
+        hedge.whenComplete((result, error) -> settle(first, settled, failures, result, error, true));
+        // The loser's answer is not needed any more
+        first.whenComplete((result, error) -> {
+            primary.cancel(true);
+            hedge.cancel(true);
+        });
+        return first;
+    }
+
+    private <T> void settle(CompletableFuture<T> first, AtomicBoolean settled, AtomicInteger failures,
+                            T result, Throwable error, boolean fromHedge) {
+        if (error == null) {
+            if (settled.compareAndSet(false, true)) {
+                if (fromHedge) {
+                    hedgeWins.incrementAndGet();
+                }
+                first.complete(result);
+            }
+        } else if (failures.incrementAndGet() == 2 && settled.compareAndSet(false, true)) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[nextSlot] = nanos;
+        nextSlot = (nextSlot + 1) % latencies.length;
+        samples = Math.min(samples + 1, latencies.length);
+    }
+
+    private synchronized void addToken() {
+        tokens = Math.min(MAX_TOKENS, tokens + maxHedgeRatio);
+    }
+
+    private synchronized boolean tryTakeToken() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    private synchronized void returnToken() {
+        tokens = Math.min(MAX_TOKENS, tokens + 1.0);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static <T> T callUnchecked(Callable<T> call) {
+        try {
+            return call.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof Exception exception) {
+            return exception;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new RuntimeException(cause);
+    }
+}
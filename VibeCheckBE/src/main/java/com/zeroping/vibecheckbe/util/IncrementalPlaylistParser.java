@@ -0,0 +1,144 @@
+package com.zeroping.vibecheckbe.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.TrackAgentResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Incremental parser for the playlist JSON produced by the LLM.
+// Text fragments are fed as they stream in and every track is emitted as soon as its object is closed.
+public class IncrementalPlaylistParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Consumer<TrackAgentResponse> onTrack;
+    private final List<TrackAgentResponse> tracks = new ArrayList<>();
+
+    private String playlistName;
+    private boolean rootStarted;
+    private boolean rootClosed;
+    private int depth;
+    private boolean inTracksArray;
+    private String currentField;
+    private TrackAgentResponse currentTrack;
+
+    public IncrementalPlaylistParser(Consumer<TrackAgentResponse> onTrack) {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create streaming JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.onTrack = onTrack;
+    }
+
+    // Feed the next piece of LLM text; complete tracks are passed to the callback before this returns
+    public void feed(String fragment) throws IOException {
+        if (rootClosed || fragment == null || fragment.isEmpty()) {
+            return;
+        }
+
+        String text = fragment;
+        if (!rootStarted) {
+            // The model sometimes wraps the JSON in markdown fences; skip everything before the first brace
+            int start = text.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            text = text.substring(start);
+            rootStarted = true;
+        }
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    // Signal that the stream ended and return the full playlist
+    public PlaylistAgentResponse finish() throws IOException {
+        feeder.endOfInput();
+        if (!rootClosed) {
+            drain();
+        }
+        if (!rootClosed || playlistName == null) {
+            throw new IllegalArgumentException("Invalid JSON structure.");
+        }
+
+        PlaylistAgentResponse playlist = new PlaylistAgentResponse();
+        playlist.setPlaylist_name(playlistName);
+        playlist.setTracks(new ArrayList<>(tracks));
+        return playlist;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!rootClosed && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            handle(token);
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT -> {
+                depth++;
+                // depth 1 = root, depth 2 inside "tracks" = a track
+                if (inTracksArray && depth == 2) {
+                    currentTrack = new TrackAgentResponse();
+                }
+            }
+            case END_OBJECT -> {
+                if (inTracksArray && depth == 2 && currentTrack != null) {
+                    emit(currentTrack);
+                    currentTrack = null;
+                }
+                depth--;
+                if (depth == 0) {
+                    rootClosed = true;
+                }
+            }
+            case START_ARRAY -> {
+                if (depth == 1 && "tracks".equals(currentField)) {
+                    inTracksArray = true;
+                }
+            }
+            case END_ARRAY -> {
+                if (depth == 1) {
+                    inTracksArray = false;
+                }
+            }
+            case FIELD_NAME -> currentField = parser.currentName();
+            case VALUE_STRING -> {
+                String value = parser.getText();
+                if (depth == 1 && "playlist_name".equals(currentField)) {
+                    playlistName = value;
+                } else if (currentTrack != null && depth == 2) {
+                    if ("title".equals(currentField)) {
+                        currentTrack.setTitle(value);
+                    } else if ("artist".equals(currentField)) {
+                        currentTrack.setArtist(value);
+                    }
+                }
+            }
+            default -> {
+                // Numbers, booleans and nested values are not part of the playlist contract
+            }
+        }
+    }
+
+    private void emit(TrackAgentResponse track) {
+        if (track.getTitle() == null || track.getArtist() == null) {
+            throw new IllegalArgumentException("A track contains missing fields.");
+        }
+        tracks.add(track);
+        onTrack.accept(track);
+    }
+}
@@ -0,0 +1,47 @@
+package com.zeroping.vibecheckbe.util;
+
+import com.zeroping.vibecheckbe.exception.pagination.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+// Position in a list sorted by (created_at DESC, id DESC): the sort key of the last row of a page.
+// Clients get it as a URL-safe token and should pass it back unchanged, but it is plain (unsigned) Base64:
+// decoding only checks the format. That is enough because every page query is scoped to the caller's own rows,
+// so a hand-made cursor can only pick a different starting point within them.
+public record KeysetCursor(Instant createdAt, long id) {
+    private static final String VERSION = "v1";
+
+    // Cursor for tables whose created_at is mapped as LocalDateTime (the value is only encoded, not shifted)
+    public static KeysetCursor of(LocalDateTime createdAt, long id) {
+        return new KeysetCursor(createdAt.toInstant(ZoneOffset.UTC), id);
+    }
+
+    public LocalDateTime createdAtAsLocalDateTime() {
+        return LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC);
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException(token);
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            return new KeysetCursor(createdAt, Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // Covers bad Base64 as well as NumberFormatException
+            throw new InvalidCursorException(token);
+        }
+    }
+}
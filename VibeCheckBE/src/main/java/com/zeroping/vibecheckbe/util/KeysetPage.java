@@ -0,0 +1,34 @@
+package com.zeroping.vibecheckbe.util;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset-paginated list, plus the cursor of the next page (null on the last page)
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+    // Response header carrying the cursor of the next page
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Build a page from rows fetched with limit + 1: the extra row only tells that there is a next page
+    public static <E, T> KeysetPage<T> of(List<E> rows, int limit,
+                                          Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.getLast()).encode() : null;
+        return new KeysetPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    // 200 with the items as the body, so existing clients still get a plain list
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
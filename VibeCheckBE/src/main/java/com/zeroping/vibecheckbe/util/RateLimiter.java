@@ -0,0 +1,119 @@
+package com.zeroping.vibecheckbe.util;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token-bucket rate limiter shared by every caller of one upstream API.
+// Callers reserve the next free slot in arrival order and sleep until it comes up,
+// so waiting callers are served first-come first-served instead of racing for permits.
+// pauseFor() holds back every caller, e.g. while a Retry-After from the upstream is running.
+public class RateLimiter {
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    // Moment at which the next permit becomes free; lags behind "now" by up to burstNanos when idle
+    private long nextFreeNanos;
+    // Nobody may call the upstream before this moment
+    private long pausedUntilNanos;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong throttledNanos = new AtomicLong();
+    private final AtomicLong pauses = new AtomicLong();
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * (burst - 1);
+        long now = System.nanoTime();
+        this.nextFreeNanos = now - burstNanos;
+        this.pausedUntilNanos = nextFreeNanos;
+    }
+
+    // Block until the caller may make one call
+    public void acquire() throws InterruptedException {
+        long startedAt = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            while (true) {
+                long wakeAt = reserve();
+                long sleepNanos = wakeAt - System.nanoTime();
+                if (sleepNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                }
+                // A pause that started while we slept pushes us behind it
+                if (!isPaused()) {
+                    break;
+                }
+            }
+        } finally {
+            waiting.decrementAndGet();
+            throttledNanos.addAndGet(System.nanoTime() - startedAt);
+        }
+        acquired.incrementAndGet();
+    }
+
+    // Take a permit only if one is free right now and the limiter is not paused; never waits
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        long earliest = Math.max(now - burstNanos, pausedUntilNanos);
+        long slot = nextFreeNanos - earliest > 0 ? nextFreeNanos : earliest;
+        if (slot - now > 0) {
+            return false;
+        }
+        nextFreeNanos = slot + intervalNanos;
+        acquired.incrementAndGet();
+        return true;
+    }
+
+    // Hold back every caller for the given time, e.g. because the upstream answered 429 with a Retry-After
+    public synchronized void pauseFor(Duration duration) {
+        long until = System.nanoTime() + duration.toNanos();
+        if (until - pausedUntilNanos > 0) {
+            pausedUntilNanos = until;
+            pauses.incrementAndGet();
+        }
+        // Whatever burst was saved up is void after a 429
+        if (until - nextFreeNanos > 0) {
+            nextFreeNanos = until;
+        }
+    }
+
+    // Number of callers currently queued in acquire()
+    public int queueDepth() {
+        return waiting.get();
+    }
+
+    public long acquiredCount() {
+        return acquired.get();
+    }
+
+    // Total time callers have spent waiting in acquire()
+    public Duration totalThrottleTime() {
+        return Duration.ofNanos(throttledNanos.get());
+    }
+
+    // Number of times the limiter was paused by the upstream
+    public long pauseCount() {
+        return pauses.get();
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        long earliest = Math.max(now - burstNanos, pausedUntilNanos);
+        long slot = nextFreeNanos - earliest > 0 ? nextFreeNanos : earliest;
+        nextFreeNanos = slot + intervalNanos;
+        return slot;
+    }
+
+    private synchronized boolean isPaused() {
+        return pausedUntilNanos - System.nanoTime() > 0;
+    }
+}
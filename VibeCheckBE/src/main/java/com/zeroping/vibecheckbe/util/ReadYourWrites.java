@@ -0,0 +1,34 @@
+package com.zeroping.vibecheckbe.util;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// Names the user whose writes the current thread makes, for work that runs outside a request (job workers).
+// The read-replica routing uses it before the security context, so such writes still open the user's
+// read-your-writes window and the user's next reads see them.
+public final class ReadYourWrites {
+    private static final ThreadLocal<String> OWNER = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    // Run the work with its writes attributed to the given user; pooled threads keep no owner afterwards
+    public static void runAs(UUID userId, Runnable work) {
+        String previous = OWNER.get();
+        OWNER.set(userId.toString());
+        try {
+            work.run();
+        } finally {
+            if (previous == null) {
+                OWNER.remove();
+            } else {
+                OWNER.set(previous);
+            }
+        }
+    }
+
+    // The user set by runAs on this thread, if any
+    public static Optional<String> owner() {
+        return Optional.ofNullable(OWNER.get());
+    }
+}
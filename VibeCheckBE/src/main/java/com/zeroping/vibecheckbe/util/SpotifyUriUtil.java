@@ -3,11 +3,26 @@ package com.zeroping.vibecheckbe.util;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-// Utility class for converting Spotify URLs to Spotify URI format
+// Utility class for converting between Spotify track URLs, URIs and track IDs
 public class SpotifyUriUtil {
+    private static final String TRACK_URI_PREFIX = "spotify:track:";
     private static final Pattern SPOTIFY_URL_PATTERN = Pattern.compile(
         "https://open\\.spotify\\.com/track/([a-zA-Z0-9]+)"
     );
+
+    // Builds the Spotify URI (spotify:track:...) for a track ID
+    public static String trackIdToUri(String trackId) {
+        if (trackId == null || trackId.isEmpty()) {
+            return null;
+        }
+        return TRACK_URI_PREFIX + trackId;
+    }
+
+    // Extracts the track ID from a Spotify track URL or URI, or returns null
+    public static String trackIdOf(String spotifyUrl) {
+        String uri = urlToUri(spotifyUrl);
+        return uri == null ? null : uri.substring(TRACK_URI_PREFIX.length());
+    }
     
     // Converts a Spotify track URL to Spotify URI format
     public static String urlToUri(String spotifyUrl) {
@@ -16,7 +31,7 @@ public class SpotifyUriUtil {
         }
         
         // If already in URI format, return as is
-        if (spotifyUrl.startsWith("spotify:track:")) {
+        if (spotifyUrl.startsWith(TRACK_URI_PREFIX)) {
             return spotifyUrl;
         }
         
@@ -24,7 +39,7 @@ public class SpotifyUriUtil {
         Matcher matcher = SPOTIFY_URL_PATTERN.matcher(spotifyUrl);
         if (matcher.find()) {
             String trackId = matcher.group(1);
-            return "spotify:track:" + trackId;
+            return TRACK_URI_PREFIX + trackId;
         }
         
         return null;
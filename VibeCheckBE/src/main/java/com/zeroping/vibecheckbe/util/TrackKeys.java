@@ -0,0 +1,21 @@
+package com.zeroping.vibecheckbe.util;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Utility class for building normalized (title, artist) keys used to look up tracks
+public class TrackKeys {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Builds a key like "uptown funk|mark ronson" (trimmed, lower-case, single spaces)
+    public static String of(String title, String artist) {
+        return normalize(title) + "|" + normalize(artist);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(value.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+}
@@ -0,0 +1,9 @@
+-- Persistent (title, artist) -> song lookup used by TrackResolutionCache.
+-- lookup_key is the normalized "title|artist" produced by TrackKeys.
+CREATE TABLE IF NOT EXISTS public."SongLookups" (
+    lookup_key  VARCHAR(1024) PRIMARY KEY,
+    song_id     BIGINT      NOT NULL REFERENCES public."Songs" (id) ON DELETE CASCADE,
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_song_lookups_song_id ON public."SongLookups" (song_id);
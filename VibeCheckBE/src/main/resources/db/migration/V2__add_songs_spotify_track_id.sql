@@ -0,0 +1,16 @@
+-- Natural key for songs: the Spotify track ID.
+-- The column starts out NULL for existing rows; SongDeduplicationJob (songs.dedup.run-on-startup=true)
+-- backfills it and merges duplicate rows. NULLs do not collide in a unique index, so the index can be
+-- created before the backfill.
+ALTER TABLE public."Songs" ADD COLUMN IF NOT EXISTS spotify_track_id VARCHAR(32);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_songs_spotify_track_id
+    ON public."Songs" (spotify_track_id);
+
+-- Used by the job to walk the rows that still need the backfill
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_songs_missing_track_id
+    ON public."Songs" (id) WHERE spotify_track_id IS NULL;
+
+-- Used while re-pointing playlist links from merged songs
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_playlist_songs_song_id
+    ON public.playlist_songs (song_id);
@@ -0,0 +1,7 @@
+-- Keyset pagination of a user's playlists and mood entries walks (created_at DESC, id DESC) per user;
+-- with these indexes every page is a short range scan, however deep the client has paged.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_playlists_user_created_id
+    ON public."Playlists" (user_id, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_mood_entries_user_created_id
+    ON public."MoodEntries" (user_id, created_at DESC, id DESC);
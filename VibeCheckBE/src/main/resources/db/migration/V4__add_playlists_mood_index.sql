@@ -0,0 +1,5 @@
+-- The playlist fallback looks up the user's latest playlist with songs for a mood
+-- (user_id = ? AND LOWER(mood) = LOWER(?) ORDER BY created_at DESC LIMIT 1); this index serves it as a short
+-- backward scan instead of a sort of the user's playlists. The "has songs" check probes the playlist_songs primary key.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_playlists_user_lower_mood_created
+    ON public."Playlists" (user_id, lower(mood), created_at DESC);
@@ -0,0 +1,91 @@
+package com.zeroping.vibecheckbe;
+
+import com.zeroping.vibecheckbe.entity.Song;
+import com.zeroping.vibecheckbe.repository.SongRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Boots JPA against a PostgreSQL schema built only by the Flyway migrations (on top of the Supabase base tables).
+// Hibernate validates every entity against it at startup, so a mapped column without a migration fails here.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class MigratedSchemaTest {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private SongRepository songRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("""
+            Given an empty PostgreSQL database
+            When the application starts
+            Then every migration is applied and the entities match the resulting schema
+            """)
+    void givenEmptyDatabase_WhenStarted_ThenAllMigrationsApplied() {
+        // When
+        List<String> applied = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getVersion)
+                .map(Object::toString)
+                .toList();
+
+        // Then
+        assertEquals(List.of("0", "1", "2", "3", "4"), applied);
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    @DisplayName("""
+            Given the migrated Songs table
+            When a song is stored and looked up by its Spotify track ID, and a second row reuses the ID
+            Then the lookup finds it and the unique index rejects the duplicate
+            """)
+    void givenMigratedSongs_WhenStoringByTrackId_ThenFoundAndUnique() {
+        // Given
+        songRepository.saveAndFlush(new Song(null, "Song", "https://open.spotify.com/track/abc123", "Artist", "abc123", null));
+
+        // When / Then
+        assertEquals(1, songRepository.findAllBySpotifyTrackIdIn(List.of("abc123")).size());
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO public.\"Songs\" (name, url, artist_name, spotify_track_id) VALUES ('Copy', 'u', 'a', 'abc123')"));
+    }
+
+    @Test
+    @DisplayName("""
+            Given the migrated Playlists table
+            When a user's latest playlist of a mood is looked up, with sequential scans ruled out
+            Then the plan uses the user_id, lower(mood), created_at index
+            """)
+    void givenMigratedPlaylists_WhenLatestByMood_ThenMoodIndexUsed() {
+        // Given
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        // When
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT p.id FROM public.\"Playlists\" p WHERE p.user_id = gen_random_uuid() "
+                        + "AND lower(p.mood) = lower('Happy') ORDER BY p.created_at DESC LIMIT 1", String.class));
+
+        // Then
+        assertTrue(plan.contains("idx_playlists_user_lower_mood_created"), plan);
+    }
+}
@@ -0,0 +1,18 @@
+package com.zeroping.vibecheckbe;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// PostgreSQL container for the tests that need the real database (ON CONFLICT, partial indexes, the migrations).
+// Use together with @ActiveProfiles("postgres") and @Testcontainers(disabledWithoutDocker = true)
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
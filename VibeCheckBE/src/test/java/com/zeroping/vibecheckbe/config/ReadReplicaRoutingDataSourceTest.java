@@ -0,0 +1,243 @@
+package com.zeroping.vibecheckbe.config;
+
+import com.zeroping.vibecheckbe.service.ReferenceDataRegistry;
+import com.zeroping.vibecheckbe.util.ReadYourWrites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for ReadReplicaRoutingDataSource against two local (H2) databases, a primary and a replica,
+// each of which knows its own name
+class ReadReplicaRoutingDataSourceTest {
+
+    private final MutableClock clock = new MutableClock();
+    private SwitchableDataSource replica;
+    private ReadReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+        routing = new ReadReplicaRoutingDataSource(primary, List.of(replica),
+                Duration.ofSeconds(5), Duration.ofSeconds(1), clock);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("""
+            Given a primary and a healthy replica
+            When queries run in read-only, read-write and no transaction
+            Then only the read-only transaction is served by the replica
+            """)
+    void givenHealthyReplica_WhenQueried_ThenOnlyReadOnlyGoesToReplica() {
+        // When / Then
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+        assertEquals("primary", readWrite.execute(status -> databaseName()));
+        assertEquals("primary", databaseName());
+        assertEquals(1, routing.replicaReadCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a user whose write transaction just committed
+            When that user and another user read in read-only transactions
+            Then the writer reads from the primary until the read-your-writes window has passed
+            """)
+    void givenRecentWrite_WhenSameUserReads_ThenPrimaryUntilWindowPasses() {
+        // Given
+        signIn("writer");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO Marker (name) VALUES ('written')"));
+
+        // When / Then
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+        signIn("someone-else");
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+
+        signIn("writer");
+        clock.advance(Duration.ofSeconds(6));
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+    }
+
+    @Test
+    @DisplayName("""
+            Given a background worker thread without a security context that writes on behalf of a user
+            When that user reads in a read-only transaction on a request thread
+            Then the read goes to the primary, since the write was attributed to the user
+            """)
+    void givenWriteOffRequestThread_WhenOwnerReads_ThenPrimary() throws Exception {
+        // Given
+        UUID owner = UUID.randomUUID();
+        try (ExecutorService worker = Executors.newSingleThreadExecutor()) {
+            CompletableFuture.runAsync(() -> ReadYourWrites.runAs(owner, () -> readWrite.executeWithoutResult(
+                    status -> jdbcTemplate.update("INSERT INTO Marker (name) VALUES ('generated')"))), worker).get();
+        }
+
+        // When / Then
+        signIn(owner.toString());
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+        signIn("someone-else");
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+    }
+
+    @Test
+    @DisplayName("""
+            Given the transaction settings of the reference data reload and no signed-in user
+            When the reload reads the tables
+            Then it reads from the primary, so an edit made just before the reload is never missed
+            """)
+    void givenReferenceDataReload_WhenRun_ThenPrimary() throws Exception {
+        // Given
+        TransactionAttribute reloadTransaction = new AnnotationTransactionAttributeSource().getTransactionAttribute(
+                ReferenceDataRegistry.class.getMethod("reload"), ReferenceDataRegistry.class);
+        assertNotNull(reloadTransaction);
+        TransactionTemplate reload = new TransactionTemplate(transactionManager, reloadTransaction);
+
+        // When / Then
+        assertEquals("primary", reload.execute(status -> databaseName()));
+        assertEquals(0, routing.replicaReadCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a write transaction that rolls back
+            When the same user reads afterwards
+            Then the replica is used, since nothing new has to be read back
+            """)
+    void givenRolledBackWrite_WhenSameUserReads_ThenReplica() {
+        // Given
+        signIn("writer");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO Marker (name) VALUES ('discarded')");
+            status.setRollbackOnly();
+        });
+
+        // When / Then
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+    }
+
+    @Test
+    @DisplayName("""
+            Given a replica that goes down
+            When read-only transactions run before and after the health checks
+            Then reads fall back to the primary and return to the replica once it passes a check again
+            """)
+    void givenReplicaDown_WhenReading_ThenFallbackUntilHealthCheckPasses() {
+        // Given
+        replica.down = true;
+
+        // When / Then: the refused connection marks the replica down right away
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+        assertEquals(1, routing.fallbackCount());
+        assertEquals(0, routing.healthyReplicaCount());
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+        assertEquals(1, routing.fallbackCount());
+
+        routing.checkReplicas();
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+
+        replica.down = false;
+        routing.checkReplicas();
+        assertEquals(1, routing.healthyReplicaCount());
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM Marker WHERE name IN ('primary', 'replica')", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE Marker (name VARCHAR(20))");
+        jdbc.update("INSERT INTO Marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void signIn(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    // A replica that can be taken offline: while down, it refuses every connection
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.zeroping.vibecheckbe.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the scheduler set up by SchedulingConfig
+class SchedulingConfigTest {
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("""
+            Given a scheduled task that blocks, like a token refresh waiting out a Spotify 429
+            When another task is due
+            Then the other task still runs on time
+            """)
+    void givenBlockedTask_WhenAnotherTaskIsDue_ThenItStillRuns() throws Exception {
+        // Given
+        scheduler = new SchedulingConfig().taskScheduler(4);
+        scheduler.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch healthChecked = new CountDownLatch(1);
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Duration.ofSeconds(30));
+
+        // When
+        scheduler.scheduleWithFixedDelay(healthChecked::countDown, Duration.ofMillis(10));
+
+        // Then
+        assertTrue(healthChecked.await(2, TimeUnit.SECONDS));
+        release.countDown();
+    }
+}
@@ -0,0 +1,227 @@
+package com.zeroping.vibecheckbe.config;
+
+import com.zeroping.vibecheckbe.entity.Genre;
+import com.zeroping.vibecheckbe.entity.Playlist;
+import com.zeroping.vibecheckbe.entity.Song;
+import com.zeroping.vibecheckbe.entity.User;
+import com.zeroping.vibecheckbe.service.SongDeduplicationJob;
+import com.zeroping.vibecheckbe.service.TrackResolutionCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for the second-level cache set up by SecondLevelCacheConfig.
+// Every step runs in its own transaction, like separate requests, because cached data is only shared between them.
+@DataJpaTest(properties = "jpa.second-level-cache.enabled=true")
+@Import({SecondLevelCacheConfig.class, SongDeduplicationJob.class, TrackResolutionCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private SongDeduplicationJob deduplicationJob;
+    @Autowired
+    private ObjectProvider<SecondLevelCacheConfig> secondLevelCacheConfig;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inTransaction(em -> {
+            em.createNativeQuery("DELETE FROM public.playlist_songs").executeUpdate();
+            em.createNativeQuery("DELETE FROM public.user_genres").executeUpdate();
+            em.createQuery("DELETE FROM Playlist").executeUpdate();
+            em.createQuery("DELETE FROM Song").executeUpdate();
+            em.createQuery("DELETE FROM User").executeUpdate();
+            return em.createQuery("DELETE FROM Genre").executeUpdate();
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("""
+            Given a playlist with songs whose song collection was loaded once
+            When the playlist is loaded again in a new transaction
+            Then its songs come from the cache and only the playlist row is read
+            """)
+    void givenLoadedPlaylist_WhenLoadedAgain_ThenSongsFromCache() {
+        // Given
+        Long playlistId = inTransaction(em -> {
+            Playlist playlist = new Playlist();
+            playlist.setName("Cached");
+            playlist.setMood("happy");
+            playlist.setUserId(UUID.randomUUID());
+            playlist.setSongs(new HashSet<>(Set.of(song("a"), song("b"))));
+            em.persist(playlist);
+            return playlist.getId();
+        });
+        inTransaction(em -> em.find(Playlist.class, playlistId).getSongs().size());
+        statistics.clear();
+
+        // When
+        int songs = inTransaction(em -> em.find(Playlist.class, playlistId).getSongs().size());
+
+        // Then
+        assertEquals(2, songs);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("playlist_songs").getHitCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("songs").getHitCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a user with genres
+            When the user's genres are read twice in separate transactions
+            Then the second read gets the genre collection and the genres from the cache
+            """)
+    void givenUserWithGenres_WhenReadTwice_ThenGenresFromCache() {
+        // Given
+        UUID userId = inTransaction(em -> {
+            Genre rock = new Genre(null, "Rock");
+            Genre jazz = new Genre(null, "Jazz");
+            em.persist(rock);
+            em.persist(jazz);
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setEmail("cached@example.com");
+            user.setGenres(new HashSet<>(Set.of(rock, jazz)));
+            em.persist(user);
+            return user.getId();
+        });
+        inTransaction(em -> em.find(User.class, userId).getGenres().size());
+        statistics.clear();
+
+        // When
+        int genres = inTransaction(em -> em.find(User.class, userId).getGenres().size());
+
+        // Then
+        assertEquals(2, genres);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user_genres").getHitCount());
+        assertEquals(0, statistics.getDomainDataRegionStatistics("user_genres").getMissCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a playlist whose cached song collection holds two rows for the same Spotify track
+            When the deduplication job merges them and the playlist is loaded again
+            Then the cached collection was evicted and only the surviving song is loaded
+            """)
+    void givenCachedDuplicates_WhenDeduplicated_ThenStaleSongsEvicted() {
+        // Given
+        Song original = song("abc123");
+        Song duplicate = song("abc123");
+        Song other = song("xyz789");
+        Long playlistId = inTransaction(em -> {
+            em.persist(original);
+            em.persist(duplicate);
+            em.persist(other);
+            Playlist playlist = new Playlist();
+            playlist.setName("Duplicates");
+            playlist.setMood("happy");
+            playlist.setUserId(UUID.randomUUID());
+            playlist.setSongs(new HashSet<>(Set.of(original, duplicate, other)));
+            em.persist(playlist);
+            return playlist.getId();
+        });
+        assertEquals(3, inTransaction(em -> em.find(Playlist.class, playlistId).getSongs().size()));
+        assertTrue(entityManagerFactory.getCache().contains(Song.class, duplicate.getId()));
+
+        // When
+        SongDeduplicationJob.Result result = deduplicationJob.run();
+        Set<Long> songIds = inTransaction(em -> em.find(Playlist.class, playlistId).getSongs().stream()
+                .map(Song::getId)
+                .collect(Collectors.toSet()));
+
+        // Then
+        assertEquals(1, result.merged());
+        assertEquals(Set.of(original.getId(), other.getId()), songIds);
+        assertFalse(entityManagerFactory.getCache().contains(Song.class, duplicate.getId()));
+    }
+
+    @Test
+    @DisplayName("""
+            Given the second-level cache metrics bound to a registry
+            When a playlist is loaded again in a new transaction
+            Then every region has its hibernate_<region> meters and the playlist_songs hit counter goes up by one
+            """)
+    void givenCacheMetrics_WhenPlaylistLoadedTwice_ThenRegionMetersCountHits() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().secondLevelCacheMetrics(secondLevelCacheConfig, entityManagerFactory).bindTo(registry);
+        Long playlistId = inTransaction(em -> {
+            Playlist playlist = new Playlist();
+            playlist.setName("Metered");
+            playlist.setMood("happy");
+            playlist.setUserId(UUID.randomUUID());
+            playlist.setSongs(new HashSet<>(Set.of(song("a"))));
+            em.persist(playlist);
+            return playlist.getId();
+        });
+        inTransaction(em -> em.find(Playlist.class, playlistId).getSongs().size());
+        FunctionCounter playlistSongHits = registry.find("vibecheck.cache.gets")
+                .tags("cache", "hibernate_playlist_songs", "result", "hit")
+                .functionCounter();
+        double hitsBefore = playlistSongHits.count();
+
+        // When
+        inTransaction(em -> em.find(Playlist.class, playlistId).getSongs().size());
+
+        // Then
+        assertEquals(hitsBefore + 1, playlistSongHits.count());
+        for (String region : SecondLevelCacheConfig.REGIONS) {
+            assertNotNull(registry.find("vibecheck.cache.gets").tags("cache", "hibernate_" + region, "result", "hit")
+                    .functionCounter(), region);
+            assertNotNull(registry.find("vibecheck.cache.hit.ratio").tag("cache", "hibernate_" + region).gauge(),
+                    region);
+        }
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            T result = work.apply(em);
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            em.close();
+        }
+    }
+
+    // Un-migrated song (no track ID yet) whose URL points at the given track
+    private static Song song(String name) {
+        Song song = new Song();
+        song.setName(name);
+        song.setUrl("https://open.spotify.com/track/" + name);
+        song.setArtistName("Artist");
+        return song;
+    }
+}
@@ -2,15 +2,19 @@ package com.zeroping.vibecheckbe.controller;
 
 import com.zeroping.vibecheckbe.exception.genre.GenreNotFoundException;
 import com.zeroping.vibecheckbe.service.GenreService;
+import com.zeroping.vibecheckbe.service.ReferenceDataResponses;
+import com.zeroping.vibecheckbe.util.PreSerializedResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +25,8 @@ class GenreControllerTest {
 
     @Mock
     private GenreService genreService;
+    @Mock
+    private ReferenceDataResponses referenceDataResponses;
 
     @InjectMocks
     private GenreController genreController;
@@ -28,6 +34,7 @@ class GenreControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(referenceDataResponses.cacheControl()).thenReturn(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic());
     }
 
     @Test
@@ -38,22 +45,20 @@ class GenreControllerTest {
             """)
     void givenValidData_WhenGetAllGenresIsCalled_ThenReturnsGenresList() {
         // Given
-        List<Map<String, Object>> mockGenres = List.of(
-                Map.of("id", 1L, "name", "Rock"),
-                Map.of("id", 2L, "name", "Pop")
-        );
-
-        when(genreService.getAllGenres()).thenReturn(mockGenres);
+        String json = "[{\"id\":1,\"name\":\"Rock\"},{\"id\":2,\"name\":\"Pop\"}]";
+        PreSerializedResponse genres = PreSerializedResponse.of(json.getBytes(StandardCharsets.UTF_8));
+        when(referenceDataResponses.genres()).thenReturn(genres);
 
         // When
-        ResponseEntity<List<Map<String, Object>>> response = genreController.getAllGenres();
+        ResponseEntity<byte[]> response = genreController.getAllGenres(null, null);
 
         // Then
         assertEquals(200, response.getStatusCode().value());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        assertEquals("Rock", response.getBody().getFirst().get("name"));
-        verify(genreService, times(1)).getAllGenres();
+        assertEquals(json, new String(response.getBody(), StandardCharsets.UTF_8));
+        assertEquals(genres.etag(), response.getHeaders().getETag());
+        assertEquals("max-age=300, public", response.getHeaders().getCacheControl());
+        verify(genreService, never()).getAllGenres();
     }
 
     @Test
@@ -85,16 +90,35 @@ class GenreControllerTest {
             """)
     void givenNoGenres_WhenGetAllGenresIsCalled_ThenReturnsEmptyList() {
         // Given
-        when(genreService.getAllGenres()).thenReturn(List.of());
+        when(referenceDataResponses.genres()).thenReturn(PreSerializedResponse.of("[]".getBytes(StandardCharsets.UTF_8)));
 
         // When
-        ResponseEntity<List<Map<String, Object>>> response = genreController.getAllGenres();
+        ResponseEntity<byte[]> response = genreController.getAllGenres(null, null);
 
         // Then
         assertEquals(200, response.getStatusCode().value());
         assertNotNull(response.getBody());
-        assertTrue(response.getBody().isEmpty());
-        verify(genreService, times(1)).getAllGenres();
+        assertEquals("[]", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("""
+            Given a client that already has the current genres
+            When getAllGenres is called with its ETag in If-None-Match
+            Then it returns 304 Not Modified without a body
+            """)
+    void givenCurrentEtag_WhenGetAllGenresIsCalled_ThenNotModified() {
+        // Given
+        PreSerializedResponse genres = PreSerializedResponse.of("[]".getBytes(StandardCharsets.UTF_8));
+        when(referenceDataResponses.genres()).thenReturn(genres);
+
+        // When
+        ResponseEntity<byte[]> response = genreController.getAllGenres(genres.etag(), null);
+
+        // Then
+        assertEquals(304, response.getStatusCode().value());
+        assertNull(response.getBody());
+        assertEquals(genres.etag(), response.getHeaders().getETag());
     }
 
     @Test
@@ -1,9 +1,11 @@
 package com.zeroping.vibecheckbe.controller;
 
+import com.zeroping.vibecheckbe.dto.BulkSavePlaylistsToSpotifyRequest;
 import com.zeroping.vibecheckbe.dto.UserDTO;
 import com.zeroping.vibecheckbe.dto.UserPreferencesDTO;
 import com.zeroping.vibecheckbe.dto.UserUpdateDTO;
 import com.zeroping.vibecheckbe.exception.user.UserNotFoundException;
+import com.zeroping.vibecheckbe.service.SpotifyBulkExportService;
 import com.zeroping.vibecheckbe.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -32,6 +35,9 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private SpotifyBulkExportService spotifyBulkExportService;
+
     @InjectMocks
     private UserController userController;
 
@@ -250,4 +256,31 @@ class UserControllerTest {
         verify(userService, times(1)).updateUserPreferences(eq(userId), any(UserPreferencesDTO.class));
     }
 
+    @Test
+    @DisplayName("""
+            Given an authenticated user
+            When savePlaylistsToSpotify is called
+            Then the playlists are exported for the authenticated user
+            """)
+    void givenAuthenticatedUser_WhenSavePlaylistsToSpotifyIsCalled_ThenExportsForThatUser() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        BulkSavePlaylistsToSpotifyRequest request = new BulkSavePlaylistsToSpotifyRequest();
+        request.setPlaylistIds(List.of(1L, 2L));
+        SseEmitter emitter = new SseEmitter();
+        when(spotifyBulkExportService.exportAll(userId, List.of(1L, 2L), "token")).thenReturn(emitter);
+
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn(userId.toString());
+        SecurityContextHolder.setContext(securityContext);
+
+        // When
+        SseEmitter response = userController.savePlaylistsToSpotify("token", request);
+
+        // Then
+        assertSame(emitter, response);
+        verify(spotifyBulkExportService).exportAll(userId, List.of(1L, 2L), "token");
+    }
 }
@@ -0,0 +1,79 @@
+package com.zeroping.vibecheckbe.repository;
+
+import com.zeroping.vibecheckbe.PostgresTestConfiguration;
+import com.zeroping.vibecheckbe.entity.Song;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for the INSERT ... ON CONFLICT (spotify_track_id) DO NOTHING RETURNING of SongRepositoryImpl,
+// which only PostgreSQL can run
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class SongRepositoryImplTest {
+
+    @Autowired
+    private SongRepository songRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("""
+            Given a stored track, and songs spanning two statements where the second repeats a track of the first
+            When the missing songs are inserted
+            Then every track ID has one row, and only the rows actually inserted are returned with their ids
+            """)
+    void givenOverlappingChunks_WhenInsertMissingSongs_ThenOneRowPerTrackId() {
+        // Given
+        Song stored = entityManager.persistFlushFind(song("stored", "Stored"));
+        List<Song> songs = new ArrayList<>();
+        for (int i = 0; i < SongRepositoryImpl.MAX_ROWS_PER_STATEMENT; i++) {
+            songs.add(song("t" + i, "First"));
+        }
+        songs.add(song("t0", "Repeated"));
+        songs.add(song("stored", "Repeated"));
+        songs.add(song("last", "Second"));
+
+        // When
+        List<Song> inserted = songRepository.insertMissingSongs(songs);
+
+        // Then
+        Map<String, Long> idsByTrackId = new HashMap<>();
+        jdbcTemplate.query("SELECT id, spotify_track_id FROM public.\"Songs\"",
+                rs -> {
+                    assertNull(idsByTrackId.put(rs.getString("spotify_track_id"), rs.getLong("id")));
+                });
+        assertEquals(SongRepositoryImpl.MAX_ROWS_PER_STATEMENT + 2, idsByTrackId.size());
+        assertEquals(stored.getId(), idsByTrackId.get("stored"));
+
+        assertEquals(SongRepositoryImpl.MAX_ROWS_PER_STATEMENT + 1, inserted.size());
+        assertTrue(inserted.stream().noneMatch(song -> song.getName().equals("Repeated")));
+        Map<String, Long> returned = inserted.stream()
+                .collect(Collectors.toMap(Song::getSpotifyTrackId, Song::getId));
+        returned.forEach((trackId, id) -> assertEquals(idsByTrackId.get(trackId), id, trackId));
+    }
+
+    private static Song song(String trackId, String name) {
+        return new Song(null, name, "https://open.spotify.com/track/" + trackId, "Artist", trackId, null);
+    }
+}
@@ -0,0 +1,126 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.TrackAgentResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for GeminiPlaylistCache
+class GeminiPlaylistCacheTest {
+
+    private static PlaylistAgentResponse playlist(String name) {
+        TrackAgentResponse track = new TrackAgentResponse();
+        track.setTitle("Song of " + name);
+        track.setArtist("Artist");
+        PlaylistAgentResponse playlist = new PlaylistAgentResponse();
+        playlist.setPlaylist_name(name);
+        playlist.setTracks(List.of(track));
+        return playlist;
+    }
+
+    @Test
+    @DisplayName("""
+            Given the same mood and genres written differently
+            When the cache key is built
+            Then the keys are equal
+            """)
+    void givenEquivalentInputs_WhenKeyOf_ThenKeysMatch() {
+        assertEquals(
+                GeminiPlaylistCache.keyOf("Happy", List.of("Rock", "pop", "Jazz")),
+                GeminiPlaylistCache.keyOf("  happy ", List.of("jazz", "Pop", "rock", "ROCK"))
+        );
+        assertNotEquals(
+                GeminiPlaylistCache.keyOf("happy", List.of("rock")),
+                GeminiPlaylistCache.keyOf("sad", List.of("rock"))
+        );
+    }
+
+    @Test
+    @DisplayName("""
+            Given a variety setting of 2
+            When playlists are cached for one key
+            Then the cache misses until both variants exist and then serves both of them
+            """)
+    void givenVariants_WhenPoolFills_ThenBothVariantsAreServed() {
+        // Given
+        GeminiPlaylistCache cache = new GeminiPlaylistCache(true, 10, Duration.ofHours(1), 2);
+        GeminiPlaylistCache.Key key = GeminiPlaylistCache.keyOf("happy", List.of("pop"));
+
+        // When / Then
+        assertTrue(cache.get(key).isEmpty());
+        cache.put(key, playlist("First"));
+        assertTrue(cache.get(key).isEmpty()); // only one of two variants so far
+        cache.put(key, playlist("Second"));
+
+        Set<String> served = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            served.add(cache.get(key).orElseThrow().getPlaylist_name());
+        }
+        assertEquals(Set.of("First", "Second"), served);
+        assertEquals(200, cache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a variety setting of 3 and only one cached variant
+            When the cache is read
+            Then the reads count as misses until the pool is full, and only served variants count as hits
+            """)
+    void givenUnderFilledPool_WhenGet_ThenCountedAsMiss() {
+        // Given
+        GeminiPlaylistCache cache = new GeminiPlaylistCache(true, 10, Duration.ofHours(1), 3);
+        GeminiPlaylistCache.Key key = GeminiPlaylistCache.keyOf("happy", List.of("pop"));
+        cache.put(key, playlist("First"));
+
+        // When
+        assertTrue(cache.get(key).isEmpty());
+        assertTrue(cache.getAnyVariant(key).isPresent());
+
+        // Then
+        assertEquals(0, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+
+        cache.put(key, playlist("Second"));
+        cache.put(key, playlist("Third"));
+        assertTrue(cache.get(key).isPresent());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+        assertEquals(0.5, cache.stats().hitRatio());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a cached playlist
+            When a caller modifies the returned copy
+            Then the cached entry is not affected
+            """)
+    void givenCachedPlaylist_WhenCallerMutatesResult_ThenCacheIsUnchanged() {
+        // Given
+        GeminiPlaylistCache cache = new GeminiPlaylistCache(true, 10, Duration.ofHours(1), 1);
+        GeminiPlaylistCache.Key key = GeminiPlaylistCache.keyOf("happy", List.of("pop"));
+        cache.put(key, playlist("Original"));
+
+        // When
+        cache.get(key).orElseThrow().setPlaylist_name("Changed");
+
+        // Then
+        assertEquals("Original", cache.get(key).orElseThrow().getPlaylist_name());
+    }
+
+    @Test
+    @DisplayName("Given a disabled cache, nothing is ever returned")
+    void givenDisabledCache_WhenGet_ThenEmpty() {
+        GeminiPlaylistCache cache = new GeminiPlaylistCache(false, 10, Duration.ofHours(1), 1);
+        GeminiPlaylistCache.Key key = GeminiPlaylistCache.keyOf("happy", List.of("pop"));
+        cache.put(key, playlist("Original"));
+
+        assertTrue(cache.get(key).isEmpty());
+    }
+}
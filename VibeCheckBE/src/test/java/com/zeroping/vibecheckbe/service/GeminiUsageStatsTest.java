@@ -0,0 +1,44 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.GeminiGenerateResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for GeminiUsageStats
+class GeminiUsageStatsTest {
+
+    @Test
+    @DisplayName("""
+            Given calls recorded in both output modes
+            When the snapshots are taken
+            Then tokens, latency and failures are kept apart per mode
+            """)
+    void givenCallsInBothModes_WhenSnapshot_ThenCountersArePerMode() {
+        // Given
+        GeminiUsageStats stats = new GeminiUsageStats();
+        stats.recordSuccess(GeminiUsageStats.Mode.PROMPT_TEMPLATE, Duration.ofMillis(900),
+                new GeminiGenerateResponse.UsageMetadata(120, 300, 420));
+        stats.recordSuccess(GeminiUsageStats.Mode.PROMPT_TEMPLATE, Duration.ofMillis(1100),
+                new GeminiGenerateResponse.UsageMetadata(120, 340, 460));
+        stats.recordFailure(GeminiUsageStats.Mode.PROMPT_TEMPLATE);
+        stats.recordSuccess(GeminiUsageStats.Mode.STRUCTURED_OUTPUT, Duration.ofMillis(700),
+                new GeminiGenerateResponse.UsageMetadata(40, 280, 320));
+
+        // When
+        GeminiUsageStats.Snapshot template = stats.snapshot(GeminiUsageStats.Mode.PROMPT_TEMPLATE);
+        GeminiUsageStats.Snapshot structured = stats.snapshot(GeminiUsageStats.Mode.STRUCTURED_OUTPUT);
+
+        // Then
+        assertEquals(2, template.calls());
+        assertEquals(1, template.failures());
+        assertEquals(120.0, template.averagePromptTokens());
+        assertEquals(Duration.ofSeconds(1), template.averageLatency());
+        assertEquals(1, structured.calls());
+        assertEquals(40, structured.promptTokens());
+        assertEquals(280, structured.outputTokens());
+    }
+}
@@ -3,32 +3,33 @@ package com.zeroping.vibecheckbe.service;
 import com.zeroping.vibecheckbe.entity.Genre;
 import com.zeroping.vibecheckbe.exception.genre.GenreNotFoundException;
 import com.zeroping.vibecheckbe.repository.GenreRepository;
+import com.zeroping.vibecheckbe.repository.MoodRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-// Test class for GenreService
+// Test class for GenreService, reading through a real ReferenceDataRegistry over mocked repositories
 class GenreServiceTest {
 
     @Mock
     private GenreRepository genreRepository;
+    @Mock
+    private MoodRepository moodRepository;
 
-    @InjectMocks
     private GenreService genreService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        genreService = new GenreService(new ReferenceDataRegistry(moodRepository, genreRepository));
     }
 
     @Test
@@ -71,7 +72,7 @@ class GenreServiceTest {
         genre.setId(1L);
         genre.setName("Jazz");
 
-        when(genreRepository.findById(1L)).thenReturn(Optional.of(genre));
+        when(genreRepository.findAll()).thenReturn(List.of(genre));
 
         // When
         Map<String, Object> result = genreService.getGenreById(1L);
@@ -79,7 +80,7 @@ class GenreServiceTest {
         // Then
         assertEquals(1L, result.get("id"));
         assertEquals("Jazz", result.get("name"));
-        verify(genreRepository, times(1)).findById(1L);
+        verify(genreRepository, times(1)).findAll();
     }
 
     @Test
@@ -110,7 +111,7 @@ class GenreServiceTest {
     void givenNonExistentId_WhenGetGenreByIdIsCalled_ThenThrowsGenreNotFoundException() {
         // Given
         Long invalidId = 999L;
-        when(genreRepository.findById(invalidId)).thenReturn(Optional.empty());
+        when(genreRepository.findAll()).thenReturn(List.of());
 
         // When / Then
         GenreNotFoundException exception = assertThrows(
@@ -119,6 +120,6 @@ class GenreServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("999"));
-        verify(genreRepository, times(1)).findById(invalidId);
+        verify(genreRepository, times(1)).findAll();
     }
 }
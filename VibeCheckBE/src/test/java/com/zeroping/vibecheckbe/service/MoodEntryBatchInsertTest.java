@@ -0,0 +1,176 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.config.PaginationProperties;
+import com.zeroping.vibecheckbe.dto.BatchMoodEntryDTO;
+import com.zeroping.vibecheckbe.dto.CreateBatchMoodEntriesDTO;
+import com.zeroping.vibecheckbe.dto.MoodEntryResponseDTO;
+import com.zeroping.vibecheckbe.entity.Mood;
+import com.zeroping.vibecheckbe.entity.MoodEntry;
+import com.zeroping.vibecheckbe.entity.User;
+import com.zeroping.vibecheckbe.exception.mood.MoodNotFoundException;
+import com.zeroping.vibecheckbe.repository.MoodEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests the batched write path behind POST /moods/entries/batch against the test database
+@DataJpaTest
+@Import({MoodService.class, PlaylistService.class, PaginationProperties.class, ReferenceDataRegistry.class})
+class MoodEntryBatchInsertTest {
+
+    private static final int BENCHMARK_ROUNDS = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private MoodService moodService;
+    @Autowired
+    private MoodEntryRepository moodEntryRepository;
+
+    // Needed by PlaylistService, not used here
+    @MockitoBean
+    private SpotifyPlaylistExporter spotifyPlaylistExporter;
+
+    private User user;
+    private List<Mood> moods;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("writer@example.com");
+        entityManager.persist(user);
+        moods = List.of(persistMood("happy"), persistMood("calm"), persistMood("sad"));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("""
+            Given a batch of entries for several moods
+            When createMultipleMoodEntries is called
+            Then every entry is stored with a generated id, in request order, with the general notes as fallback
+            """)
+    void givenBatch_WhenCreateMultipleMoodEntries_ThenAllEntriesStored() {
+        // Given
+        CreateBatchMoodEntriesDTO dto = new CreateBatchMoodEntriesDTO(user.getId(), List.of(
+                new BatchMoodEntryDTO(moods.get(0).getId(), 80, "great day"),
+                new BatchMoodEntryDTO(moods.get(1).getId(), null, null),
+                new BatchMoodEntryDTO(moods.get(0).getId(), 30, null)
+        ), "general");
+
+        // When
+        List<MoodEntryResponseDTO> saved = moodService.createMultipleMoodEntries(dto);
+
+        // Then
+        assertEquals(List.of("happy", "calm", "happy"), saved.stream().map(MoodEntryResponseDTO::moodName).toList());
+        assertEquals(List.of(80, 50, 30), saved.stream().map(MoodEntryResponseDTO::intensity).toList());
+        assertEquals(List.of("great day", "general", "general"), saved.stream().map(MoodEntryResponseDTO::notes).toList());
+        assertTrue(saved.stream().allMatch(e -> e.id() != null));
+        assertEquals(3, saved.stream().map(MoodEntryResponseDTO::id).distinct().count());
+
+        entityManager.clear();
+        MoodEntry stored = moodEntryRepository.findById(saved.get(0).id()).orElseThrow();
+        assertEquals("great day", stored.getNotes());
+        assertEquals(moods.get(0).getId(), stored.getMood().getId());
+        assertEquals(user.getId(), stored.getUser().getId());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a batch in which one mood id does not exist
+            When createMultipleMoodEntries is called
+            Then MoodNotFoundException is thrown and no entry is written
+            """)
+    void givenUnknownMood_WhenCreateMultipleMoodEntries_ThenNothingStored() {
+        // Given
+        long before = moodEntryRepository.count();
+        CreateBatchMoodEntriesDTO dto = new CreateBatchMoodEntriesDTO(user.getId(), List.of(
+                new BatchMoodEntryDTO(moods.get(0).getId(), 50, null),
+                new BatchMoodEntryDTO(999_999L, 50, null)
+        ), null);
+
+        // When / Then
+        MoodNotFoundException e = assertThrows(MoodNotFoundException.class,
+                () -> moodService.createMultipleMoodEntries(dto));
+        assertTrue(e.getMessage().contains("999999"));
+        assertEquals(before, moodEntryRepository.count());
+    }
+
+    // Throughput of the batched insert compared with saving one entity at a time (the previous write path).
+    // Run with ./gradlew benchmark; the numbers are printed, only correctness is asserted.
+    @Tag("benchmark")
+    @ParameterizedTest(name = "batch of {0} entries")
+    @ValueSource(ints = {10, 100, 1000})
+    void benchmarkBatchInsertThroughput(int batchSize) {
+        CreateBatchMoodEntriesDTO dto = batchOf(batchSize);
+
+        // Warm up both paths
+        moodService.createMultipleMoodEntries(dto);
+        saveOneByOne(batchSize);
+        entityManager.flush();
+        entityManager.clear();
+
+        long batchedNanos = 0;
+        long perEntityNanos = 0;
+        for (int round = 0; round < BENCHMARK_ROUNDS; round++) {
+            long startedAt = System.nanoTime();
+            List<MoodEntryResponseDTO> saved = moodService.createMultipleMoodEntries(dto);
+            batchedNanos += System.nanoTime() - startedAt;
+            assertEquals(batchSize, saved.size());
+
+            startedAt = System.nanoTime();
+            saveOneByOne(batchSize);
+            entityManager.flush();
+            perEntityNanos += System.nanoTime() - startedAt;
+            entityManager.clear();
+        }
+
+        double rows = (double) batchSize * BENCHMARK_ROUNDS;
+        System.out.printf("Mood entry inserts, batch of %d: batched=%.0f rows/s, per-entity=%.0f rows/s%n",
+                batchSize, rows / (batchedNanos / 1e9), rows / (perEntityNanos / 1e9));
+        assertEquals((long) batchSize * (BENCHMARK_ROUNDS + 1) * 2, moodEntryRepository.count());
+    }
+
+    // The previous write path: one mood lookup and one IDENTITY insert per entry
+    private void saveOneByOne(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        User managedUser = entityManager.find(User.class, user.getId());
+        for (int i = 0; i < count; i++) {
+            MoodEntry entry = new MoodEntry();
+            entry.setUser(managedUser);
+            entry.setMood(entityManager.find(Mood.class, moods.get(i % moods.size()).getId()));
+            entry.setIntensity(50);
+            entry.setCreatedAt(now);
+            moodEntryRepository.save(entry);
+        }
+    }
+
+    private CreateBatchMoodEntriesDTO batchOf(int count) {
+        List<BatchMoodEntryDTO> entries = new ArrayList<>(count);
+        IntStream.range(0, count)
+                .forEach(i -> entries.add(new BatchMoodEntryDTO(moods.get(i % moods.size()).getId(), i % 101, null)));
+        return new CreateBatchMoodEntriesDTO(user.getId(), entries, null);
+    }
+
+    private Mood persistMood(String name) {
+        Mood mood = new Mood();
+        mood.setName(name);
+        return entityManager.persist(mood);
+    }
+}
@@ -0,0 +1,144 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.TrackAgentResponse;
+import com.zeroping.vibecheckbe.entity.Playlist;
+import com.zeroping.vibecheckbe.entity.Song;
+import com.zeroping.vibecheckbe.repository.PlaylistRepository;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Test class for PlaylistFallbackService and the Gemini circuit breaker fallback
+@ExtendWith(MockitoExtension.class)
+class PlaylistFallbackServiceTest {
+
+    @Mock
+    private PlaylistRepository playlistRepository;
+
+    private GeminiPlaylistCache playlistCache;
+    private SimpleMeterRegistry meterRegistry;
+    private PlaylistFallbackService fallbackService;
+
+    @BeforeEach
+    void setUp() {
+        playlistCache = new GeminiPlaylistCache(true, 10, Duration.ofHours(1), 3);
+        meterRegistry = new SimpleMeterRegistry();
+        fallbackService = new PlaylistFallbackService(playlistCache, playlistRepository,
+                new PlaylistGenerationMetrics(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("""
+            Given an open Gemini circuit breaker and a cached playlist for the mood and genres
+            When a playlist is requested
+            Then the cached playlist is returned without calling Gemini
+            """)
+    void givenOpenBreaker_WhenGeneratePlaylist_ThenCachedPlaylistIsServed() throws Exception {
+        // Given
+        GeminiPlaylistCache.Key key = GeminiPlaylistCache.keyOf("happy", List.of("pop"));
+        playlistCache.put(key, playlist("Cached", "Song A"));
+        CircuitBreaker breaker = CircuitBreaker.ofDefaults("gemini");
+        breaker.transitionToOpenState();
+        GeminiPlaylistService geminiService = new GeminiPlaylistService(playlistCache, new GeminiUsageStats(),
+                fallbackService, breaker, Bulkhead.ofDefaults("gemini"), false);
+
+        // When
+        PlaylistAgentResponse result = geminiService.generatePlaylist(UUID.randomUUID(), "happy", List.of("pop"));
+
+        // Then
+        assertEquals("Cached", result.getPlaylist_name());
+        assertEquals(1.0, meterRegistry.get("vibecheck.gemini.fallbacks").tag("source", "cache").counter().count());
+        verifyNoInteractions(playlistRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Given nothing cached but a stored playlist of the user with the same mood
+            When a fallback is requested for that user
+            Then the stored playlist's songs are returned as the draft
+            """)
+    void givenStoredPlaylistForMood_WhenFallback_ThenItIsUsed() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Playlist stored = new Playlist();
+        stored.setName("Last happy mix");
+        stored.setSongs(Set.of(new Song(1L, "Walking on Sunshine", "url", "Katrina", "id1", null)));
+        when(playlistRepository.findLatestIdWithSongsByUserIdAndMood(userId, "happy")).thenReturn(Optional.of(5L));
+        when(playlistRepository.findWithSongsById(5L)).thenReturn(Optional.of(stored));
+
+        // When
+        PlaylistAgentResponse result = fallbackService.fallbackFor(GeminiPlaylistCache.keyOf("Happy", List.of()), userId);
+
+        // Then
+        assertEquals("Last happy mix", result.getPlaylist_name());
+        assertEquals("Walking on Sunshine", result.getTracks().getFirst().getTitle());
+        assertEquals("Katrina", result.getTracks().getFirst().getArtist());
+    }
+
+    @Test
+    @DisplayName("""
+            Given nothing cached and a stored playlist with the mood that belongs to another user
+            When a fallback is requested
+            Then the other user's playlist is not served and the default playlist is returned
+            """)
+    void givenOtherUsersPlaylistForMood_WhenFallback_ThenDefaultPlaylistIsUsed() {
+        // Given
+        UUID owner = UUID.randomUUID();
+        UUID requester = UUID.randomUUID();
+        when(playlistRepository.findLatestIdWithSongsByUserIdAndMood(any(), eq("happy")))
+                .thenAnswer(inv -> owner.equals(inv.getArgument(0)) ? Optional.of(5L) : Optional.empty());
+
+        // When
+        PlaylistAgentResponse result = fallbackService.fallbackFor(GeminiPlaylistCache.keyOf("happy", List.of()), requester);
+
+        // Then
+        assertEquals("555", result.getPlaylist_name());
+        verify(playlistRepository).findLatestIdWithSongsByUserIdAndMood(requester, "happy");
+        verify(playlistRepository, never()).findWithSongsById(any());
+        assertEquals(1.0, meterRegistry.get("vibecheck.gemini.fallbacks").tag("source", "default").counter().count());
+    }
+
+    @Test
+    @DisplayName("Given no cached or stored playlist, the built-in default playlist is returned")
+    void givenNothingStored_WhenFallback_ThenDefaultPlaylistIsUsed() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(playlistRepository.findLatestIdWithSongsByUserIdAndMood(userId, "sad")).thenReturn(Optional.empty());
+
+        // When
+        PlaylistAgentResponse result = fallbackService.fallbackFor(GeminiPlaylistCache.keyOf("sad", List.of()), userId);
+
+        // Then
+        assertEquals("555", result.getPlaylist_name());
+        assertEquals(5, result.getTracks().size());
+        assertEquals(1.0, meterRegistry.get("vibecheck.gemini.fallbacks").tag("source", "default").counter().count());
+    }
+
+    private static PlaylistAgentResponse playlist(String name, String title) {
+        TrackAgentResponse track = new TrackAgentResponse();
+        track.setTitle(title);
+        track.setArtist("Artist");
+        PlaylistAgentResponse playlist = new PlaylistAgentResponse();
+        playlist.setPlaylist_name(name);
+        playlist.setTracks(List.of(track));
+        return playlist;
+    }
+}
@@ -0,0 +1,196 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.PlaylistDTO;
+import com.zeroping.vibecheckbe.dto.PlaylistGenerationJobDTO;
+import com.zeroping.vibecheckbe.dto.TrackAgentResponse;
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistJobNotFoundException;
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistJobRejectedException;
+import com.zeroping.vibecheckbe.util.ReadYourWrites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Test class for PlaylistGenerationJobService
+@ExtendWith(MockitoExtension.class)
+class PlaylistGenerationJobServiceTest {
+
+    @Mock
+    private PlaylistGenerationService playlistGenerationService;
+
+    private PlaylistGenerationJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    private PlaylistGenerationJobService newJobService(int workers, int queueCapacity) {
+        return new PlaylistGenerationJobService(playlistGenerationService, workers, queueCapacity,
+                Duration.ofMinutes(15), Duration.ofMinutes(1));
+    }
+
+    private PlaylistGenerationJobDTO awaitFinished(UUID jobId, UUID userId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            PlaylistGenerationJobDTO job = jobService.getJob(jobId, userId);
+            if ("SUCCEEDED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        fail("Job did not finish in time");
+        return null;
+    }
+
+    @Test
+    @DisplayName("""
+            Given a generation that goes through every stage
+            When the job is submitted
+            Then it returns immediately and later reports the saved playlist and track progress
+            """)
+    void givenSuccessfulGeneration_WhenSubmit_ThenJobSucceedsWithProgress() throws Exception {
+        // Given
+        jobService = newJobService(1, 5);
+        UUID userId = UUID.randomUUID();
+        PlaylistDTO saved = new PlaylistDTO();
+        saved.setId(42L);
+
+        PlaylistAgentResponse draft = new PlaylistAgentResponse();
+        draft.setTracks(List.of(new TrackAgentResponse(), new TrackAgentResponse()));
+
+        when(playlistGenerationService.generate(eq(userId), eq("happy"), anyList(), any()))
+                .thenAnswer(inv -> {
+                    PlaylistGenerationListener listener = inv.getArgument(3);
+                    listener.onDraftReady(draft);
+                    listener.onTrackResolved(2, 2);
+                    listener.onTrackResolved(1, 2); // late callback must not move progress backwards
+                    listener.onSaved(saved);
+                    return saved;
+                });
+
+        // When
+        PlaylistGenerationJobDTO submitted = jobService.submit(userId, "happy", List.of("Pop"));
+        PlaylistGenerationJobDTO finished = awaitFinished(submitted.getJobId(), userId);
+
+        // Then
+        assertNotNull(submitted.getJobId());
+        assertEquals("SUCCEEDED", finished.getStatus());
+        assertEquals("saved", finished.getStage());
+        assertEquals(2, finished.getResolvedTracks());
+        assertEquals(2, finished.getTotalTracks());
+        assertEquals(42L, finished.getPlaylist().getId());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a submitted job
+            When the worker thread runs the generation
+            Then its writes are attributed to the job owner for read-your-writes
+            """)
+    void givenJob_WhenRun_ThenWritesAttributedToOwner() throws Exception {
+        // Given
+        jobService = newJobService(1, 5);
+        UUID userId = UUID.randomUUID();
+        CountDownLatch generated = new CountDownLatch(1);
+        AtomicReference<Optional<String>> owner = new AtomicReference<>();
+        when(playlistGenerationService.generate(eq(userId), eq("happy"), anyList(), any()))
+                .thenAnswer(inv -> {
+                    owner.set(ReadYourWrites.owner());
+                    generated.countDown();
+                    return new PlaylistDTO();
+                });
+
+        // When
+        jobService.submit(userId, "happy", List.of("Pop"));
+
+        // Then
+        assertTrue(generated.await(2, TimeUnit.SECONDS));
+        assertEquals(Optional.of(userId.toString()), owner.get());
+        assertTrue(ReadYourWrites.owner().isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a generation that throws
+            When the job runs
+            Then the job is marked as failed with the error message
+            """)
+    void givenFailingGeneration_WhenSubmit_ThenJobFails() throws Exception {
+        // Given
+        jobService = newJobService(1, 5);
+        UUID userId = UUID.randomUUID();
+        when(playlistGenerationService.generate(eq(userId), anyString(), anyList(), any()))
+                .thenThrow(new RuntimeException("Gemini API Error: quota"));
+
+        // When
+        PlaylistGenerationJobDTO submitted = jobService.submit(userId, "sad", List.of());
+        PlaylistGenerationJobDTO finished = awaitFinished(submitted.getJobId(), userId);
+
+        // Then
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals("Gemini API Error: quota", finished.getError());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a job owned by another user
+            When it is looked up
+            Then a PlaylistJobNotFoundException is thrown
+            """)
+    void givenForeignJob_WhenGetJob_ThenThrowsNotFound() throws Exception {
+        // Given
+        jobService = newJobService(1, 5);
+        UUID owner = UUID.randomUUID();
+        when(playlistGenerationService.generate(eq(owner), anyString(), anyList(), any()))
+                .thenReturn(new PlaylistDTO());
+        PlaylistGenerationJobDTO submitted = jobService.submit(owner, "happy", List.of());
+
+        // When / Then
+        assertThrows(PlaylistJobNotFoundException.class,
+                () -> jobService.getJob(submitted.getJobId(), UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("""
+            Given a saturated worker pool and queue
+            When another job is submitted
+            Then it is rejected instead of queued without bound
+            """)
+    void givenSaturatedPool_WhenSubmit_ThenRejects() throws Exception {
+        // Given
+        jobService = newJobService(1, 1);
+        UUID userId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        when(playlistGenerationService.generate(eq(userId), anyString(), anyList(), any()))
+                .thenAnswer(inv -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return new PlaylistDTO();
+                });
+
+        jobService.submit(userId, "happy", List.of()); // running
+        Thread.sleep(50);
+        jobService.submit(userId, "happy", List.of()); // queued
+
+        // When / Then
+        assertThrows(PlaylistJobRejectedException.class,
+                () -> jobService.submit(userId, "happy", List.of()));
+        release.countDown();
+    }
+}
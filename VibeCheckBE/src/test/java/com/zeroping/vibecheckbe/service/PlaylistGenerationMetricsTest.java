@@ -0,0 +1,37 @@
+package com.zeroping.vibecheckbe.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for PlaylistGenerationMetrics
+class PlaylistGenerationMetricsTest {
+
+    @Test
+    @DisplayName("""
+            Given one stage that succeeds and one that throws
+            When both are timed
+            Then each is recorded under its stage with the matching outcome tag
+            """)
+    void givenSucceedingAndFailingStages_WhenTimed_ThenOutcomeIsTagged() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PlaylistGenerationMetrics metrics = new PlaylistGenerationMetrics(registry);
+
+        // When
+        String result = metrics.timeStage(PlaylistGenerationMetrics.Stage.GEMINI, () -> "playlist");
+        assertThrows(IllegalStateException.class, () -> metrics.timeStage(
+                PlaylistGenerationMetrics.Stage.SONG_UPSERT, () -> {
+                    throw new IllegalStateException("db down");
+                }));
+
+        // Then
+        assertEquals("playlist", result);
+        assertEquals(1L, registry.get("vibecheck.playlist.stage")
+                .tags("stage", "gemini", "outcome", "success").timer().count());
+        assertEquals(1L, registry.get("vibecheck.playlist.stage")
+                .tags("stage", "song_upsert", "outcome", "error").timer().count());
+    }
+}
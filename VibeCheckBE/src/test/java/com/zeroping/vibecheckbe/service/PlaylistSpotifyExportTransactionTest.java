@@ -0,0 +1,92 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.config.PaginationProperties;
+import com.zeroping.vibecheckbe.dto.SavePlaylistToSpotifyRequest;
+import com.zeroping.vibecheckbe.entity.Playlist;
+import com.zeroping.vibecheckbe.entity.Song;
+import com.zeroping.vibecheckbe.repository.PlaylistRepository;
+import com.zeroping.vibecheckbe.repository.SongRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Checks that exporting a playlist to Spotify holds no transaction (and so no database connection)
+// while the Spotify calls run
+@DataJpaTest
+@Import({PlaylistService.class, PaginationProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlaylistSpotifyExportTransactionTest {
+
+    @Autowired
+    private PlaylistService playlistService;
+    @Autowired
+    private PlaylistRepository playlistRepository;
+    @Autowired
+    private SongRepository songRepository;
+
+    @MockitoBean
+    private SpotifyPlaylistExporter spotifyPlaylistExporter;
+
+    @AfterEach
+    void tearDown() {
+        playlistRepository.deleteAll();
+        songRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("""
+            Given a stored playlist with songs
+            When it is exported to Spotify
+            Then the songs are loaded beforehand and no transaction is active during the Spotify calls
+            """)
+    void givenPlaylist_WhenExported_ThenNoTransactionDuringSpotifyCalls() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Playlist playlist = new Playlist();
+        playlist.setName("Export me");
+        playlist.setMood("happy");
+        playlist.setUserId(userId);
+        playlist.setSongs(new HashSet<>(Set.of(
+                new Song(null, "A", "https://open.spotify.com/track/a1", "Artist", "a1", null),
+                new Song(null, "B", "https://open.spotify.com/track/b2", "Artist", "b2", null))));
+        Long playlistId = playlistRepository.save(playlist).getId();
+
+        AtomicBoolean transactionDuringExport = new AtomicBoolean(true);
+        when(spotifyPlaylistExporter.export(eq("token"), eq("On Spotify"), anyString(), anyList()))
+                .thenAnswer(inv -> {
+                    transactionDuringExport.set(TransactionSynchronizationManager.isActualTransactionActive());
+                    return new SpotifyPlaylistExporter.Result("spotify-id", 2, List.of(Duration.ZERO));
+                });
+
+        SavePlaylistToSpotifyRequest request = new SavePlaylistToSpotifyRequest();
+        request.setPlaylistId(playlistId);
+        request.setSpotifyPlaylistName("On Spotify");
+
+        // When
+        String spotifyPlaylistId = playlistService.savePlaylistToSpotify(userId, request, "token");
+
+        // Then
+        assertEquals("spotify-id", spotifyPlaylistId);
+        assertFalse(transactionDuringExport.get());
+        verify(spotifyPlaylistExporter).export(eq("token"), eq("On Spotify"), anyString(),
+                argThat(uris -> Set.copyOf(uris).equals(Set.of("spotify:track:a1", "spotify:track:b2"))));
+    }
+}
@@ -0,0 +1,241 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.config.PaginationProperties;
+import com.zeroping.vibecheckbe.dto.LastPlaylistResponseDTO;
+import com.zeroping.vibecheckbe.dto.MoodEntryResponseDTO;
+import com.zeroping.vibecheckbe.dto.MoodHistoryDTO;
+import com.zeroping.vibecheckbe.dto.PlaylistDTO;
+import com.zeroping.vibecheckbe.dto.UserDTO;
+import com.zeroping.vibecheckbe.entity.Genre;
+import com.zeroping.vibecheckbe.entity.Mood;
+import com.zeroping.vibecheckbe.entity.MoodEntry;
+import com.zeroping.vibecheckbe.entity.Playlist;
+import com.zeroping.vibecheckbe.entity.Song;
+import com.zeroping.vibecheckbe.entity.User;
+import com.zeroping.vibecheckbe.util.KeysetPage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Counts the SQL statements of the read paths behind the playlist, mood and user endpoints,
+// so a lazy association that gets loaded row by row (N+1) shows up as a failing test
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PlaylistService.class, UserService.class, MoodService.class, PaginationProperties.class,
+        ReferenceDataRegistry.class})
+class ReadPathStatementCountTest {
+
+    private static final int PLAYLISTS = 5;
+    private static final int SONGS_PER_PLAYLIST = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlaylistService playlistService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private MoodService moodService;
+
+    // Needed by PlaylistService, not used by the read paths
+    @MockitoBean
+    private SpotifyPlaylistExporter spotifyPlaylistExporter;
+
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Genre rock = persistGenre("Rock");
+        Genre jazz = persistGenre("Jazz");
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("reader@example.com");
+        user.setGenres(new HashSet<>(Set.of(rock, jazz)));
+        entityManager.persist(user);
+        userId = user.getId();
+
+        List<Mood> moods = List.of(persistMood("happy"), persistMood("calm"), persistMood("sad"));
+        int songNumber = 0;
+        for (int i = 0; i < PLAYLISTS; i++) {
+            Set<Song> songs = new HashSet<>();
+            for (int j = 0; j < SONGS_PER_PLAYLIST; j++) {
+                songs.add(persistSong(songNumber++));
+            }
+            Playlist playlist = new Playlist();
+            playlist.setName("Playlist " + i);
+            playlist.setMood("happy");
+            playlist.setUserId(userId);
+            playlist.setCreatedAt(Instant.now().minusSeconds(60L * i));
+            playlist.setSongs(songs);
+            entityManager.persist(playlist);
+
+            MoodEntry entry = new MoodEntry();
+            entry.setUser(user);
+            entry.setMood(moods.get(i % moods.size()));
+            entityManager.persist(entry);
+        }
+
+        // Start every test from an empty persistence context, like a fresh request
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("GET /playlist/playlists finds the ids of the page, then loads those playlists with their songs in one statement")
+    void givenPlaylistsWithSongs_WhenGetUserPlaylists_ThenTwoStatements() {
+        KeysetPage<PlaylistDTO> page = playlistService.getUserPlaylists(userId, null, null);
+
+        assertEquals(PLAYLISTS, page.items().size());
+        assertFalse(page.hasNext());
+        assertTrue(page.items().stream().allMatch(p -> p.getSongs().size() == SONGS_PER_PLAYLIST));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given more playlists than fit on one page
+            When the pages are followed with their cursors
+            Then every playlist is returned exactly once, newest first
+            """)
+    void givenSmallPageSize_WhenFollowingPlaylistCursors_ThenEveryPlaylistOnce() {
+        List<String> names = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<PlaylistDTO> page = playlistService.getUserPlaylists(userId, cursor, 2);
+            page.items().forEach(p -> names.add(p.getName()));
+            pageSizes.add(page.items().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(2, 2, 1), pageSizes);
+        assertEquals(List.of("Playlist 0", "Playlist 1", "Playlist 2", "Playlist 3", "Playlist 4"), names);
+    }
+
+    @Test
+    @DisplayName("Playlists by mood are loaded with their songs in a single statement")
+    void givenPlaylistsWithSongs_WhenGetPlaylistsByMood_ThenOneStatement() {
+        List<PlaylistDTO> playlists = playlistService.getPlaylistsByMood(userId, "happy");
+
+        assertEquals(PLAYLISTS, playlists.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("GET /users/last-playlist loads the latest playlist and its songs in a single statement")
+    void givenPlaylistsWithSongs_WhenGetLastPlaylist_ThenOneStatement() {
+        Optional<LastPlaylistResponseDTO> last = userService.getLastPlaylist(userId);
+
+        assertTrue(last.isPresent());
+        assertEquals("Playlist 0", last.get().getName());
+        assertEquals(SONGS_PER_PLAYLIST, last.get().getSongs().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("GET /moods/entries/user/{userId} loads the user and then the page of entries with their moods, independent of the entry count")
+    void givenMoodEntries_WhenGetUserMoodEntries_ThenTwoStatements() {
+        KeysetPage<MoodEntryResponseDTO> entries = moodService.getUserMoodEntries(userId, null, null);
+
+        assertEquals(PLAYLISTS, entries.items().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given mood entries that may share a creation time
+            When the pages are followed with their cursors
+            Then every entry is returned exactly once
+            """)
+    void givenSmallPageSize_WhenFollowingMoodEntryCursors_ThenEveryEntryOnce() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<MoodEntryResponseDTO> page = moodService.getUserMoodEntries(userId, cursor, 2);
+            page.items().forEach(e -> ids.add(e.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(PLAYLISTS, ids.size());
+        assertEquals(PLAYLISTS, new HashSet<>(ids).size());
+    }
+
+    @Test
+    @DisplayName("""
+            Given mood entries of three moods
+            When GET /users/{id}/moods builds the mood history
+            Then the user, the entries and the playlists of all their moods are loaded with one statement each
+            """)
+    void givenMoodEntries_WhenGetUserMoodHistory_ThenThreeStatements() {
+        // When
+        KeysetPage<MoodHistoryDTO> history = moodService.getUserMoodHistory(userId, null, null);
+
+        // Then
+        assertEquals(PLAYLISTS, history.items().size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        Map<String, List<MoodHistoryDTO>> byMood = history.items().stream()
+                .collect(Collectors.groupingBy(MoodHistoryDTO::getMoodName));
+        List<MoodHistoryDTO> happy = byMood.get("happy");
+        assertEquals(2, happy.size());
+        assertEquals(PLAYLISTS, happy.get(0).getPlaylists().size());
+        // Entries with the same mood share one playlist list
+        assertSame(happy.get(0).getPlaylists(), happy.get(1).getPlaylists());
+        assertTrue(byMood.get("calm").getFirst().getPlaylists().isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /users/{id} loads the user with their genres in a single statement")
+    void givenUserWithGenres_WhenGetUserById_ThenOneStatement() {
+        UserDTO user = userService.getUserById(userId);
+
+        assertEquals(2, user.getGenres().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Genre persistGenre(String name) {
+        Genre genre = new Genre();
+        genre.setName(name);
+        return entityManager.persist(genre);
+    }
+
+    private Mood persistMood(String name) {
+        Mood mood = new Mood();
+        mood.setName(name);
+        return entityManager.persist(mood);
+    }
+
+    private Song persistSong(int number) {
+        Song song = new Song();
+        song.setName("Song " + number);
+        song.setArtistName("Artist");
+        song.setUrl("https://open.spotify.com/track/t" + number);
+        song.setSpotifyTrackId("t" + number);
+        return entityManager.persist(song);
+    }
+}
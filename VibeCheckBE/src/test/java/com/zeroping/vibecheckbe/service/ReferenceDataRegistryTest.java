@@ -0,0 +1,91 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.entity.Genre;
+import com.zeroping.vibecheckbe.entity.Mood;
+import com.zeroping.vibecheckbe.repository.GenreRepository;
+import com.zeroping.vibecheckbe.repository.MoodRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit tests for ReferenceDataRegistry
+class ReferenceDataRegistryTest {
+
+    @Mock
+    private MoodRepository moodRepository;
+    @Mock
+    private GenreRepository genreRepository;
+
+    private ReferenceDataRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(moodRepository.findAll()).thenReturn(List.of(new Mood(2L, "Calm", "slow", "no"), new Mood(1L, "Happy", "fast", "yes")));
+        when(genreRepository.findAll()).thenReturn(List.of(new Genre(7L, "Hip-Hop"), new Genre(3L, "Rock")));
+        registry = new ReferenceDataRegistry(moodRepository, genreRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Given moods and genres in the database
+            When they are looked up repeatedly by id and by name in any case
+            Then the tables are read only once and the rows are found
+            """)
+    void givenReferenceData_WhenLookedUp_ThenServedFromOneLoad() {
+        // When
+        List<Long> moodIds = registry.moods().stream().map(ReferenceDataRegistry.MoodData::id).toList();
+
+        // Then
+        assertEquals(List.of(1L, 2L), moodIds);
+        assertEquals("slow", registry.moodByName("CALM").orElseThrow().tempo());
+        assertEquals("Rock", registry.genre(3L).orElseThrow().name());
+        assertEquals(7L, registry.genreByName("hip-hop").orElseThrow().id());
+        assertTrue(registry.genre(99L).isEmpty());
+        assertTrue(registry.genreByName(null).isEmpty());
+        verify(moodRepository, times(1)).findAll();
+        verify(genreRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("""
+            Given a loaded snapshot
+            When a genre is added and the registry is reloaded
+            Then lookups see the new version while the old snapshot stays unchanged
+            """)
+    void givenNewGenre_WhenReloaded_ThenNewVersionIsPublished() {
+        // Given
+        ReferenceDataRegistry.Snapshot first = registry.snapshot();
+        when(genreRepository.findAll()).thenReturn(List.of(new Genre(3L, "Rock"), new Genre(7L, "Hip-Hop"), new Genre(9L, "Jazz")));
+
+        // When
+        ReferenceDataRegistry.Snapshot second = registry.reload();
+
+        // Then
+        assertEquals(1, first.version());
+        assertEquals(2, second.version());
+        assertEquals(2, first.genres().size());
+        assertTrue(registry.genreByName("jazz").isPresent());
+        assertSame(second, registry.snapshot());
+        assertThrows(UnsupportedOperationException.class, () -> second.genres().add(new ReferenceDataRegistry.GenreData(10L, "Pop")));
+    }
+
+    @Test
+    @DisplayName("Entities handed out by the registry are fresh detached copies, so callers cannot change the snapshot")
+    void givenGenre_WhenToEntity_ThenFreshCopy() {
+        ReferenceDataRegistry.GenreData rock = registry.genre(3L).orElseThrow();
+
+        Genre entity = rock.toEntity();
+        entity.setName("Changed");
+
+        assertEquals("Rock", registry.genre(3L).orElseThrow().name());
+        assertNotSame(entity, rock.toEntity());
+    }
+}
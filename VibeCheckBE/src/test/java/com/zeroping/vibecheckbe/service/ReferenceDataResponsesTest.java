@@ -0,0 +1,86 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeroping.vibecheckbe.util.PreSerializedResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit tests for ReferenceDataResponses
+class ReferenceDataResponsesTest {
+
+    @Mock
+    private ReferenceDataRegistry referenceData;
+    @Mock
+    private MoodService moodService;
+    @Mock
+    private GenreService genreService;
+
+    private ReferenceDataResponses responses;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        responses = new ReferenceDataResponses(referenceData, moodService, genreService, new ObjectMapper(), Duration.ofMinutes(5));
+        when(moodService.getAllMoods()).thenReturn(List.of(Map.of("id", 1L, "name", "Happy")));
+    }
+
+    @Test
+    @DisplayName("""
+            Given an unchanged reference data version
+            When the genres are requested several times
+            Then they are serialized only once and the same bytes are served
+            """)
+    void givenSameVersion_WhenRequestedRepeatedly_ThenRenderedOnce() {
+        // Given
+        when(referenceData.snapshot()).thenReturn(snapshot(1));
+        when(genreService.getAllGenres()).thenReturn(List.of(Map.of("id", 3L, "name", "Rock")));
+
+        // When
+        PreSerializedResponse first = responses.genres();
+        PreSerializedResponse second = responses.genres();
+
+        // Then
+        assertSame(first, second);
+        assertEquals("[{\"id\":3,\"name\":\"Rock\"}]", new String(first.json(), StandardCharsets.UTF_8));
+        verify(genreService, times(1)).getAllGenres();
+    }
+
+    @Test
+    @DisplayName("""
+            Given the reference data is reloaded with a new genre
+            When the genres are requested again
+            Then a new body with a new ETag is rendered
+            """)
+    void givenReload_WhenRequested_ThenRenderedAgain() {
+        // Given
+        when(referenceData.snapshot()).thenReturn(snapshot(1), snapshot(2));
+        when(genreService.getAllGenres()).thenReturn(
+                List.of(Map.of("id", 3L, "name", "Rock")),
+                List.of(Map.of("id", 3L, "name", "Rock"), Map.of("id", 4L, "name", "Jazz")));
+
+        // When
+        PreSerializedResponse before = responses.genres();
+        PreSerializedResponse after = responses.genres();
+
+        // Then
+        assertNotEquals(before.etag(), after.etag());
+        verify(genreService, times(2)).getAllGenres();
+    }
+
+    private static ReferenceDataRegistry.Snapshot snapshot(long version) {
+        return new ReferenceDataRegistry.Snapshot(version, Instant.now(),
+                List.of(), Map.of(), Map.of(), List.of(), Map.of(), Map.of());
+    }
+}
@@ -0,0 +1,199 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.TrackSpotifyRequest;
+import com.zeroping.vibecheckbe.entity.Playlist;
+import com.zeroping.vibecheckbe.entity.Song;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for SongDeduplicationJob against the H2 test database
+@DataJpaTest
+@Import({SongDeduplicationJob.class, TrackResolutionCache.class})
+class SongDeduplicationJobTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SongDeduplicationJob job;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TrackResolutionCache trackCache;
+
+    @Test
+    @DisplayName("""
+            Given two song rows with the same Spotify URL linked from two playlists
+            When the deduplication job runs
+            Then the oldest row gets the track ID and every playlist links to it
+            """)
+    void givenDuplicateSongs_WhenRun_ThenDuplicatesAreMergedAndLinksRepointed() {
+        // Given
+        Song original = song("https://open.spotify.com/track/abc123");
+        Song duplicate = song("https://open.spotify.com/track/abc123");
+        Song other = song("https://open.spotify.com/track/xyz789");
+        Song unparseable = song("not a spotify link");
+        Playlist both = playlist(Set.of(original, duplicate, other));
+        Playlist onlyDuplicate = playlist(Set.of(duplicate));
+        entityManager.flush();
+
+        // When
+        SongDeduplicationJob.Result result = job.run();
+
+        // Then
+        assertEquals(4, result.scanned());
+        assertEquals(2, result.backfilled());
+        assertEquals(1, result.merged());
+        assertEquals(1, result.unparseable());
+
+        assertEquals(0, count("SELECT COUNT(*) FROM public.\"Songs\" WHERE id = ?", duplicate.getId()));
+        assertEquals("abc123", jdbcTemplate.queryForObject(
+                "SELECT spotify_track_id FROM public.\"Songs\" WHERE id = ?", String.class, original.getId()));
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT spotify_track_id FROM public.\"Songs\" WHERE id = ?", String.class, unparseable.getId()));
+        assertEquals(List.of(original.getId(), other.getId()), linkedSongs(both));
+        assertEquals(List.of(original.getId()), linkedSongs(onlyDuplicate));
+    }
+
+    @Test
+    @DisplayName("""
+            Given a migrated song and a newer un-migrated row for the same track
+            When the deduplication job runs again
+            Then the new row is merged into the migrated one
+            """)
+    void givenAlreadyMigratedSong_WhenRun_ThenLaterDuplicateIsMergedIntoIt() {
+        // Given
+        Song migrated = song("https://open.spotify.com/track/abc123");
+        migrated.setSpotifyTrackId("abc123");
+        Song late = song("https://open.spotify.com/track/abc123");
+        Playlist playlist = playlist(Set.of(late));
+        entityManager.flush();
+
+        // When
+        SongDeduplicationJob.Result result = job.run();
+
+        // Then
+        assertEquals(1, result.scanned());
+        assertEquals(0, result.backfilled());
+        assertEquals(1, result.merged());
+        assertEquals(List.of(migrated.getId()), linkedSongs(playlist));
+    }
+
+    @Test
+    @DisplayName("""
+            Given duplicate un-migrated rows for a track
+            When another request stores the same track after the job looked for its owner but before the backfill
+            Then the backfill gives way and both rows are merged into the concurrently stored song
+            """)
+    void givenConcurrentInsert_WhenRun_ThenMergedIntoRowThatWonTheTrackId() {
+        // Given
+        Song original = song("https://open.spotify.com/track/abc123");
+        Song duplicate = song("https://open.spotify.com/track/abc123");
+        Playlist playlist = playlist(Set.of(original, duplicate));
+        entityManager.flush();
+        ConcurrentInsertJdbcTemplate racingJdbcTemplate = new ConcurrentInsertJdbcTemplate(jdbcTemplate, "abc123");
+        SongDeduplicationJob racingJob = new SongDeduplicationJob(
+                racingJdbcTemplate, transactionManager, entityManagerFactory, trackCache, 500, false);
+
+        // When
+        SongDeduplicationJob.Result result = racingJob.run();
+
+        // Then
+        Long winner = racingJdbcTemplate.insertedId;
+        assertNotNull(winner);
+        assertEquals(0, result.backfilled());
+        assertEquals(2, result.merged());
+        assertEquals(List.of(winner), linkedSongs(playlist));
+        assertEquals(1, count("SELECT COUNT(*) FROM public.\"Songs\" WHERE url = ?", "https://open.spotify.com/track/abc123"));
+    }
+
+    @Test
+    @DisplayName("""
+            Given a track whose lookup is cached in memory with the duplicate row that the job will merge away
+            When the deduplication job runs
+            Then the memory level is cleared and the track resolves to the surviving song
+            """)
+    void givenCachedLoser_WhenRun_ThenTrackResolvesToSurvivor() {
+        // Given
+        Song original = song("https://open.spotify.com/track/abc123");
+        Song duplicate = song("https://open.spotify.com/track/abc123");
+        TrackSpotifyRequest track = new TrackSpotifyRequest("Song", "Artist");
+        trackCache.remember(track, duplicate);
+        entityManager.flush();
+        assertEquals(duplicate.getId(), trackCache.lookup(track).orElseThrow().getId());
+
+        // When
+        job.run();
+        entityManager.clear();
+
+        // Then
+        assertEquals(0, trackCache.memoryStats().size());
+        assertEquals(original.getId(), trackCache.lookup(track).orElseThrow().getId());
+    }
+
+    private Song song(String url) {
+        Song song = new Song();
+        song.setName("Song");
+        song.setArtistName("Artist");
+        song.setUrl(url);
+        return entityManager.persist(song);
+    }
+
+    private Playlist playlist(Set<Song> songs) {
+        Playlist playlist = new Playlist();
+        playlist.setName("Playlist");
+        playlist.setMood("happy");
+        playlist.setUserId(UUID.randomUUID());
+        playlist.setSongs(songs);
+        return entityManager.persist(playlist);
+    }
+
+    private List<Long> linkedSongs(Playlist playlist) {
+        return jdbcTemplate.queryForList(
+                "SELECT song_id FROM public.playlist_songs WHERE playlist_id = ? ORDER BY song_id",
+                Long.class, playlist.getId());
+    }
+
+    private int count(String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return count == null ? 0 : count;
+    }
+
+    // Stores the track, like a concurrent insertMissingSongs, right after the job has read the current owners
+    private static class ConcurrentInsertJdbcTemplate extends JdbcTemplate {
+        private final String trackId;
+        private Long insertedId;
+
+        ConcurrentInsertJdbcTemplate(JdbcTemplate delegate, String trackId) {
+            super(delegate.getDataSource());
+            this.trackId = trackId;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            super.query(sql, rch, args);
+            if (insertedId == null && sql.contains("WHERE spotify_track_id IN")) {
+                update("INSERT INTO public.\"Songs\" (name, url, artist_name, spotify_track_id) VALUES (?, ?, ?, ?)",
+                        "Song", "https://open.spotify.com/track/" + trackId, "Artist", trackId);
+                insertedId = queryForObject("SELECT id FROM public.\"Songs\" WHERE spotify_track_id = ?", Long.class, trackId);
+            }
+        }
+    }
+}
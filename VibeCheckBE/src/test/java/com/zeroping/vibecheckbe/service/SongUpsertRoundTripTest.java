@@ -0,0 +1,139 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.PostgresTestConfiguration;
+import com.zeroping.vibecheckbe.dto.PlaylistSpotifyResponse;
+import com.zeroping.vibecheckbe.dto.TrackResolution;
+import com.zeroping.vibecheckbe.dto.TrackSpotifyRequest;
+import com.zeroping.vibecheckbe.entity.Song;
+import com.zeroping.vibecheckbe.repository.SongRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import se.michaelthelin.spotify.model_objects.specification.ArtistSimplified;
+import se.michaelthelin.spotify.model_objects.specification.ExternalUrl;
+import se.michaelthelin.spotify.model_objects.specification.Track;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Compares the SQL statements of the bulk song upsert with the per-track loop it replaced, both against
+// PostgreSQL (the bulk path runs an INSERT ... ON CONFLICT). The loop looked every URL up and saved each
+// missing song on its own; the bulk path takes the same 2 statements however many tracks there are.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import({PostgresTestConfiguration.class, SpotifyPlaylistService.class})
+@Testcontainers(disabledWithoutDocker = true)
+class SongUpsertRoundTripTest {
+
+    private static final int TRACKS = 50;
+    private static final int ALREADY_STORED = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private SongRepository songRepository;
+    @Autowired
+    private SpotifyPlaylistService spotifyPlaylistService;
+
+    @MockitoBean
+    private SpotifyTrackResolver trackResolver;
+    @MockitoBean
+    private TrackResolutionCache trackCache;
+
+    @Test
+    @DisplayName("""
+            Given 50 resolved tracks of which 20 are already stored, once for each save path
+            When the songs are saved with the old per-track loop and with the bulk upsert
+            Then the loop takes one lookup per track plus one insert per new song, the bulk upsert takes 2 statements
+            """)
+    void givenResolvedTracks_WhenSaving_ThenBulkUpsertTakesTwoStatementsInsteadOfOnePerTrack() {
+        // Given
+        List<TrackResolution> legacyTracks = storeAndResolve("legacy");
+        List<TrackResolution> bulkTracks = storeAndResolve("bulk");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // When
+        statistics.clear();
+        List<Song> legacySongs = saveOneByOne(legacyTracks);
+        long legacyStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        PlaylistSpotifyResponse response = spotifyPlaylistService.saveResolvedSongs(bulkTracks);
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        // Then
+        assertEquals(TRACKS + (TRACKS - ALREADY_STORED), legacyStatements);
+        assertEquals(2, bulkStatements);
+        assertEquals(TRACKS, legacySongs.size());
+        assertEquals(TRACKS, response.getSongs().size());
+        assertTrue(response.getSongs().stream().map(Song::getId).allMatch(Objects::nonNull));
+        assertEquals(urlOf("bulk", 0), response.getSongs().getFirst().getUrl());
+        assertEquals(2L * TRACKS, songRepository.count());
+    }
+
+    // Store the first ALREADY_STORED tracks of a set and resolve all TRACKS of it
+    private List<TrackResolution> storeAndResolve(String set) {
+        IntStream.range(0, ALREADY_STORED).forEach(i -> entityManager.persist(
+                new Song(null, "Stored " + i, urlOf(set, i), "Artist", set + i, null)));
+        entityManager.flush();
+        entityManager.clear();
+        return IntStream.range(0, TRACKS)
+                .mapToObj(i -> TrackResolution.resolved(i, new TrackSpotifyRequest("Song " + i, "Artist"),
+                        mockTrack("Song " + i, urlOf(set, i))))
+                .toList();
+    }
+
+    // The per-track loop saveResolvedSongs used before the bulk upsert: look the URL up, save the song if missing
+    private List<Song> saveOneByOne(List<TrackResolution> resolutions) {
+        List<Song> songs = new ArrayList<>();
+        for (TrackResolution resolution : resolutions) {
+            Track track = resolution.track();
+            String url = track.getExternalUrls().get("spotify");
+            Song song = entityManager.getEntityManager()
+                    .createQuery("SELECT s FROM Song s WHERE s.url = :url", Song.class)
+                    .setParameter("url", url)
+                    .setMaxResults(1)
+                    .getResultStream()
+                    .findFirst()
+                    .orElseGet(() -> songRepository.save(new Song(null, track.getName(), url,
+                            track.getArtists()[0].getName(), track.getId(), null)));
+            songs.add(song);
+        }
+        return songs;
+    }
+
+    private static String urlOf(String set, int i) {
+        return "https://open.spotify.com/track/" + set + i;
+    }
+
+    private static Track mockTrack(String name, String url) {
+        Track track = mock(Track.class);
+        ArtistSimplified artist = mock(ArtistSimplified.class);
+        ExternalUrl urls = mock(ExternalUrl.class);
+        lenient().when(track.getId()).thenReturn(url.substring(url.lastIndexOf('/') + 1));
+        lenient().when(track.getName()).thenReturn(name);
+        lenient().when(artist.getName()).thenReturn("Artist");
+        lenient().when(track.getArtists()).thenReturn(new ArtistSimplified[]{artist});
+        lenient().when(track.getExternalUrls()).thenReturn(urls);
+        lenient().when(urls.get("spotify")).thenReturn(url);
+        return track;
+    }
+}
@@ -0,0 +1,110 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.util.RateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import se.michaelthelin.spotify.SpotifyApi;
+import se.michaelthelin.spotify.model_objects.credentials.ClientCredentials;
+import se.michaelthelin.spotify.requests.authorization.client_credentials.ClientCredentialsRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Test class for SpotifyAppTokenProvider
+class SpotifyAppTokenProviderTest {
+
+    @Mock
+    private SpotifyApi spotifyApi;
+    @Mock
+    private SpotifyClientFactory spotifyClients;
+    @Mock
+    private ClientCredentialsRequest cRequest;
+
+    private SpotifyAppTokenProvider appTokens;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ClientCredentialsRequest.Builder cBuilder = mock(ClientCredentialsRequest.Builder.class);
+        when(spotifyClients.credentialsClient()).thenReturn(spotifyApi);
+        when(spotifyApi.clientCredentials()).thenReturn(cBuilder);
+        when(cBuilder.build()).thenReturn(cRequest);
+        appTokens = new SpotifyAppTokenProvider(spotifyClients, new RateLimiter(1000, 1000), Duration.ofMinutes(5));
+    }
+
+    private static ClientCredentials credentials(String token, int expiresIn) {
+        ClientCredentials creds = mock(ClientCredentials.class);
+        when(creds.getAccessToken()).thenReturn(token);
+        when(creds.getExpiresIn()).thenReturn(expiresIn);
+        return creds;
+    }
+
+    @Test
+    @DisplayName("""
+            Given no token has been fetched yet
+            When currentToken is called twice
+            Then the token is fetched once and reused
+            """)
+    void givenNoToken_whenCurrentTokenTwice_thenFetchesOnce() throws Exception {
+        // Given
+        ClientCredentials creds = credentials("TOKEN", 3600);
+        when(cRequest.execute()).thenReturn(creds);
+
+        // When
+        String first = appTokens.currentToken();
+        String second = appTokens.currentToken();
+
+        // Then
+        assertEquals("TOKEN", first);
+        assertEquals("TOKEN", second);
+        verify(cRequest, times(1)).execute();
+        assertEquals(1, appTokens.refreshCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a token that is within the refresh window
+            When the background refresh runs
+            Then requests get the new token without fetching it themselves
+            """)
+    void givenTokenNearExpiry_whenRefreshIfDue_thenNewTokenIsServed() throws Exception {
+        // Given
+        ClientCredentials creds1 = credentials("TOKEN1", 120); // inside the 5 minute refresh window
+        ClientCredentials creds2 = credentials("TOKEN2", 3600);
+        when(cRequest.execute()).thenReturn(creds1, creds2);
+        assertEquals("TOKEN1", appTokens.currentToken());
+
+        // When
+        appTokens.refreshIfDue();
+
+        // Then
+        assertEquals("TOKEN2", appTokens.currentToken());
+        verify(cRequest, times(2)).execute();
+    }
+
+    @Test
+    @DisplayName("""
+            Given a usable token
+            When the background refresh fails
+            Then the old token is kept and the failure is counted
+            """)
+    void givenUsableToken_whenRefreshFails_thenOldTokenIsKept() throws Exception {
+        // Given
+        ClientCredentials creds = credentials("TOKEN", 120);
+        when(cRequest.execute()).thenReturn(creds).thenThrow(new IOException("connection reset"));
+        appTokens.currentToken();
+
+        // When
+        appTokens.refreshIfDue();
+
+        // Then
+        assertEquals("TOKEN", appTokens.currentToken());
+        assertEquals(1, appTokens.refreshFailureCount());
+    }
+}
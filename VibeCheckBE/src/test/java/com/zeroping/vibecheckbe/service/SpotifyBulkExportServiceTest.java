@@ -0,0 +1,88 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.exception.playlist.PlaylistExportRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Test class for SpotifyBulkExportService
+@ExtendWith(MockitoExtension.class)
+class SpotifyBulkExportServiceTest {
+
+    @Mock
+    private PlaylistService playlistService;
+    @Mock
+    private SpotifyPlaylistExporter exporter;
+
+    private SpotifyBulkExportService bulkExportService;
+
+    @BeforeEach
+    void setUp() {
+        bulkExportService = new SpotifyBulkExportService(playlistService, exporter, 4, 2, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkExportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("""
+            Given more playlist ids than one bulk export may hold
+            When exportAll is called
+            Then the request is rejected before anything is loaded
+            """)
+    void givenTooManyIds_WhenExportAll_ThenRejected() {
+        // Given
+        UUID userId = UUID.randomUUID();
+
+        // When / Then
+        assertThrows(PlaylistExportRejectedException.class,
+                () -> bulkExportService.exportAll(userId, List.of(1L, 2L, 3L, 4L, 5L), "TOKEN"));
+        assertThrows(PlaylistExportRejectedException.class,
+                () -> bulkExportService.exportAll(userId, List.of(), "TOKEN"));
+        verifyNoInteractions(playlistService, exporter);
+    }
+
+    @Test
+    @DisplayName("""
+            Given two exportable playlists, an empty one and an unknown id
+            When exportAll is called
+            Then the playlists are loaded in one call, the user is looked up once
+            And only the playlists with tracks are created on Spotify
+            """)
+    void givenMixedPlaylists_WhenExportAll_ThenOnlyExportablePlaylistsAreExported() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        // Playlist 4 does not belong to the user, so it is not loaded
+        when(playlistService.findExportablePlaylists(userId, Set.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                new PlaylistService.ExportablePlaylist(1L, "Happy", List.of("spotify:track:a")),
+                new PlaylistService.ExportablePlaylist(2L, "Calm", List.of("spotify:track:b", "spotify:track:c")),
+                new PlaylistService.ExportablePlaylist(3L, "Empty", List.of())
+        ));
+        when(exporter.export(eq("TOKEN"), anyString(), anyString(), anyList()))
+                .thenReturn(new SpotifyPlaylistExporter.Result("sp", 1, List.of()));
+
+        // When
+        bulkExportService.exportAll(userId, List.of(1L, 2L, 3L, 4L, 2L), "TOKEN"); // duplicates count once
+
+        // Then
+        verify(exporter, timeout(2_000)).export("TOKEN", "Happy", "Generated by AI via VibeCheck", List.of("spotify:track:a"));
+        verify(exporter, timeout(2_000)).export("TOKEN", "Calm", "Generated by AI via VibeCheck",
+                List.of("spotify:track:b", "spotify:track:c"));
+        verify(exporter, times(1)).userIdOf("TOKEN");
+        verify(exporter, never()).export(anyString(), eq("Empty"), anyString(), anyList());
+    }
+}
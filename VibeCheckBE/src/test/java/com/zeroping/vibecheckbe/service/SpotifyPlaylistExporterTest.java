@@ -0,0 +1,90 @@
+package com.zeroping.vibecheckbe.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Test class for SpotifyPlaylistExporter
+@ExtendWith(MockitoExtension.class)
+class SpotifyPlaylistExporterTest {
+
+    @Mock
+    private SpotifyService spotifyService;
+
+    private SimpleMeterRegistry registry;
+    private SpotifyPlaylistExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        exporter = new SpotifyPlaylistExporter(spotifyService, registry, 100, Duration.ofHours(1));
+    }
+
+    private static List<String> trackUris(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "spotify:track:" + i).toList();
+    }
+
+    @Test
+    @DisplayName("""
+            Given a playlist of 250 tracks
+            When it is exported
+            Then the tracks are added in order in chunks of 100, 100 and 50
+            """)
+    @SuppressWarnings("unchecked")
+    void givenLargePlaylist_whenExport_thenTracksAreAddedInOrderedChunks() {
+        // Given
+        List<String> uris = trackUris(250);
+        when(spotifyService.getCurrentUserId("TOKEN")).thenReturn("user-1");
+        when(spotifyService.createPlaylist("TOKEN", "user-1", "Big", "desc")).thenReturn("pl-1");
+
+        // When
+        SpotifyPlaylistExporter.Result result = exporter.export("TOKEN", "Big", "desc", uris);
+
+        // Then
+        ArgumentCaptor<List<String>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(spotifyService, times(3)).addTracksToPlaylist(eq("TOKEN"), eq("pl-1"), chunks.capture());
+        assertEquals(List.of(100, 100, 50), chunks.getAllValues().stream().map(List::size).toList());
+        assertEquals(uris, chunks.getAllValues().stream().flatMap(List::stream).toList());
+
+        assertEquals("pl-1", result.spotifyPlaylistId());
+        assertEquals(250, result.trackCount());
+        assertEquals(3, result.chunkTimings().size());
+        assertEquals(3, registry.get("vibecheck.spotify.export.chunk").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("""
+            Given two exports with the same access token
+            When they run one after the other
+            Then the Spotify user ID is looked up only once
+            """)
+    void givenSameToken_whenExportTwice_thenUserIdIsLookedUpOnce() {
+        // Given
+        when(spotifyService.getCurrentUserId("TOKEN")).thenReturn("user-1");
+        when(spotifyService.createPlaylist(eq("TOKEN"), eq("user-1"), anyString(), anyString()))
+                .thenReturn("pl-1", "pl-2");
+
+        // When
+        exporter.export("TOKEN", "First", "desc", trackUris(3));
+        exporter.export("TOKEN", "Second", "desc", trackUris(3));
+
+        // Then
+        verify(spotifyService, times(1)).getCurrentUserId("TOKEN");
+        InOrder inOrder = inOrder(spotifyService);
+        inOrder.verify(spotifyService).createPlaylist("TOKEN", "user-1", "First", "desc");
+        inOrder.verify(spotifyService).createPlaylist("TOKEN", "user-1", "Second", "desc");
+    }
+}
@@ -5,10 +5,12 @@ import com.zeroping.vibecheckbe.dto.PlaylistSpotifyResponse;
 import com.zeroping.vibecheckbe.dto.TrackSpotifyRequest;
 import com.zeroping.vibecheckbe.entity.Song;
 import com.zeroping.vibecheckbe.repository.SongRepository;
+import com.zeroping.vibecheckbe.dto.TrackResolution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import se.michaelthelin.spotify.model_objects.specification.ArtistSimplified;
@@ -29,10 +31,19 @@ class SpotifyPlaylistServiceTest {
     private SongRepository songRepository;
     @Mock
     private SpotifyService spotifyService;
+    @Mock
+    private TrackResolutionCache trackCache;
 
-    @InjectMocks
     private SpotifyPlaylistService playlistService;
 
+    @BeforeEach
+    void setUp() {
+        // Use the real resolver so searches go through the mocked SpotifyService
+        playlistService = new SpotifyPlaylistService(songRepository,
+                new SpotifyTrackResolver(spotifyService, trackCache,
+                        new PlaylistGenerationMetrics(new SimpleMeterRegistry()), 4), trackCache);
+    }
+
     // Helper to Create Mocks
     private Track createMockTrack(String name, String artistName, String url) {
         Track mockTrack = mock(Track.class);
@@ -40,6 +51,7 @@ class SpotifyPlaylistServiceTest {
         ExternalUrl mockUrls = mock(ExternalUrl.class);
 
         // FIX: Use lenient() here because 'Existing Song' tests won't read these fields
+        lenient().when(mockTrack.getId()).thenReturn(trackIdOf(url));
         lenient().when(mockTrack.getName()).thenReturn(name);
         lenient().when(mockArtist.getName()).thenReturn(artistName);
         lenient().when(mockTrack.getArtists()).thenReturn(new ArtistSimplified[]{mockArtist});
@@ -52,6 +64,11 @@ class SpotifyPlaylistServiceTest {
         return mockTrack;
     }
 
+    // Test URLs end with the track ID, like real Spotify links
+    private static String trackIdOf(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
     @Test
     @DisplayName("Given a playlist request with a NEW song, it is saved and returned")
     void givenRequestWithNewSong_WhenSearchAndSave_ThenSongIsSaved() {
@@ -68,15 +85,14 @@ class SpotifyPlaylistServiceTest {
         Song savedSong = new Song();
         savedSong.setId(1L);
         savedSong.setUrl(url);
+        savedSong.setSpotifyTrackId("0");
         savedSong.setName(songName);
 
         // Mocks
         when(spotifyService.searchSong(songName, artist)).thenReturn(Optional.of(mockTrack));
 
-        // FIX: Mock findFirstByUrl (matches Service implementation)
-        lenient().when(songRepository.findFirstByUrl(url)).thenReturn(Optional.empty());
-
-        when(songRepository.save(any(Song.class))).thenReturn(savedSong);
+        when(songRepository.findAllBySpotifyTrackIdIn(List.of("0"))).thenReturn(List.of());
+        when(songRepository.insertMissingSongs(anyList())).thenReturn(List.of(savedSong));
 
         // When
         PlaylistSpotifyResponse response = playlistService.searchAndSaveSongsFromPlaylist(request);
@@ -86,7 +102,7 @@ class SpotifyPlaylistServiceTest {
         assertEquals(1, response.getSongs().size());
         assertEquals(url, response.getSongs().getFirst().getUrl());
 
-        verify(songRepository, times(1)).save(any(Song.class));
+        verify(songRepository, times(1)).insertMissingSongs(anyList());
     }
 
     @Test
@@ -110,8 +126,8 @@ class SpotifyPlaylistServiceTest {
         // Mocks
         when(spotifyService.searchSong(songName, artist)).thenReturn(Optional.of(mockTrack));
 
-        // FIX: Mock findFirstByUrl so it returns the existing song
-        lenient().when(songRepository.findFirstByUrl(url)).thenReturn(Optional.of(existingSong));
+        existingSong.setSpotifyTrackId("0");
+        when(songRepository.findAllBySpotifyTrackIdIn(List.of("0"))).thenReturn(List.of(existingSong));
 
         // When
         PlaylistSpotifyResponse response = playlistService.searchAndSaveSongsFromPlaylist(request);
@@ -121,8 +137,8 @@ class SpotifyPlaylistServiceTest {
         assertEquals(1, response.getSongs().size());
         assertEquals(1L, response.getSongs().getFirst().getId());
 
-        // This should pass now because the service will see the existing song and SKIP save()
-        verify(songRepository, times(0)).save(any(Song.class));
+        // The service sees the existing song and skips the insert
+        verify(songRepository, times(0)).insertMissingSongs(anyList());
     }
 
     @Test
@@ -140,8 +156,8 @@ class SpotifyPlaylistServiceTest {
 
         // Then
         assertTrue(response.getSongs().isEmpty());
-        verify(songRepository, times(0)).findFirstByUrl(anyString());
-        verify(songRepository, times(0)).save(any(Song.class));
+        verify(songRepository, times(0)).findAllBySpotifyTrackIdIn(anyCollection());
+        verify(songRepository, times(0)).insertMissingSongs(anyList());
     }
 
     @Test
@@ -157,24 +173,51 @@ class SpotifyPlaylistServiceTest {
         Track trackNew = createMockTrack("New", "Artist1", "http://url/1");
         Track trackExist = createMockTrack("Existing", "Artist2", "http://url/2");
 
-        Song songNew = new Song(); songNew.setId(10L); songNew.setUrl("http://url/1");
-        Song songExist = new Song(); songExist.setId(20L); songExist.setUrl("http://url/2");
+        Song songNew = new Song(); songNew.setId(10L); songNew.setUrl("http://url/1"); songNew.setSpotifyTrackId("1");
+        Song songExist = new Song(); songExist.setId(20L); songExist.setUrl("http://url/2"); songExist.setSpotifyTrackId("2");
 
         when(spotifyService.searchSong("New", "Artist1")).thenReturn(Optional.of(trackNew));
         when(spotifyService.searchSong("Existing", "Artist2")).thenReturn(Optional.of(trackExist));
         when(spotifyService.searchSong("Missing", "Artist3")).thenReturn(Optional.empty());
 
-        // FIX: Mock findFirstByUrl correctly
-        lenient().when(songRepository.findFirstByUrl("http://url/1")).thenReturn(Optional.empty());
-        lenient().when(songRepository.findFirstByUrl("http://url/2")).thenReturn(Optional.of(songExist));
+        when(songRepository.findAllBySpotifyTrackIdIn(List.of("1", "2"))).thenReturn(List.of(songExist));
+        when(songRepository.insertMissingSongs(anyList())).thenReturn(List.of(songNew));
+
+        // When
+        PlaylistSpotifyResponse response = playlistService.searchAndSaveSongsFromPlaylist(request);
+
+        // Then
+        assertEquals(List.of(10L, 20L), response.getSongs().stream().map(Song::getId).toList());
+        verify(songRepository, times(1)).insertMissingSongs(argThat(songs -> songs.size() == 1));
+    }
 
-        when(songRepository.save(any(Song.class))).thenReturn(songNew);
+    @Test
+    @DisplayName("Given a track whose Spotify search throws, the other tracks are still saved and the failure is reported")
+    void givenOneFailingSearch_WhenSearchAndSave_ThenOtherTracksAreSavedAndFailureReported() {
+        // Given
+        TrackSpotifyRequest reqOk = new TrackSpotifyRequest("Ok", "Artist1");
+        TrackSpotifyRequest reqBroken = new TrackSpotifyRequest("Broken", "Artist2");
+
+        PlaylistSpotifyRequest request = new PlaylistSpotifyRequest(List.of(reqBroken, reqOk));
+
+        Track trackOk = createMockTrack("Ok", "Artist1", "http://url/ok");
+        Song songOk = new Song(); songOk.setId(30L); songOk.setUrl("http://url/ok"); songOk.setSpotifyTrackId("ok");
+
+        when(spotifyService.searchSong("Ok", "Artist1")).thenReturn(Optional.of(trackOk));
+        when(spotifyService.searchSong("Broken", "Artist2"))
+                .thenThrow(new RuntimeException("Error calling Spotify Search API!"));
+        when(songRepository.findAllBySpotifyTrackIdIn(List.of("ok"))).thenReturn(List.of(songOk));
 
         // When
         PlaylistSpotifyResponse response = playlistService.searchAndSaveSongsFromPlaylist(request);
 
         // Then
-        assertEquals(2, response.getSongs().size());
-        verify(songRepository, times(1)).save(any(Song.class));
+        assertEquals(1, response.getSongs().size());
+        assertEquals(30L, response.getSongs().getFirst().getId());
+        assertEquals(1, response.getUnresolvedTracks().size());
+        TrackResolution failure = response.getUnresolvedTracks().getFirst();
+        assertEquals(TrackResolution.Status.FAILED, failure.status());
+        assertEquals(0, failure.position());
+        assertEquals("Broken", failure.request().getTitle());
     }
-}
\ No newline at end of file
+}
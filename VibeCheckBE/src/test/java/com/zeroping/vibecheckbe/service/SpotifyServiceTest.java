@@ -1,18 +1,17 @@
 package com.zeroping.vibecheckbe.service;
 
+import com.zeroping.vibecheckbe.util.Hedger;
+import com.zeroping.vibecheckbe.util.RateLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InOrder;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import se.michaelthelin.spotify.SpotifyApi;
-import se.michaelthelin.spotify.model_objects.credentials.ClientCredentials;
+import se.michaelthelin.spotify.exceptions.detailed.TooManyRequestsException;
 import se.michaelthelin.spotify.model_objects.specification.ArtistSimplified;
 import se.michaelthelin.spotify.model_objects.specification.Paging;
 import se.michaelthelin.spotify.model_objects.specification.Track;
-import se.michaelthelin.spotify.requests.authorization.client_credentials.ClientCredentialsRequest;
 import se.michaelthelin.spotify.requests.data.search.simplified.SearchTracksRequest;
 
 import java.util.Optional;
@@ -25,13 +24,20 @@ class SpotifyServiceTest {
 
     @Mock
     private SpotifyApi spotifyApi;
+    @Mock
+    private SpotifyClientFactory spotifyClients;
+    @Mock
+    private SpotifyAppTokenProvider appTokens;
 
-    @InjectMocks
     private SpotifyService spotifyService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // The same mocked client stands in for every per-token client
+        when(spotifyClients.forToken(anyString())).thenReturn(spotifyApi);
+        when(appTokens.currentToken()).thenReturn("TOKEN");
+        spotifyService = new SpotifyService(spotifyClients, appTokens, Hedger.disabled(), new RateLimiter(1000, 1000), 1);
     }
 
     // Helper to mock the Search builder chain
@@ -60,17 +66,6 @@ class SpotifyServiceTest {
             Then the first Track is returned
             """)
     void givenExistingSong_whenSearchSong_thenReturnsFirstTrack() throws Exception {
-        // Mock the token flow (builder -> request -> credentials)
-        ClientCredentialsRequest.Builder cBuilder = mock(ClientCredentialsRequest.Builder.class);
-        ClientCredentialsRequest cRequest = mock(ClientCredentialsRequest.class);
-        ClientCredentials creds = mock(ClientCredentials.class);
-
-        when(spotifyApi.clientCredentials()).thenReturn(cBuilder);
-        when(cBuilder.build()).thenReturn(cRequest);
-        when(cRequest.execute()).thenReturn(creds);
-        when(creds.getAccessToken()).thenReturn("TOKEN");
-        when(creds.getExpiresIn()).thenReturn(3600);
-
         // Mock a successful search with one result
         Track first = mock(Track.class);
         String q = "track: " + "Yellow" + " artist: " + "Coldplay"; // must match service format
@@ -86,7 +81,7 @@ class SpotifyServiceTest {
 
         assertTrue(result.isPresent());
         assertEquals(first, result.get());
-        verify(spotifyApi).setAccessToken("TOKEN");
+        verify(spotifyClients).forToken("TOKEN");
     }
 
     @Test
@@ -96,17 +91,6 @@ class SpotifyServiceTest {
             Then Optional.empty() is returned
             """)
     void givenNoResults_whenSearchSong_thenReturnsEmpty() throws Exception {
-        // Token OK
-        ClientCredentialsRequest.Builder cBuilder = mock(ClientCredentialsRequest.Builder.class);
-        ClientCredentialsRequest cRequest = mock(ClientCredentialsRequest.class);
-        ClientCredentials creds = mock(ClientCredentials.class);
-
-        when(spotifyApi.clientCredentials()).thenReturn(cBuilder);
-        when(cBuilder.build()).thenReturn(cRequest);
-        when(cRequest.execute()).thenReturn(creds);
-        when(creds.getAccessToken()).thenReturn("TOKEN");
-        when(creds.getExpiresIn()).thenReturn(3600);
-
         // No tracks found
         String q = "track: " + "Unknown" + " artist: " + "Nobody";
         mockSearchFlow(q, new Track[]{}); // empty array
@@ -118,51 +102,36 @@ class SpotifyServiceTest {
 
     @Test
     @DisplayName("""
-            Given a token that is near expiry
-            When searchSong is called twice
-            Then the service refreshes the token and uses a new access token
+            Given Spotify answers a search with 429 Too Many Requests
+            When searchSong is called
+            Then the search waits for the Retry-After time and is sent again
             """)
-    void givenNearExpiryToken_whenSearchTwice_thenRefreshesToken() throws Exception {
-        // Mock first token (expires immediately) and second token (valid)
-        ClientCredentialsRequest.Builder cBuilder = mock(ClientCredentialsRequest.Builder.class);
-        ClientCredentialsRequest cRequest = mock(ClientCredentialsRequest.class);
-        when(spotifyApi.clientCredentials()).thenReturn(cBuilder);
-        when(cBuilder.build()).thenReturn(cRequest);
-
-        ClientCredentials creds1 = mock(ClientCredentials.class);
-        when(creds1.getAccessToken()).thenReturn("TOKEN1");
-        when(creds1.getExpiresIn()).thenReturn(1); // will trigger refresh
-
-        ClientCredentials creds2 = mock(ClientCredentials.class);
-        when(creds2.getAccessToken()).thenReturn("TOKEN2");
-        when(creds2.getExpiresIn()).thenReturn(3600);
-
-        // Return creds1 on first execute(), creds2 on second execute()
-        when(cRequest.execute()).thenReturn(creds1, creds2);
-
-        Track mockTrack1 = mock(Track.class);
-        when(mockTrack1.getName()).thenReturn("A");
-        ArtistSimplified mockArtist1 = mock(ArtistSimplified.class);
-        when(mockArtist1.getName()).thenReturn("B");
-        when(mockTrack1.getArtists()).thenReturn(new ArtistSimplified[]{mockArtist1});
-
-        Track mockTrack2 = mock(Track.class);
-        when(mockTrack2.getName()).thenReturn("C");
-        ArtistSimplified mockArtist2 = mock(ArtistSimplified.class);
-        when(mockArtist2.getName()).thenReturn("D");
-        when(mockTrack2.getArtists()).thenReturn(new ArtistSimplified[]{mockArtist2});
-
-        mockSearchFlow("track: A artist: B", new Track[]{ mockTrack1 });
-        mockSearchFlow("track: C artist: D", new Track[]{ mockTrack2 });
-
-
-        // Call service twice
-        spotifyService.searchSong("A", "B");
-        spotifyService.searchSong("C", "D");
-
-        // Assert the order of tokens used: first TOKEN1, then TOKEN2 (after refresh)
-        InOrder inOrder = inOrder(spotifyApi);
-        inOrder.verify(spotifyApi).setAccessToken("TOKEN1");
-        inOrder.verify(spotifyApi).setAccessToken("TOKEN2");
+    void givenRateLimitedSearch_whenSearchSong_thenRetriesAfterRetryAfter() throws Exception {
+        // First attempt is throttled for one second, second attempt finds the track
+        Track track = mock(Track.class);
+        when(track.getName()).thenReturn("Yellow");
+        ArtistSimplified mockArtist = mock(ArtistSimplified.class);
+        when(mockArtist.getName()).thenReturn("Coldplay");
+        when(track.getArtists()).thenReturn(new ArtistSimplified[]{ mockArtist });
+
+        SearchTracksRequest.Builder sBuilder = mock(SearchTracksRequest.Builder.class);
+        SearchTracksRequest sRequest = mock(SearchTracksRequest.class);
+        @SuppressWarnings("unchecked")
+        Paging<Track> page = (Paging<Track>) mock(Paging.class);
+        when(spotifyApi.searchTracks("track: Yellow artist: Coldplay")).thenReturn(sBuilder);
+        when(sBuilder.limit(10)).thenReturn(sBuilder);
+        when(sBuilder.build()).thenReturn(sRequest);
+        when(sRequest.execute())
+                .thenThrow(new TooManyRequestsException("API rate limit exceeded", 1))
+                .thenReturn(page);
+        when(page.getItems()).thenReturn(new Track[]{ track });
+
+        long startedAt = System.nanoTime();
+        Optional<Track> result = spotifyService.searchSong("Yellow", "Coldplay");
+        long tookMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertEquals(Optional.of(track), result);
+        verify(sRequest, times(2)).execute();
+        assertTrue(tookMillis >= 900, "retried after " + tookMillis + "ms");
     }
 }
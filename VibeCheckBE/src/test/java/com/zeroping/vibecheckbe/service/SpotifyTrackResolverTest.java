@@ -0,0 +1,182 @@
+package com.zeroping.vibecheckbe.service;
+
+import com.zeroping.vibecheckbe.dto.TrackResolution;
+import com.zeroping.vibecheckbe.dto.TrackSpotifyRequest;
+import com.zeroping.vibecheckbe.entity.Song;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.michaelthelin.spotify.model_objects.specification.Track;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Test class for SpotifyTrackResolver
+@ExtendWith(MockitoExtension.class)
+class SpotifyTrackResolverTest {
+
+    @Mock
+    private SpotifyService spotifyService;
+    @Mock
+    private TrackResolutionCache trackCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PlaylistGenerationMetrics metrics = new PlaylistGenerationMetrics(meterRegistry);
+
+    private SpotifyTrackResolver resolver;
+
+    @AfterEach
+    void tearDown() {
+        if (resolver != null) {
+            resolver.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            Given searches that finish in reverse order
+            When resolveAll is called
+            Then the results keep the requested track order
+            """)
+    void givenSearchesFinishingOutOfOrder_WhenResolveAll_ThenOrderIsPreserved() {
+        // Given
+        resolver = new SpotifyTrackResolver(spotifyService, trackCache, metrics, 4);
+        Track first = mock(Track.class);
+        Track second = mock(Track.class);
+        Track third = mock(Track.class);
+
+        when(spotifyService.searchSong("A", "X")).thenAnswer(inv -> {
+            Thread.sleep(150);
+            return Optional.of(first);
+        });
+        when(spotifyService.searchSong("B", "X")).thenAnswer(inv -> {
+            Thread.sleep(75);
+            return Optional.of(second);
+        });
+        when(spotifyService.searchSong("C", "X")).thenReturn(Optional.of(third));
+
+        // When
+        List<TrackResolution> result = resolver.resolveAll(List.of(
+                new TrackSpotifyRequest("A", "X"),
+                new TrackSpotifyRequest("B", "X"),
+                new TrackSpotifyRequest("C", "X")
+        ));
+
+        // Then
+        assertEquals(3, result.size());
+        assertSame(first, result.get(0).track());
+        assertSame(second, result.get(1).track());
+        assertSame(third, result.get(2).track());
+        assertEquals(List.of(0, 1, 2), result.stream().map(TrackResolution::position).toList());
+    }
+
+    @Test
+    @DisplayName("""
+            Given one search that throws and one that finds nothing
+            When resolveAll is called
+            Then each is reported individually and the rest still resolve
+            """)
+    void givenFailingAndMissingTracks_WhenResolveAll_ThenFailuresAreReportedPerTrack() {
+        // Given
+        resolver = new SpotifyTrackResolver(spotifyService, trackCache, metrics, 2);
+        Track found = mock(Track.class);
+
+        when(spotifyService.searchSong("Found", "X")).thenReturn(Optional.of(found));
+        when(spotifyService.searchSong("Missing", "X")).thenReturn(Optional.empty());
+        when(spotifyService.searchSong("Broken", "X")).thenThrow(new RuntimeException("boom"));
+
+        // When
+        List<TrackResolution> result = resolver.resolveAll(List.of(
+                new TrackSpotifyRequest("Found", "X"),
+                new TrackSpotifyRequest("Missing", "X"),
+                new TrackSpotifyRequest("Broken", "X")
+        ));
+
+        // Then
+        assertEquals(TrackResolution.Status.RESOLVED, result.get(0).status());
+        assertEquals(TrackResolution.Status.NOT_FOUND, result.get(1).status());
+        assertEquals(TrackResolution.Status.FAILED, result.get(2).status());
+        assertEquals("boom", result.get(2).failureReason());
+        assertEquals(1L, meterRegistry.get("vibecheck.spotify.search").tag("outcome", "failed").timer().count());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a concurrency cap of 3
+            When resolving 12 slow tracks
+            Then never more than 3 searches run at the same time
+            """)
+    void givenConcurrencyCap_WhenResolveAll_ThenInFlightSearchesAreBounded() {
+        // Given
+        resolver = new SpotifyTrackResolver(spotifyService, trackCache, metrics, 3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        when(spotifyService.searchSong(anyString(), anyString())).thenAnswer(inv -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            Thread.sleep(30);
+            inFlight.decrementAndGet();
+            return Optional.empty();
+        });
+
+        List<TrackSpotifyRequest> tracks = IntStream.range(0, 12)
+                .mapToObj(i -> new TrackSpotifyRequest("Song " + i, "Artist"))
+                .toList();
+
+        // When
+        List<TrackResolution> result = resolver.resolveAll(tracks);
+
+        // Then
+        assertEquals(12, result.size());
+        assertTrue(maxInFlight.get() <= 3, "max in-flight searches was " + maxInFlight.get());
+        verify(spotifyService, times(12)).searchSong(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("""
+            Given one track that is already in the track cache
+            When resolveAll is called
+            Then it is returned as CACHED without a Spotify search
+            """)
+    void givenCachedTrack_WhenResolveAll_ThenSpotifyIsNotSearched() {
+        // Given
+        resolver = new SpotifyTrackResolver(spotifyService, trackCache, metrics, 2);
+        TrackSpotifyRequest known = new TrackSpotifyRequest("Known", "X");
+        TrackSpotifyRequest unknown = new TrackSpotifyRequest("Unknown", "X");
+        Song song = new Song(7L, "Known", "http://spotify.com/7", "X", "7", null);
+        Track found = mock(Track.class);
+
+        when(trackCache.lookup(known)).thenReturn(Optional.of(song));
+        when(trackCache.lookup(unknown)).thenReturn(Optional.empty());
+        when(spotifyService.searchSong("Unknown", "X")).thenReturn(Optional.of(found));
+
+        // When
+        List<TrackResolution> result = resolver.resolveAll(List.of(known, unknown));
+
+        // Then
+        verify(trackCache).prefetch(List.of(known, unknown));
+        assertEquals(TrackResolution.Status.CACHED, result.get(0).status());
+        assertSame(song, result.get(0).song());
+        assertEquals(TrackResolution.Status.RESOLVED, result.get(1).status());
+        verify(spotifyService, never()).searchSong("Known", "X");
+        assertEquals(1.0, meterRegistry.get("vibecheck.spotify.tracks").tag("status", "cached").counter().count());
+        assertEquals(1L, meterRegistry.get("vibecheck.spotify.search").tag("outcome", "resolved").timer().count());
+    }
+
+    @Test
+    @DisplayName("Given a concurrency cap below 1, the resolver refuses to start")
+    void givenInvalidConcurrency_WhenCreatingResolver_ThenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new SpotifyTrackResolver(spotifyService, trackCache, metrics, 0));
+    }
+}
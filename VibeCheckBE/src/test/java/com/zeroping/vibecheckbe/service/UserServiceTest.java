@@ -7,7 +7,6 @@ import com.zeroping.vibecheckbe.entity.Genre;
 import com.zeroping.vibecheckbe.entity.User;
 import com.zeroping.vibecheckbe.exception.genre.GenreNotFoundException;
 import com.zeroping.vibecheckbe.exception.user.UserNotFoundException;
-import com.zeroping.vibecheckbe.repository.GenreRepository;
 import com.zeroping.vibecheckbe.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,7 +29,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private GenreRepository genreRepository;
+    private ReferenceDataRegistry referenceData;
 
     @InjectMocks
     private UserService userService;
@@ -55,7 +54,7 @@ class UserServiceTest {
         genres.add(genre(11L, "Jazz"));
         u.setGenres(genres);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(u));
+        when(userRepository.findWithGenresById(userId)).thenReturn(Optional.of(u));
 
         // When
         UserDTO out = userService.getUserById(userId);
@@ -66,7 +65,7 @@ class UserServiceTest {
         List<String> genreNames = out.getGenres();
         assertTrue(genreNames.contains("Rock"));
         assertTrue(genreNames.contains("Jazz"));
-        verify(userRepository).findById(userId);
+        verify(userRepository).findWithGenresById(userId);
     }
 
     @Test
@@ -78,13 +77,13 @@ class UserServiceTest {
     void givenMissingUser_WhenGetUserById_ThenThrowsUserNotFound() {
         // Given
         UUID userId = UUID.randomUUID();
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findWithGenresById(userId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(UserNotFoundException.class, () -> userService.getUserById(userId));
 
         // Verify the interaction happened
-        verify(userRepository).findById(userId);
+        verify(userRepository).findWithGenresById(userId);
     }
 
     @Test
@@ -162,23 +161,23 @@ class UserServiceTest {
         Genre popGenre = genre(15L, "Pop");
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(genreRepository.findById(5L)).thenReturn(Optional.of(rockGenre));
-        when(genreRepository.findById(10L)).thenReturn(Optional.of(jazzGenre));
-        when(genreRepository.findById(15L)).thenReturn(Optional.of(popGenre));
+        when(referenceData.genre(5L)).thenReturn(Optional.of(genreData(rockGenre)));
+        when(referenceData.genre(10L)).thenReturn(Optional.of(genreData(jazzGenre)));
+        when(referenceData.genre(15L)).thenReturn(Optional.of(genreData(popGenre)));
         when(userRepository.save(any(User.class))).thenReturn(existingUser);
 
         // When & Then
         assertDoesNotThrow(() -> userService.updateUserPreferences(userId, preferences));
 
         verify(userRepository).findById(userId);
-        verify(genreRepository).findById(5L);
-        verify(genreRepository).findById(10L);
-        verify(genreRepository).findById(15L);
+        verify(referenceData).genre(5L);
+        verify(referenceData).genre(10L);
+        verify(referenceData).genre(15L);
         verify(userRepository).save(existingUser);
 
-        assertTrue(existingUser.getGenres().contains(rockGenre));
-        assertTrue(existingUser.getGenres().contains(jazzGenre));
-        assertTrue(existingUser.getGenres().contains(popGenre));
+        assertTrue(genreIds(existingUser).contains(5L));
+        assertTrue(genreIds(existingUser).contains(10L));
+        assertTrue(genreIds(existingUser).contains(15L));
     }
 
     @Test
@@ -200,7 +199,7 @@ class UserServiceTest {
                 () -> userService.updateUserPreferences(userId, preferences));
 
         verify(userRepository).findById(userId);
-        verify(genreRepository, never()).findById(any());
+        verify(referenceData, never()).genre(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -228,14 +227,14 @@ class UserServiceTest {
         Genre newRockGenre = genre(5L, "NewRock");
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(genreRepository.findById(5L)).thenReturn(Optional.of(newRockGenre));
+        when(referenceData.genre(5L)).thenReturn(Optional.of(genreData(newRockGenre)));
         when(userRepository.save(any(User.class))).thenReturn(existingUser);
 
         // When
         userService.updateUserPreferences(userId, preferences);
 
         // Then
-        assertTrue(existingUser.getGenres().contains(newRockGenre));
+        assertTrue(genreIds(existingUser).contains(5L));
         assertEquals(1, existingUser.getGenres().size());
     }
 
@@ -257,9 +256,9 @@ class UserServiceTest {
         preferences.setTop3GenreId(15L);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(genreRepository.findById(5L)).thenReturn(Optional.of(genre(5L, "Rock")));
-        when(genreRepository.findById(10L)).thenReturn(Optional.of(genre(10L, "Jazz")));
-        when(genreRepository.findById(15L)).thenReturn(Optional.of(genre(15L, "Pop")));
+        when(referenceData.genre(5L)).thenReturn(Optional.of(genreData(genre(5L, "Rock"))));
+        when(referenceData.genre(10L)).thenReturn(Optional.of(genreData(genre(10L, "Jazz"))));
+        when(referenceData.genre(15L)).thenReturn(Optional.of(genreData(genre(15L, "Pop"))));
         when(userRepository.save(existingUser)).thenReturn(existingUser);
 
         // When
@@ -318,7 +317,7 @@ class UserServiceTest {
         preferences.setTop1GenreId(999L); // Non-existent genre
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(genreRepository.findById(999L)).thenReturn(Optional.empty());
+        when(referenceData.genre(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(GenreNotFoundException.class, () -> userService.updateUserPreferences(userId, preferences));
@@ -350,8 +349,8 @@ class UserServiceTest {
         Genre jazzGenre = genre(2L, "Jazz");
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(genreRepository.findByNameIgnoreCase("Rock")).thenReturn(Optional.of(rockGenre));
-        when(genreRepository.findByNameIgnoreCase("Jazz")).thenReturn(Optional.of(jazzGenre));
+        when(referenceData.genreByName("Rock")).thenReturn(Optional.of(genreData(rockGenre)));
+        when(referenceData.genreByName("Jazz")).thenReturn(Optional.of(genreData(jazzGenre)));
         when(userRepository.save(any(User.class))).thenAnswer(invocation
                 -> invocation.<User>getArgument(0));
 
@@ -444,7 +443,7 @@ class UserServiceTest {
         updateDTO.setGenres(List.of("NonExistentGenre"));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(genreRepository.findByNameIgnoreCase("NonExistentGenre")).thenReturn(Optional.empty());
+        when(referenceData.genreByName("NonExistentGenre")).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(GenreNotFoundException.class, () -> userService.updateUser(userId, updateDTO));
@@ -500,6 +499,17 @@ class UserServiceTest {
         verify(userRepository).save(existingUser);
     }
 
+    private static ReferenceDataRegistry.GenreData genreData(Genre genre) {
+        return new ReferenceDataRegistry.GenreData(genre.getId(), genre.getName());
+    }
+
+    // The service stores detached copies of the reference data, so genres are compared by id
+    private static Set<Long> genreIds(User user) {
+        Set<Long> ids = new HashSet<>();
+        user.getGenres().forEach(g -> ids.add(g.getId()));
+        return ids;
+    }
+
     private Genre genre(Long id, String name) {
         Genre g = new Genre();
         g.setId(id);
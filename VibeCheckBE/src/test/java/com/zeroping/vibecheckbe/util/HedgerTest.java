@@ -0,0 +1,131 @@
+package com.zeroping.vibecheckbe.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for Hedger
+class HedgerTest {
+
+    private Hedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        if (hedger != null) {
+            hedger.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            Given a hedger that has seen enough fast calls
+            When one call stalls
+            Then a second call is sent and its answer is returned without waiting for the stalled one
+            """)
+    void givenStalledCall_WhenExecute_ThenHedgeAnswers() throws Exception {
+        // Given
+        hedger = new Hedger(true, 0.9, 1.0, 20, 5, Duration.ofMillis(20));
+        warmUp(hedger, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        long startedAt = System.nanoTime();
+        String result = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(5_000);
+                return "stalled";
+            }
+            return "hedge";
+        });
+        Duration took = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // Then
+        assertEquals("hedge", result);
+        assertTrue(took.toMillis() < 2_000, "took " + took);
+        assertEquals(1, hedger.hedgeWinCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a hedge budget of zero
+            When a call is slow
+            Then no second call is sent and the slow answer is awaited
+            """)
+    void givenNoHedgeBudget_WhenSlowCall_ThenHedgeIsThrottled() throws Exception {
+        // Given
+        hedger = new Hedger(true, 0.9, 0.0, 20, 5, Duration.ofMillis(20));
+        warmUp(hedger, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = hedger.execute(() -> {
+            attempts.incrementAndGet();
+            Thread.sleep(200);
+            return "slow";
+        });
+
+        // Then
+        assertEquals("slow", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedger.hedgeCount());
+        assertEquals(1, hedger.throttledCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a hedger with budget whose caller holds hedges back
+            When a call is slow
+            Then no second call is sent, the hedge counts as deferred and its budget is kept
+            """)
+    void givenCallerHoldsHedgeBack_WhenSlowCall_ThenHedgeIsDeferred() throws Exception {
+        // Given
+        hedger = new Hedger(true, 0.9, 1.0, 20, 5, Duration.ofMillis(20));
+        warmUp(hedger, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = hedger.execute(() -> {
+            attempts.incrementAndGet();
+            Thread.sleep(200);
+            return "slow";
+        }, () -> false);
+
+        // Then
+        assertEquals("slow", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedger.hedgeCount());
+        assertEquals(0, hedger.throttledCount());
+        assertEquals(1, hedger.deferredCount());
+
+        String hedged = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 2) {
+                Thread.sleep(5_000);
+                return "stalled";
+            }
+            return "hedge";
+        }, () -> true);
+        assertEquals("hedge", hedged);
+        assertEquals(1, hedger.hedgeCount());
+    }
+
+    @Test
+    @DisplayName("Given a disabled hedger, checked exceptions of the call are rethrown as they are")
+    void givenDisabledHedger_WhenCallThrows_ThenExceptionIsRethrown() {
+        hedger = Hedger.disabled();
+        assertThrows(IOException.class, () -> hedger.execute(() -> {
+            throw new IOException("network");
+        }));
+    }
+
+    private static void warmUp(Hedger hedger, int calls) throws Exception {
+        for (int i = 0; i < calls; i++) {
+            hedger.execute(() -> "fast");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.zeroping.vibecheckbe.util;
+
+import com.zeroping.vibecheckbe.dto.PlaylistAgentResponse;
+import com.zeroping.vibecheckbe.dto.TrackAgentResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for IncrementalPlaylistParser
+class IncrementalPlaylistParserTest {
+
+    private static final String PLAYLIST_JSON = """
+            ```json
+            {
+              "playlist_name": "Sunny Days",
+              "tracks": [
+                { "title": "Happy", "artist": "Pharrell Williams" },
+                { "title": "Uptown Funk", "artist": "Mark Ronson" }
+              ]
+            }
+            ```
+            """;
+
+    @Test
+    @DisplayName("""
+            Given the playlist JSON split into tiny fragments and wrapped in markdown fences
+            When the fragments are fed one by one
+            Then every track is emitted in order as soon as it is complete
+            """)
+    void givenFragmentedJson_WhenFed_ThenTracksAreEmittedIncrementally() throws Exception {
+        // Given
+        List<String> emitted = new ArrayList<>();
+        IncrementalPlaylistParser parser = new IncrementalPlaylistParser(t -> emitted.add(t.getTitle()));
+        int firstTrackEnd = PLAYLIST_JSON.indexOf('}') + 1;
+
+        // When
+        for (int i = 0; i < firstTrackEnd; i += 3) {
+            parser.feed(PLAYLIST_JSON.substring(i, Math.min(i + 3, firstTrackEnd)));
+        }
+        List<String> afterFirstTrack = List.copyOf(emitted);
+        for (int i = firstTrackEnd; i < PLAYLIST_JSON.length(); i += 5) {
+            parser.feed(PLAYLIST_JSON.substring(i, Math.min(i + 5, PLAYLIST_JSON.length())));
+        }
+        PlaylistAgentResponse playlist = parser.finish();
+
+        // Then
+        assertEquals(List.of("Happy"), afterFirstTrack);
+        assertEquals(List.of("Happy", "Uptown Funk"), emitted);
+        assertEquals("Sunny Days", playlist.getPlaylist_name());
+        assertEquals(2, playlist.getTracks().size());
+        assertEquals("Mark Ronson", playlist.getTracks().get(1).getArtist());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a track without an artist
+            When it is fed
+            Then an IllegalArgumentException is thrown
+            """)
+    void givenTrackWithMissingField_WhenFed_ThenThrows() {
+        // Given
+        IncrementalPlaylistParser parser = new IncrementalPlaylistParser(t -> { });
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.feed("{\"playlist_name\":\"x\",\"tracks\":[{\"title\":\"Only title\"}]}"));
+    }
+
+    @Test
+    @DisplayName("""
+            Given a stream that stops in the middle of the document
+            When finish is called
+            Then an IllegalArgumentException is thrown
+            """)
+    void givenTruncatedStream_WhenFinish_ThenThrows() throws Exception {
+        // Given
+        List<TrackAgentResponse> emitted = new ArrayList<>();
+        IncrementalPlaylistParser parser = new IncrementalPlaylistParser(emitted::add);
+        parser.feed("{\"playlist_name\":\"x\",\"tracks\":[{\"title\":\"A\",\"artist\":\"B\"},");
+
+        // When / Then
+        assertThrows(Exception.class, parser::finish);
+        assertEquals(1, emitted.size());
+    }
+}
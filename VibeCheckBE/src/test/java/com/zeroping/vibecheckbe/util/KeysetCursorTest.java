@@ -0,0 +1,79 @@
+package com.zeroping.vibecheckbe.util;
+
+import com.zeroping.vibecheckbe.exception.pagination.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for KeysetCursor and KeysetPage
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("""
+            Given a cursor with sub-second precision
+            When it is encoded and decoded again
+            Then the same position is returned through a URL-safe token
+            """)
+    void givenCursor_WhenEncodedAndDecoded_ThenSamePosition() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-11-02T10:15:30.123456Z"), 42L);
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        assertEquals(cursor, KeysetCursor.decode(token));
+    }
+
+    @Test
+    @DisplayName("A cursor built from a LocalDateTime gives the same LocalDateTime back")
+    void givenLocalDateTime_WhenCursorOf_ThenRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 2, 10, 15, 30, 123_000);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(createdAt, 7L).encode());
+
+        assertEquals(createdAt, cursor.createdAtAsLocalDateTime());
+        assertEquals(7L, cursor.id());
+    }
+
+    @Test
+    @DisplayName("Given a token that is not a cursor, decoding fails with InvalidCursorException")
+    void givenGarbage_WhenDecode_ThenInvalidCursor() {
+        String wrongVersion = Base64.getUrlEncoder().encodeToString("v0:1:0:1".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().encodeToString("v1:x:0:1".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(wrongVersion));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(notANumber));
+    }
+
+    @Test
+    @DisplayName("""
+            Given one row more than the page size
+            When a page is built
+            Then the extra row is dropped and the cursor points at the last row of the page
+            """)
+    void givenExtraRow_WhenPageOf_ThenNextCursorOfLastItem() {
+        // Given
+        List<Long> rows = List.of(5L, 4L, 3L);
+        Instant createdAt = Instant.parse("2025-11-02T10:00:00Z");
+
+        // When
+        KeysetPage<String> page = KeysetPage.of(rows, 2, id -> new KeysetCursor(createdAt, id), String::valueOf);
+        KeysetPage<String> last = KeysetPage.of(rows, 3, id -> new KeysetCursor(createdAt, id), String::valueOf);
+
+        // Then
+        assertEquals(List.of("5", "4"), page.items());
+        assertEquals(new KeysetCursor(createdAt, 4L), KeysetCursor.decode(page.nextCursor()));
+        assertEquals(3, last.items().size());
+        assertFalse(last.hasNext());
+    }
+}
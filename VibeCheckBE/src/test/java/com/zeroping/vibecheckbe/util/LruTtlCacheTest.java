@@ -0,0 +1,88 @@
+package com.zeroping.vibecheckbe.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for LruTtlCache
+class LruTtlCacheTest {
+
+    // Clock that only moves when the test says so
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            Given a full cache
+            When a new entry is added
+            Then the least recently used entry is evicted
+            """)
+    void givenFullCache_WhenPut_ThenLeastRecentlyUsedIsEvicted() {
+        // Given
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(2, Duration.ofMinutes(5));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a"); // "b" is now the least recently used
+
+        // When
+        cache.put("c", 3);
+
+        // Then
+        assertTrue(cache.peek("a").isPresent());
+        assertTrue(cache.peek("b").isEmpty());
+        assertTrue(cache.peek("c").isPresent());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("""
+            Given an entry older than the TTL
+            When it is read
+            Then it counts as a miss and is removed
+            """)
+    void givenExpiredEntry_WhenGet_ThenMiss() {
+        // Given
+        MutableClock clock = new MutableClock();
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMinutes(5), clock);
+        cache.put("a", 1);
+        assertEquals(1, cache.get("a").orElseThrow());
+
+        // When
+        clock.advance(Duration.ofMinutes(5));
+
+        // Then
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(0, cache.size());
+        LruTtlCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRatio());
+    }
+}
@@ -0,0 +1,93 @@
+package com.zeroping.vibecheckbe.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for PreSerializedResponse
+class PreSerializedResponseTest {
+
+    private static final CacheControl CACHE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    private static final byte[] JSON = "[{\"id\":1,\"name\":\"Rock\"}]".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("""
+            Given a client that accepts gzip
+            When the response is built
+            Then the pre-gzipped body is sent with Content-Encoding, its own ETag and Vary: Accept-Encoding
+            """)
+    void givenGzipAccepted_WhenToResponse_ThenGzippedBody() throws IOException {
+        // Given
+        PreSerializedResponse body = PreSerializedResponse.of(JSON);
+
+        // When
+        ResponseEntity<byte[]> response = body.toResponse(null, "br, gzip;q=0.8", CACHE);
+
+        // Then
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body.gzipEtag(), response.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders().getVary());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertArrayEquals(JSON, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Without gzip in Accept-Encoding (or with q=0) the plain JSON is sent")
+    void givenGzipNotAccepted_WhenToResponse_ThenPlainBody() {
+        PreSerializedResponse body = PreSerializedResponse.of(JSON);
+
+        ResponseEntity<byte[]> plain = body.toResponse(null, null, CACHE);
+        ResponseEntity<byte[]> refused = body.toResponse(null, "gzip;q=0, identity", CACHE);
+
+        assertArrayEquals(JSON, plain.getBody());
+        assertArrayEquals(JSON, refused.getBody());
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body.etag(), plain.getHeaders().getETag());
+        assertEquals(JSON.length, plain.getHeaders().getContentLength());
+    }
+
+    @Test
+    @DisplayName("""
+            Given If-None-Match with the current ETag (weak, in a list, or of the other encoding)
+            When the response is built
+            Then 304 Not Modified is returned without a body; an old ETag gets the full body
+            """)
+    void givenIfNoneMatch_WhenToResponse_ThenNotModifiedOnlyForCurrentTag() {
+        // Given
+        PreSerializedResponse body = PreSerializedResponse.of(JSON);
+
+        // When / Then
+        assertEquals(304, body.toResponse(body.etag(), null, CACHE).getStatusCode().value());
+        assertEquals(304, body.toResponse("\"old\", W/" + body.etag(), null, CACHE).getStatusCode().value());
+        assertEquals(304, body.toResponse(body.etag(), "gzip", CACHE).getStatusCode().value());
+        assertNull(body.toResponse(body.etag(), null, CACHE).getBody());
+
+        ResponseEntity<byte[]> changed = body.toResponse("\"old\"", null, CACHE);
+        assertEquals(200, changed.getStatusCode().value());
+        assertArrayEquals(JSON, changed.getBody());
+    }
+
+    @Test
+    @DisplayName("The ETag changes exactly when the serialized bytes change")
+    void givenDifferentBodies_WhenOf_ThenDifferentEtags() {
+        String same = PreSerializedResponse.of(JSON.clone()).etag();
+        String other = PreSerializedResponse.of("[]".getBytes(StandardCharsets.UTF_8)).etag();
+
+        assertEquals(PreSerializedResponse.of(JSON).etag(), same);
+        assertNotEquals(same, other);
+        assertTrue(same.startsWith("\"") && same.endsWith("\""), same);
+    }
+}
@@ -0,0 +1,104 @@
+package com.zeroping.vibecheckbe.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for RateLimiter
+class RateLimiterTest {
+
+    @Test
+    @DisplayName("""
+            Given a limiter of 20 permits per second with a burst of 5
+            When 10 calls are made back to back
+            Then the first 5 pass immediately and the rest are spaced out
+            """)
+    void givenBurst_WhenMoreCallsThanBurst_ThenExtraCallsWait() throws Exception {
+        // Given
+        RateLimiter limiter = new RateLimiter(20, 5);
+
+        // When
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+        long burstMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+        long totalMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // Then
+        assertTrue(burstMillis < 40, "burst took " + burstMillis + "ms");
+        assertTrue(totalMillis >= 200, "10 calls took " + totalMillis + "ms");
+        assertEquals(10, limiter.acquiredCount());
+        assertEquals(0, limiter.queueDepth());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a limiter that was paused by a 429
+            When callers queue up
+            Then none of them runs before the pause is over and they run in arrival order
+            """)
+    void givenPause_WhenCallersQueue_ThenTheyWaitAndKeepTheirOrder() throws Exception {
+        // Given
+        RateLimiter limiter = new RateLimiter(50, 1);
+        limiter.pauseFor(Duration.ofMillis(300));
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<Long> waitedMillis = new CopyOnWriteArrayList<>();
+
+        // When
+        long startedAt = System.nanoTime();
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int caller = i;
+            callers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    limiter.acquire();
+                    order.add(caller);
+                    waitedMillis.add((System.nanoTime() - startedAt) / 1_000_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            Thread.sleep(20); // make the arrival order deterministic
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        // Then
+        assertEquals(List.of(0, 1, 2), order);
+        assertTrue(waitedMillis.stream().allMatch(ms -> ms >= 290), "waited " + waitedMillis);
+        assertEquals(1, limiter.pauseCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a limiter with a burst of 2
+            When permits are tried for without waiting, before and during a pause
+            Then only the free permits are handed out and nothing is handed out while paused
+            """)
+    void givenBurst_WhenTryAcquire_ThenOnlyFreePermitsAreTaken() {
+        // Given
+        RateLimiter limiter = new RateLimiter(1, 2);
+
+        // When / Then
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.acquiredCount());
+
+        RateLimiter paused = new RateLimiter(1000, 10);
+        paused.pauseFor(Duration.ofSeconds(10));
+        assertFalse(paused.tryAcquire());
+        assertEquals(0, paused.acquiredCount());
+    }
+}
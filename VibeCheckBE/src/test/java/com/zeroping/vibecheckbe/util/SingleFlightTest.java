@@ -0,0 +1,75 @@
+package com.zeroping.vibecheckbe.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for SingleFlight
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("""
+            Given 10 concurrent callers with the same key
+            When the loader is still running
+            Then the loader runs once and every caller gets its result
+            """)
+    void givenConcurrentCallers_WhenExecute_ThenLoaderRunsOnce() throws Exception {
+        // Given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("happy|pop", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return 42;
+                })));
+            }
+            // Give every caller time to join the in-flight call before it finishes
+            while (singleFlight.executionCount() + singleFlight.coalescedCount() < 10) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loads.get());
+        assertEquals(9, singleFlight.coalescedCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Given a loader that throws a checked exception
+            When execute is called
+            Then the exception is rethrown and the key is released for the next call
+            """)
+    void givenFailingLoader_WhenExecute_ThenExceptionPropagatesAndKeyIsReleased() throws Exception {
+        // Given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        // When / Then
+        assertThrows(IOException.class, () -> singleFlight.execute("key", () -> {
+            throw new IOException("Gemini unreachable");
+        }));
+        assertEquals(7, singleFlight.execute("key", () -> 7));
+        assertEquals(2, singleFlight.executionCount());
+    }
+}
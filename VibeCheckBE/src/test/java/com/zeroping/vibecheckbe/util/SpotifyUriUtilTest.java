@@ -0,0 +1,37 @@
+package com.zeroping.vibecheckbe.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for SpotifyUriUtil
+class SpotifyUriUtilTest {
+
+    @Test
+    @DisplayName("""
+            Given a Spotify track URL with a query string
+            When the track ID is extracted and turned back into a URI
+            Then the ID and URI are returned without the query string
+            """)
+    void givenTrackUrl_WhenTrackIdOf_ThenIdIsExtracted() {
+        // Given
+        String url = "https://open.spotify.com/track/4uLU6hMCjMI75M1A2tKUQC?si=abc";
+
+        // When
+        String trackId = SpotifyUriUtil.trackIdOf(url);
+
+        // Then
+        assertEquals("4uLU6hMCjMI75M1A2tKUQC", trackId);
+        assertEquals("spotify:track:4uLU6hMCjMI75M1A2tKUQC", SpotifyUriUtil.trackIdToUri(trackId));
+        assertEquals(trackId, SpotifyUriUtil.trackIdOf("spotify:track:" + trackId));
+    }
+
+    @Test
+    @DisplayName("Given something that is not a Spotify track link, no track ID is returned")
+    void givenOtherUrl_WhenTrackIdOf_ThenNull() {
+        assertNull(SpotifyUriUtil.trackIdOf("https://example.com/track/123"));
+        assertNull(SpotifyUriUtil.trackIdOf(null));
+        assertNull(SpotifyUriUtil.trackIdToUri(""));
+    }
+}
@@ -0,0 +1,58 @@
+-- The tables created in Supabase before the application had migrations (production is baselined at version 0).
+-- Only used by the tests that run against PostgreSQL, so the real migrations can be applied on top of them.
+CREATE TABLE public."Users" (
+    id           UUID PRIMARY KEY,
+    display_name VARCHAR(255),
+    email        VARCHAR(255),
+    last_log_in  TIMESTAMPTZ,
+    created_at   TIMESTAMP,
+    avatar_url   VARCHAR(255)
+);
+
+CREATE TABLE public."Genres" (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE public.user_genres (
+    user_id  UUID   NOT NULL REFERENCES public."Users" (id),
+    genre_id BIGINT NOT NULL REFERENCES public."Genres" (id),
+    PRIMARY KEY (user_id, genre_id)
+);
+
+CREATE TABLE public."Moods" (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name      VARCHAR(255) NOT NULL UNIQUE,
+    tempo     VARCHAR(255),
+    danceable VARCHAR(255)
+);
+
+CREATE TABLE public."MoodEntries" (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    UUID      NOT NULL REFERENCES public."Users" (id),
+    mood_id    BIGINT    NOT NULL REFERENCES public."Moods" (id),
+    created_at TIMESTAMP NOT NULL,
+    intensity  INTEGER   NOT NULL,
+    notes      TEXT
+);
+
+CREATE TABLE public."Songs" (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    url         VARCHAR(255) NOT NULL,
+    artist_name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE public."Playlists" (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    user_id    UUID         NOT NULL,
+    mood       VARCHAR(255),
+    created_at TIMESTAMPTZ  NOT NULL
+);
+
+CREATE TABLE public.playlist_songs (
+    playlist_id BIGINT NOT NULL REFERENCES public."Playlists" (id),
+    song_id     BIGINT NOT NULL REFERENCES public."Songs" (id),
+    PRIMARY KEY (playlist_id, song_id)
+);